@@ -0,0 +1,74 @@
+package uk.gov.companieshouse.registeredemailaddressapi.benchmark;
+
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import uk.gov.companieshouse.api.model.company.CompanyProfileApi;
+import uk.gov.companieshouse.registeredemailaddressapi.eligibility.EligibilityRule;
+import uk.gov.companieshouse.registeredemailaddressapi.eligibility.EligibilityStatusCode;
+import uk.gov.companieshouse.registeredemailaddressapi.exception.EligibilityException;
+import uk.gov.companieshouse.registeredemailaddressapi.exception.ServiceException;
+import uk.gov.companieshouse.registeredemailaddressapi.model.response.CompanyValidationResponse;
+import uk.gov.companieshouse.registeredemailaddressapi.service.EligibilityService;
+
+/**
+ * The cost of <code>EligibilityService</code> itself, using rules that do no work, for an eligible company and for
+ * one that the last rule rejects.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class EligibilityServiceBenchmark {
+
+    private static final String INELIGIBLE_STATUS = "dissolved";
+
+    @Param({"active", INELIGIBLE_STATUS})
+    public String companyStatus;
+
+    private EligibilityService eligibilityService;
+
+    private CompanyProfileApi companyProfile;
+
+    @Setup
+    public void setUp() {
+        EligibilityRule<CompanyProfileApi> passingRule = profile -> { };
+        EligibilityRule<CompanyProfileApi> statusRule = profile -> {
+            if (INELIGIBLE_STATUS.equals(profile.getCompanyStatus())) {
+                throw new EligibilityException(EligibilityStatusCode.INVALID_COMPANY_STATUS,
+                        "company number: " + profile.getCompanyNumber() + " has invalid Status");
+            }
+        };
+
+        eligibilityService = new EligibilityService(List.of(passingRule, passingRule, statusRule),
+                null,
+                Executors.defaultThreadFactory(),
+                false,
+                new SimpleMeterRegistry());
+
+        companyProfile = new CompanyProfileApi();
+        companyProfile.setCompanyNumber("12345678");
+        companyProfile.setCompanyStatus(companyStatus);
+    }
+
+    @Benchmark
+    public CompanyValidationResponse checkCompanyEligibility() throws ServiceException {
+        return eligibilityService.checkCompanyEligibility(companyProfile);
+    }
+}
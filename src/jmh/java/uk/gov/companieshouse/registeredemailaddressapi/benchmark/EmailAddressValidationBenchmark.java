@@ -0,0 +1,49 @@
+package uk.gov.companieshouse.registeredemailaddressapi.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import uk.gov.companieshouse.registeredemailaddressapi.unit.utils.RegexEmailAddressValidator;
+import uk.gov.companieshouse.registeredemailaddressapi.utils.ValidationUtils;
+
+/**
+ * Compares the single pass email address validation with the regular expression implementation it replaced, for a
+ * typical address, a long one, a punycode one and addresses rejected early and late.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class EmailAddressValidationBenchmark {
+
+    @Param({
+            "name@example.com",
+            "first.middle.last+registered-email@accounts.department.example.co.uk",
+            "name@xn--bcher-kva.xn--p1ai",
+            "name example.com",
+            "name@example.c-m"
+    })
+    public String email;
+
+    @Benchmark
+    public boolean regex() {
+        return RegexEmailAddressValidator.isEmailAddressValid(email);
+    }
+
+    @Benchmark
+    public boolean singlePass() {
+        return ValidationUtils.isEmailAddressValid(email);
+    }
+}
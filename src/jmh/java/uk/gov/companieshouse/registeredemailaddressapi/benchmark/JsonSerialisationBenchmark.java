@@ -0,0 +1,85 @@
+package uk.gov.companieshouse.registeredemailaddressapi.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import uk.gov.companieshouse.api.model.filinggenerator.FilingApi;
+import uk.gov.companieshouse.registeredemailaddressapi.model.dto.RegisteredEmailAddressResponseDTO;
+import uk.gov.companieshouse.registeredemailaddressapi.model.dto.RegisteredEmailAddressResponseData;
+
+/**
+ * Serialisation of the response bodies of the submission and filings endpoints, using an <code>ObjectMapper</code>
+ * configured the way Spring Boot configures the one it writes responses with.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class JsonSerialisationBenchmark {
+
+    private ObjectMapper objectMapper;
+
+    private RegisteredEmailAddressResponseDTO registeredEmailAddressResponseDTO;
+
+    private FilingApi filing;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        var data = new RegisteredEmailAddressResponseData();
+        data.setRegisteredEmailAddress("name@example.com");
+        data.setAcceptAppropriateEmailAddressStatement(true);
+        data.setEtag("c85e9ba4bd5bcd6c71ae1f1d5e2b5a8b8ef7c1a3");
+        data.setKind("registered-email-address");
+
+        registeredEmailAddressResponseDTO = new RegisteredEmailAddressResponseDTO();
+        registeredEmailAddressResponseDTO.setId("6641dc3a7cb7e7001d6f5a12");
+        registeredEmailAddressResponseDTO.setData(data);
+        registeredEmailAddressResponseDTO.setCreatedAt(LocalDateTime.now());
+        registeredEmailAddressResponseDTO.setUpdatedAt(LocalDateTime.now());
+        registeredEmailAddressResponseDTO.setLinks(Map.of(
+                "self", "/transactions/112233-445566-778899/registered-email-address",
+                "validation_status", "/transactions/112233-445566-778899/registered-email-address/validation-status"));
+
+        Map<String, Object> filingData = new HashMap<>();
+        filingData.put("registered_email_address", "name@example.com");
+        filingData.put("accept_appropriate_email_address_statement", true);
+        filingData.put("company_number", "12345678");
+        filing = new FilingApi();
+        filing.setKind("registered-email-address");
+        filing.setData(filingData);
+        filing.setDescriptionIdentifier("registered-email-address");
+        filing.setDescription("Registered Email Address update made on 1 June 2024");
+        filing.setDescriptionValues(new HashMap<>());
+    }
+
+    @Benchmark
+    public byte[] registeredEmailAddressResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(registeredEmailAddressResponseDTO);
+    }
+
+    @Benchmark
+    public byte[] filing() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(new FilingApi[] {filing});
+    }
+}
@@ -0,0 +1,74 @@
+package uk.gov.companieshouse.registeredemailaddressapi.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Warmup;
+
+import uk.gov.companieshouse.registeredemailaddressapi.mapper.RegisteredEmailAddressMapper;
+import uk.gov.companieshouse.registeredemailaddressapi.mapper.RegisteredEmailAddressMapperImpl;
+import uk.gov.companieshouse.registeredemailaddressapi.model.dao.RegisteredEmailAddressDAO;
+import uk.gov.companieshouse.registeredemailaddressapi.model.dao.RegisteredEmailAddressData;
+import uk.gov.companieshouse.registeredemailaddressapi.model.dto.RegisteredEmailAddressDTO;
+import uk.gov.companieshouse.registeredemailaddressapi.model.dto.RegisteredEmailAddressResponseDTO;
+
+/**
+ * The MapStruct generated conversions made on every create, update and get of a submission.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class RegisteredEmailAddressMapperBenchmark {
+
+    private final RegisteredEmailAddressMapper mapper = new RegisteredEmailAddressMapperImpl();
+
+    private RegisteredEmailAddressDAO registeredEmailAddressDAO;
+
+    private RegisteredEmailAddressDTO registeredEmailAddressDTO;
+
+    @Setup
+    public void setUp() {
+        var data = new RegisteredEmailAddressData();
+        data.setRegisteredEmailAddress("name@example.com");
+        data.setAcceptAppropriateEmailAddressStatement(true);
+        data.setEtag("c85e9ba4bd5bcd6c71ae1f1d5e2b5a8b8ef7c1a3");
+        data.setKind("registered-email-address");
+
+        registeredEmailAddressDAO = new RegisteredEmailAddressDAO();
+        registeredEmailAddressDAO.setId("6641dc3a7cb7e7001d6f5a12");
+        registeredEmailAddressDAO.setTransactionId("112233-445566-778899");
+        registeredEmailAddressDAO.setData(data);
+        registeredEmailAddressDAO.setCreatedAt(LocalDateTime.now());
+        registeredEmailAddressDAO.setUpdatedAt(LocalDateTime.now());
+        registeredEmailAddressDAO.setLinks(Map.of(
+                "self", "/transactions/112233-445566-778899/registered-email-address",
+                "validation_status", "/transactions/112233-445566-778899/registered-email-address/validation-status"));
+
+        registeredEmailAddressDTO = new RegisteredEmailAddressDTO();
+        registeredEmailAddressDTO.setRegisteredEmailAddress("name@example.com");
+        registeredEmailAddressDTO.setAcceptAppropriateEmailAddressStatement(true);
+    }
+
+    @Benchmark
+    public RegisteredEmailAddressResponseDTO daoToDto() {
+        return mapper.daoToDto(registeredEmailAddressDAO);
+    }
+
+    @Benchmark
+    public RegisteredEmailAddressDAO dtoToDao() {
+        return mapper.dtoToDao(registeredEmailAddressDTO);
+    }
+}
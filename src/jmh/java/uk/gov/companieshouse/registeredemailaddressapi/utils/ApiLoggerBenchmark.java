@@ -0,0 +1,132 @@
+package uk.gov.companieshouse.registeredemailaddressapi.utils;
+
+import static java.lang.String.format;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * The copy of the data map made by every <code>ApiLogger</code> call that is given one, and the debug logging done
+ * while handling an update request, with debug logging disabled. In the same package as <code>ApiLogger</code> to reach
+ * <code>cloneMapData</code>.
+ * <p/>
+ * <code>updateRequestDebugLinesEager</code> makes the calls the way they were made before messages and data maps were
+ * built lazily: every message is formatted, every data map is built as a <code>HashMap</code> and copied, and only then
+ * is the event discarded. <code>updateRequestDebugLinesLazy</code> makes the same calls through the supplier methods
+ * with a <code>LogContext</code>. Compare the two with <code>-prof gc</code>, which reports the bytes allocated per
+ * request as <code>gc.alloc.rate.norm</code>.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ApiLoggerBenchmark {
+
+    private static final String REQUEST_ID = "abc123";
+    private static final String TRANSACTION_ID = "112233-445566-778899";
+    private static final String COMPANY_NUMBER = "12345678";
+
+    private Map<String, Object> dataMap;
+
+    private LogContext logContext;
+
+    @Setup
+    public void setUp() {
+        dataMap = new HashMap<>();
+        dataMap.put("transaction_id", TRANSACTION_ID);
+        dataMap.put("company_number", COMPANY_NUMBER);
+        logContext = LogContext.of("transaction_id", TRANSACTION_ID, "company_number", COMPANY_NUMBER);
+    }
+
+    @Setup(Level.Trial)
+    public void disableDebugLogging() {
+        ApiLogger.setLevel(LogEvent.Level.INFO);
+    }
+
+    @TearDown(Level.Trial)
+    public void restoreLogLevel() {
+        ApiLogger.setLevel(LogEvent.Level.DEBUG);
+    }
+
+    @Benchmark
+    public Map<String, Object> cloneMapData() {
+        return ApiLogger.cloneMapData(dataMap);
+    }
+
+    @Benchmark
+    public Map<String, Object> cloneNullMapData() {
+        return ApiLogger.cloneMapData(null);
+    }
+
+    @Benchmark
+    public Map<String, Object> cloneLogContext() {
+        return ApiLogger.cloneMapData(logContext);
+    }
+
+    /**
+     * The debug lines logged by <code>TransactionInterceptor</code>, <code>UserAuthenticationInterceptor</code> and
+     * <code>RegisteredEmailAddressService</code> for an update, as they were logged before.
+     */
+    @Benchmark
+    public void updateRequestDebugLinesEager(Blackhole blackhole) {
+        var logMap = new HashMap<String, Object>();
+        logMap.put("transaction_id", TRANSACTION_ID);
+        blackhole.consume(eagerDebug("Getting transaction for request.", logMap));
+        blackhole.consume(eagerDebug("Transaction retrieved.", logMap));
+
+        var authInfoMap = new HashMap<String, Object>();
+        authInfoMap.put("transaction_id", TRANSACTION_ID);
+        authInfoMap.put("request_method", "PUT");
+        authInfoMap.put("has_company_registered_email_address_update_permission", true);
+        authInfoMap.put("is_authorised_for_company", true);
+        blackhole.consume(eagerDebug(format("UserAuthenticationInterceptor authorised for company %s with company_rea=update permission",
+                COMPANY_NUMBER), authInfoMap));
+
+        blackhole.consume(eagerDebug(" -  updateRegisteredEmailAddress(...)", null));
+        blackhole.consume(eagerDebug(format("Registered Email Address found for Transaction %s.", TRANSACTION_ID), null));
+    }
+
+    /**
+     * The same debug lines, logged as they are now.
+     */
+    @Benchmark
+    public void updateRequestDebugLinesLazy() {
+        var logMap = LogContext.of("transaction_id", TRANSACTION_ID);
+        ApiLogger.debugContext(REQUEST_ID, "Getting transaction for request.", logMap);
+        ApiLogger.debugContext(REQUEST_ID, "Transaction retrieved.", logMap);
+
+        ApiLogger.debugContext(REQUEST_ID,
+                () -> format("UserAuthenticationInterceptor authorised for company %s with company_rea=update permission", COMPANY_NUMBER),
+                () -> logMap.with("request_method", "PUT")
+                        .with("has_company_registered_email_address_update_permission", true)
+                        .with("is_authorised_for_company", true));
+
+        ApiLogger.debugContext(REQUEST_ID, " -  updateRegisteredEmailAddress(...)");
+        ApiLogger.debugContext(REQUEST_ID, () -> format("Registered Email Address found for Transaction %s.", TRANSACTION_ID));
+    }
+
+    /**
+     * What <code>ApiLogger.debugContext</code> did before checking the level: build the event with a copy of the data
+     * map for the Companies House logger to discard.
+     */
+    private static LogEvent eagerDebug(String message, Map<String, Object> logMap) {
+        return new LogEvent(LogEvent.Level.DEBUG, REQUEST_ID, message, null, ApiLogger.cloneMapData(logMap));
+    }
+}
@@ -0,0 +1,209 @@
+package uk.gov.companieshouse.registeredemailaddressapi.client;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Stops calls to a downstream service that is failing, so that requests fail fast instead of each waiting for the
+ * service to time out, and the service is given time to recover.
+ * <p/>
+ * While <code>CLOSED</code>, the outcomes of the last <code>slidingWindowSize</code> calls are kept, and once at least
+ * <code>minimumCalls</code> have been made, the breaker opens if the share of them that failed reaches the failure
+ * rate threshold. While <code>OPEN</code>, every call is refused. After the open duration, the breaker is
+ * <code>HALF_OPEN</code> and lets through <code>halfOpenProbes</code> calls to probe the service: it closes again if
+ * they all succeed, and opens again as soon as one fails. Other calls are refused until the probes have finished.
+ * <p/>
+ * Each call must ask <code>tryAcquire</code> for a permit, and if it is given, report exactly one of
+ * <code>onSuccess</code>, <code>onFailure</code> or <code>onIgnored</code> with it. The permit records how many times
+ * the breaker had changed state when it was given, and an outcome is ignored if the breaker has changed state since. So
+ * a call made while closed that completes once the breaker is open, or half open, neither counts as a probe nor frees a
+ * place for one.
+ */
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    /**
+     * @param failureRateThreshold The percentage of failed calls, from 1 to 100, at which the breaker opens
+     * @param slidingWindowSize    The number of recent calls the failure rate is worked out from
+     * @param minimumCalls         The number of calls that must have been made before the breaker can open
+     * @param openDuration         How long the breaker stays open before probing the service
+     * @param halfOpenProbes       The number of calls let through to probe the service
+     */
+    public record Settings(int failureRateThreshold, int slidingWindowSize, int minimumCalls, Duration openDuration,
+                           int halfOpenProbes) {
+
+        public Settings {
+            if (failureRateThreshold < 1 || failureRateThreshold > 100) {
+                throw new IllegalArgumentException("Failure rate threshold must be between 1 and 100: "
+                        + failureRateThreshold);
+            }
+            if (slidingWindowSize < 1 || minimumCalls < 1 || minimumCalls > slidingWindowSize) {
+                throw new IllegalArgumentException("Minimum calls must be between 1 and the sliding window size "
+                        + slidingWindowSize + ": " + minimumCalls);
+            }
+            if (halfOpenProbes < 1) {
+                throw new IllegalArgumentException("Half open probes must be at least 1: " + halfOpenProbes);
+            }
+        }
+    }
+
+    /**
+     * Told of each change of state, while the breaker's lock is held.
+     */
+    @FunctionalInterface
+    public interface StateListener {
+        void onStateChange(State from, State to);
+    }
+
+    /** Returned by <code>tryAcquire</code> when the call may not be made */
+    public static final long NO_PERMIT = -1;
+
+    private final Settings settings;
+
+    private final LongSupplier clock;
+
+    private final StateListener listener;
+
+    /** The outcomes of the calls in the sliding window, with <code>true</code> for a failure */
+    private final boolean[] outcomes;
+
+    private int nextOutcome;
+
+    private int bufferedCalls;
+
+    private int failedCalls;
+
+    private State state = State.CLOSED;
+
+    /** The number of changes of state so far, which the permits given since the last change hold */
+    private long generation;
+
+    private long openedAt;
+
+    private int probesStarted;
+
+    private int probesSucceeded;
+
+    public CircuitBreaker(Settings settings, StateListener listener) {
+        this(settings, listener, System::nanoTime);
+    }
+
+    /**
+     * @param clock The current time, in nanoseconds
+     */
+    public CircuitBreaker(Settings settings, StateListener listener, LongSupplier clock) {
+        this.settings = settings;
+        this.listener = listener;
+        this.clock = clock;
+        this.outcomes = new boolean[settings.slidingWindowSize()];
+    }
+
+    /**
+     * @return The permit to report the outcome of the call with, if it may be made, otherwise <code>NO_PERMIT</code>
+     */
+    public synchronized long tryAcquire() {
+        if (state == State.OPEN) {
+            if (clock.getAsLong() - openedAt < settings.openDuration().toNanos()) {
+                return NO_PERMIT;
+            }
+            transitionTo(State.HALF_OPEN);
+        }
+        if (state == State.HALF_OPEN) {
+            if (probesStarted == settings.halfOpenProbes()) {
+                return NO_PERMIT;
+            }
+            probesStarted++;
+        }
+        return generation;
+    }
+
+    public synchronized void onSuccess(long permit) {
+        if (permit != generation) {
+            return;
+        }
+        if (state == State.CLOSED) {
+            record(false);
+        } else if (state == State.HALF_OPEN && ++probesSucceeded == settings.halfOpenProbes()) {
+            transitionTo(State.CLOSED);
+        }
+    }
+
+    public synchronized void onFailure(long permit) {
+        if (permit != generation) {
+            return;
+        }
+        if (state == State.CLOSED) {
+            record(true);
+        } else if (state == State.HALF_OPEN) {
+            transitionTo(State.OPEN);
+        }
+    }
+
+    /**
+     * Reports a call whose outcome says nothing about the health of the service, such as one that was never sent.
+     */
+    public synchronized void onIgnored(long permit) {
+        if (permit == generation && state == State.HALF_OPEN && probesStarted > probesSucceeded) {
+            probesStarted--;
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * @return The percentage of the calls in the sliding window that failed, or <code>-1</code> before the minimum
+     * number of calls has been made
+     */
+    public synchronized float getFailureRate() {
+        return bufferedCalls < settings.minimumCalls() ? -1 : failedCalls * 100f / bufferedCalls;
+    }
+
+    public synchronized int getBufferedCalls() {
+        return bufferedCalls;
+    }
+
+    private void record(boolean failure) {
+        if (bufferedCalls == outcomes.length) {
+            if (outcomes[nextOutcome]) {
+                failedCalls--;
+            }
+        } else {
+            bufferedCalls++;
+        }
+        outcomes[nextOutcome] = failure;
+        if (failure) {
+            failedCalls++;
+        }
+        nextOutcome = (nextOutcome + 1) % outcomes.length;
+        if (bufferedCalls >= settings.minimumCalls()
+                && failedCalls * 100 >= settings.failureRateThreshold() * bufferedCalls) {
+            transitionTo(State.OPEN);
+        }
+    }
+
+    private void transitionTo(State newState) {
+        var oldState = state;
+        state = newState;
+        generation++;
+        switch (newState) {
+            case OPEN -> openedAt = clock.getAsLong();
+            case HALF_OPEN -> {
+                probesStarted = 0;
+                probesSucceeded = 0;
+            }
+            case CLOSED -> {
+                bufferedCalls = 0;
+                failedCalls = 0;
+                nextOutcome = 0;
+            }
+        }
+        listener.onStateChange(oldState, newState);
+    }
+}
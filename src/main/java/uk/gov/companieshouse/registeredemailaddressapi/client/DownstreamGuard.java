@@ -0,0 +1,551 @@
+package uk.gov.companieshouse.registeredemailaddressapi.client;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import uk.gov.companieshouse.api.error.ApiErrorResponseException;
+import uk.gov.companieshouse.api.handler.exception.URIValidationException;
+import uk.gov.companieshouse.api.model.ApiResponse;
+import uk.gov.companieshouse.registeredemailaddressapi.exception.DownstreamUnavailableException;
+import uk.gov.companieshouse.registeredemailaddressapi.metrics.Downstream;
+import uk.gov.companieshouse.registeredemailaddressapi.metrics.DownstreamMetrics;
+import uk.gov.companieshouse.registeredemailaddressapi.metrics.DownstreamMetrics.SdkCall;
+import uk.gov.companieshouse.registeredemailaddressapi.utils.ApiLogger;
+import uk.gov.companieshouse.registeredemailaddressapi.utils.LogContext;
+
+/**
+ * Makes the sdk calls to each downstream service with a timeout, a bulkhead and a circuit breaker, so that a slow or
+ * failing service cannot tie up every request thread, and requests that need it fail fast until it recovers.
+ * <p/>
+ * Each service given a <code>Policy</code> has its own bulkhead, which refuses a call straight away when the maximum
+ * number of calls to the service are already in progress, and its own <code>CircuitBreaker</code>. A call is made on a
+ * virtual thread and waited for up to the timeout. A call that times out is abandoned rather than waited for, but
+ * keeps its place in the bulkhead until it finishes, so calls to a service that has stopped responding cannot pile up.
+ * A refused or timed out call throws a <code>DownstreamUnavailableException</code>. Calls to services without a policy
+ * are made directly.
+ * <p/>
+ * Calls that time out, throw a runtime exception, or get a 5xx response count as failures for the circuit breaker.
+ * Other error responses, such as a 404 for a company that does not exist, count as successes, as the service handled
+ * the call.
+ * <p/>
+ * When a <code>HedgePolicy</code> is given, idempotent reads made with <code>callHedged</code> are hedged: if a read
+ * has not completed within a percentile of the recent durations of the same operation, an identical second call is
+ * made, and whichever completes first is used, while the other is cancelled. A call that fails is only used if the
+ * other has failed too. Each hedge needs a place in the bulkhead and the permission of the circuit breaker like any
+ * other call, and a token from a <code>HedgeBudget</code> shared by every service, so hedging cannot add more than a
+ * fixed share to the load on the services when they all slow down at once.
+ * <p/>
+ * The state of each circuit breaker is published in the <code>downstream.circuit.state</code> gauge, as 0 for closed,
+ * 1 for open and 2 for half open, and the refused and timed out calls in the <code>downstream.calls.rejected</code>
+ * counter, tagged with the <code>dependency</code> and the <code>reason</code>. Hedges are counted in
+ * <code>downstream.hedges</code>, tagged with the <code>dependency</code> and a <code>result</code> of
+ * <code>won</code> or <code>lost</code> for hedges that were made, and <code>no-budget</code> or
+ * <code>refused</code> for those that were not. The tokens left in the budget are published in
+ * <code>downstream.hedges.budget</code>.
+ */
+public class DownstreamGuard implements AutoCloseable {
+
+    public static final String STATE_METRIC = "downstream.circuit.state";
+    public static final String REJECTED_METRIC = "downstream.calls.rejected";
+    public static final String HEDGES_METRIC = "downstream.hedges";
+    public static final String HEDGE_BUDGET_METRIC = "downstream.hedges.budget";
+
+    private static final String DEPENDENCY = "dependency";
+
+    /** Returned in place of a circuit breaker permit when the bulkhead is full, unlike any value the breaker returns */
+    private static final long BULKHEAD_FULL = CircuitBreaker.NO_PERMIT - 1;
+
+    /**
+     * @param timeout            How long to wait for a call before abandoning it
+     * @param maxConcurrentCalls The most calls to the service that may be in progress at once
+     */
+    public record Policy(Duration timeout, int maxConcurrentCalls) {
+
+        public Policy {
+            if (maxConcurrentCalls < 1) {
+                throw new IllegalArgumentException("Max concurrent calls must be at least 1: " + maxConcurrentCalls);
+            }
+        }
+    }
+
+    /**
+     * @param percentile  The percentile of the recent durations of an operation to wait for before hedging a call,
+     *                    e.g. <code>0.95</code>
+     * @param minDelay    The shortest time to wait before hedging a call
+     * @param windowSize  The number of recent calls of each operation the percentile is worked out from
+     * @param budgetRatio The most hedges to make per call, across every service
+     * @param maxBudget   The most hedges that can be saved up for a burst
+     */
+    public record HedgePolicy(double percentile, Duration minDelay, int windowSize, double budgetRatio,
+                              int maxBudget) {
+
+        public HedgePolicy {
+            if (percentile <= 0 || percentile > 1) {
+                throw new IllegalArgumentException("Hedging percentile must be greater than 0 and at most 1: "
+                        + percentile);
+            }
+            if (windowSize < 1) {
+                throw new IllegalArgumentException("Hedging window size must be at least 1: " + windowSize);
+            }
+        }
+    }
+
+    /**
+     * The state of the guard around a downstream service, as shown by the <code>downstreams</code> endpoint.
+     *
+     * @param failureRate The percentage of recent calls that failed, or <code>-1</code> if too few have been made
+     * @param hedgesMade  The number of hedged calls made since the application started
+     * @param hedgesWon   The number of hedged calls that completed before the call they hedged
+     */
+    public record Status(CircuitBreaker.State state, float failureRate, int bufferedCalls, int activeCalls,
+                         int maxConcurrentCalls, long timeoutMillis, long hedgesMade, long hedgesWon) {
+    }
+
+    private enum RejectReason {
+        CIRCUIT_OPEN,
+        BULKHEAD_FULL,
+        TIMEOUT;
+
+        private String tagValue() {
+            return name().toLowerCase(Locale.ROOT).replace('_', '-');
+        }
+    }
+
+    private enum HedgeResult {
+        WON,
+        LOST,
+        NO_BUDGET,
+        REFUSED;
+
+        private String tagValue() {
+            return name().toLowerCase(Locale.ROOT).replace('_', '-');
+        }
+    }
+
+    /**
+     * What a call says about the health of the service, as reported to its circuit breaker
+     */
+    private enum Outcome {
+        SUCCESS,
+        FAILURE,
+        IGNORED
+    }
+
+    private final DownstreamMetrics downstreamMetrics;
+
+    private final Map<Downstream, Guard> guards = new EnumMap<>(Downstream.class);
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final HedgePolicy hedgePolicy;
+
+    private final HedgeBudget hedgeBudget;
+
+    public DownstreamGuard(DownstreamMetrics downstreamMetrics, MeterRegistry meterRegistry,
+                           Map<Downstream, Policy> policies, CircuitBreaker.Settings circuitBreakerSettings) {
+        this(downstreamMetrics, meterRegistry, policies, circuitBreakerSettings, null);
+    }
+
+    /**
+     * @param hedgePolicy How to hedge the calls made with <code>callHedged</code>, or <code>null</code> to not hedge
+     *                    them
+     */
+    public DownstreamGuard(DownstreamMetrics downstreamMetrics, MeterRegistry meterRegistry,
+                           Map<Downstream, Policy> policies, CircuitBreaker.Settings circuitBreakerSettings,
+                           HedgePolicy hedgePolicy) {
+        this.downstreamMetrics = downstreamMetrics;
+        this.hedgePolicy = hedgePolicy;
+        if (hedgePolicy != null) {
+            this.hedgeBudget = new HedgeBudget(hedgePolicy.budgetRatio(), hedgePolicy.maxBudget());
+            Gauge.builder(HEDGE_BUDGET_METRIC, hedgeBudget, HedgeBudget::getTokens)
+                    .description("Hedged calls that can be made to downstream services before the budget runs out")
+                    .register(meterRegistry);
+        } else {
+            this.hedgeBudget = null;
+        }
+        policies.forEach((downstream, policy) ->
+                guards.put(downstream, new Guard(downstream, policy, circuitBreakerSettings, meterRegistry)));
+    }
+
+    /**
+     * Makes the given sdk call through the guard for the service, and records it with <code>DownstreamMetrics</code>.
+     *
+     * @throws DownstreamUnavailableException If the call was refused or timed out
+     */
+    public <T> ApiResponse<T> call(Downstream downstream, String operation, SdkCall<T> call)
+            throws ApiErrorResponseException, URIValidationException, DownstreamUnavailableException {
+        var guard = guards.get(downstream);
+        if (guard == null) {
+            return downstreamMetrics.recordSdkCall(downstream, operation, call);
+        }
+        return guard.call(operation, call, false);
+    }
+
+    /**
+     * Makes the given sdk call like <code>call</code>, hedging it if hedging is enabled. The call must be safe to make
+     * twice.
+     *
+     * @throws DownstreamUnavailableException If the call was refused or timed out
+     */
+    public <T> ApiResponse<T> callHedged(Downstream downstream, String operation, SdkCall<T> call)
+            throws ApiErrorResponseException, URIValidationException, DownstreamUnavailableException {
+        var guard = guards.get(downstream);
+        if (guard == null) {
+            return downstreamMetrics.recordSdkCall(downstream, operation, call);
+        }
+        return guard.call(operation, call, hedgePolicy != null);
+    }
+
+    /**
+     * @return The status of the guard around each service with a policy
+     */
+    public Map<String, Status> getStatus() {
+        Map<String, Status> status = new LinkedHashMap<>();
+        guards.forEach((downstream, guard) -> status.put(downstream.getTagValue(), guard.status()));
+        return status;
+    }
+
+    public CircuitBreaker.State getState(Downstream downstream) {
+        return guards.get(downstream).circuitBreaker.getState();
+    }
+
+    /**
+     * Interrupts the calls still in progress.
+     */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private final class Guard {
+
+        private final Downstream downstream;
+
+        private final Policy policy;
+
+        private final Semaphore bulkhead;
+
+        private final CircuitBreaker circuitBreaker;
+
+        private final Map<RejectReason, Counter> rejected = new EnumMap<>(RejectReason.class);
+
+        private final Map<HedgeResult, Counter> hedges = new EnumMap<>(HedgeResult.class);
+
+        private final Map<String, LatencyWindow> latencies = new ConcurrentHashMap<>();
+
+        private Guard(Downstream downstream, Policy policy, CircuitBreaker.Settings circuitBreakerSettings,
+                      MeterRegistry meterRegistry) {
+            this.downstream = downstream;
+            this.policy = policy;
+            this.bulkhead = new Semaphore(policy.maxConcurrentCalls());
+            this.circuitBreaker = new CircuitBreaker(circuitBreakerSettings, this::logStateChange);
+            Gauge.builder(STATE_METRIC, circuitBreaker, breaker -> breaker.getState().ordinal())
+                    .description("The state of the circuit breaker for calls to a downstream service: 0 closed, "
+                            + "1 open, 2 half open")
+                    .tag(DEPENDENCY, downstream.getTagValue())
+                    .register(meterRegistry);
+            for (RejectReason reason : RejectReason.values()) {
+                rejected.put(reason, Counter.builder(REJECTED_METRIC)
+                        .description("Calls to a downstream service refused by its guard, or abandoned when they "
+                                + "timed out")
+                        .tag(DEPENDENCY, downstream.getTagValue())
+                        .tag("reason", reason.tagValue())
+                        .register(meterRegistry));
+            }
+            for (HedgeResult result : HedgeResult.values()) {
+                hedges.put(result, Counter.builder(HEDGES_METRIC)
+                        .description("Hedged calls to a downstream service that completed first or were beaten by "
+                                + "the call they hedged, and hedges that were not made")
+                        .tag(DEPENDENCY, downstream.getTagValue())
+                        .tag("result", result.tagValue())
+                        .register(meterRegistry));
+            }
+        }
+
+        private <T> ApiResponse<T> call(String operation, SdkCall<T> call, boolean hedge)
+                throws ApiErrorResponseException, URIValidationException, DownstreamUnavailableException {
+            long permit = acquire();
+            if (permit < 0) {
+                throw reject(rejectReason(permit), operation, null);
+            }
+
+            long start = System.nanoTime();
+            long deadline = start + policy.timeout().toNanos();
+            LatencyWindow latency = hedge ? latencies.computeIfAbsent(operation,
+                    key -> new LatencyWindow(hedgePolicy.percentile(), hedgePolicy.windowSize())) : null;
+            long percentile = hedge ? latency.percentile() : -1;
+            if (hedge) {
+                hedgeBudget.deposit();
+            }
+            // no hedge until enough calls of the operation have completed to know how long it usually takes
+            hedge = hedge && percentile >= 0;
+            long hedgeAt = hedge ? start + Math.max(percentile, hedgePolicy.minDelay().toNanos()) : deadline;
+
+            BlockingQueue<Attempt<T>> completions = new LinkedBlockingQueue<>();
+            List<Attempt<T>> attempts = new ArrayList<>(2);
+            attempts.add(submit(operation, call, permit, latency, completions));
+            Attempt<T> hedgeAttempt = null;
+            boolean hedgeDue = hedge && hedgeAt - deadline < 0;
+            int pending = 1;
+
+            try {
+                while (true) {
+                    long waitUntil = hedgeDue ? hedgeAt : deadline;
+                    var completed = completions.poll(waitUntil - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (completed == null) {
+                        if (!hedgeDue) {
+                            cancel(attempts, Outcome.FAILURE, null);
+                            throw reject(RejectReason.TIMEOUT, operation, null);
+                        }
+                        hedgeDue = false;
+                        hedgeAttempt = hedge(operation, call, latency, completions);
+                        if (hedgeAttempt != null) {
+                            attempts.add(hedgeAttempt);
+                            pending++;
+                        }
+                        continue;
+                    }
+
+                    pending--;
+                    if (completed.outcome == Outcome.FAILURE && pending > 0) {
+                        // the other call may still succeed
+                        continue;
+                    }
+                    cancel(attempts, Outcome.IGNORED, latency);
+                    if (hedgeAttempt != null) {
+                        boolean won = completed == hedgeAttempt && completed.outcome != Outcome.FAILURE;
+                        hedges.get(won ? HedgeResult.WON : HedgeResult.LOST).increment();
+                    }
+                    return completed.result();
+                }
+            } catch (InterruptedException e) {
+                cancel(attempts, Outcome.IGNORED, null);
+                Thread.currentThread().interrupt();
+                throw new DownstreamUnavailableException("Interrupted calling " + downstream.getTagValue(), e);
+            }
+        }
+
+        private <T> Attempt<T> hedge(String operation, SdkCall<T> call, LatencyWindow latency,
+                                     BlockingQueue<Attempt<T>> completions) {
+            if (!hedgeBudget.tryWithdraw()) {
+                hedges.get(HedgeResult.NO_BUDGET).increment();
+                return null;
+            }
+            long permit = acquire();
+            if (permit < 0) {
+                hedgeBudget.refund();
+                hedges.get(HedgeResult.REFUSED).increment();
+                return null;
+            }
+            return submit(operation, call, permit, latency, completions);
+        }
+
+        /**
+         * @return The circuit breaker permit for the call if it may be made, otherwise a negative value that
+         * <code>rejectReason</code> gives the reason for
+         */
+        private long acquire() {
+            if (!bulkhead.tryAcquire()) {
+                return BULKHEAD_FULL;
+            }
+            long permit = circuitBreaker.tryAcquire();
+            if (permit == CircuitBreaker.NO_PERMIT) {
+                bulkhead.release();
+            }
+            return permit;
+        }
+
+        private RejectReason rejectReason(long permit) {
+            return permit == BULKHEAD_FULL ? RejectReason.BULKHEAD_FULL : RejectReason.CIRCUIT_OPEN;
+        }
+
+        private <T> Attempt<T> submit(String operation, SdkCall<T> call, long permit, LatencyWindow latency,
+                                      BlockingQueue<Attempt<T>> completions) {
+            var attempt = new Attempt<>(this, operation, call, permit, latency, completions);
+            try {
+                attempt.future = executor.submit(attempt);
+            } catch (RuntimeException e) {
+                attempt.cancel(Outcome.IGNORED, null);
+                throw e;
+            }
+            return attempt;
+        }
+
+        private <T> void cancel(List<Attempt<T>> attempts, Outcome outcome, LatencyWindow latency) {
+            for (Attempt<T> attempt : attempts) {
+                if (!attempt.finished) {
+                    attempt.cancel(outcome, latency);
+                }
+            }
+        }
+
+        private void report(Outcome outcome, long permit) {
+            switch (outcome) {
+                case SUCCESS -> circuitBreaker.onSuccess(permit);
+                case FAILURE -> circuitBreaker.onFailure(permit);
+                case IGNORED -> circuitBreaker.onIgnored(permit);
+            }
+        }
+
+        private DownstreamUnavailableException reject(RejectReason reason, String operation, Throwable cause) {
+            rejected.get(reason).increment();
+            var message = String.format("Call to %s for %s rejected: %s", downstream.getTagValue(), operation,
+                    reason.tagValue());
+            return new DownstreamUnavailableException(message, cause);
+        }
+
+        private void logStateChange(CircuitBreaker.State from, CircuitBreaker.State to) {
+            ApiLogger.info("Circuit breaker state changed",
+                    LogContext.of(DEPENDENCY, downstream.getTagValue(), "from", from.name())
+                            .with("to", to.name()));
+        }
+
+        private Status status() {
+            long hedgesWon = (long) hedges.get(HedgeResult.WON).count();
+            long hedgesMade = hedgesWon + (long) hedges.get(HedgeResult.LOST).count();
+            return new Status(circuitBreaker.getState(), circuitBreaker.getFailureRate(),
+                    circuitBreaker.getBufferedCalls(), policy.maxConcurrentCalls() - bulkhead.availablePermits(),
+                    policy.maxConcurrentCalls(), policy.timeout().toMillis(), hedgesMade, hedgesWon);
+        }
+    }
+
+    /**
+     * A single call to a service, which holds a place in the bulkhead until it finishes, and reports its outcome to
+     * the circuit breaker exactly once: when it completes, or when it is abandoned if that comes first.
+     */
+    private final class Attempt<T> implements Runnable {
+
+        private final Guard guard;
+
+        private final String operation;
+
+        private final SdkCall<T> call;
+
+        /** The circuit breaker permit the outcome is reported with */
+        private final long permit;
+
+        /** Where the duration of the call is recorded, or <code>null</code> if it is not hedged */
+        private final LatencyWindow latency;
+
+        private final BlockingQueue<Attempt<T>> completions;
+
+        /** Set by whichever runs first: the call, or its cancellation before the call started */
+        private final AtomicBoolean started = new AtomicBoolean();
+
+        private final AtomicBoolean reported = new AtomicBoolean();
+
+        private final long startTime = System.nanoTime();
+
+        private Future<?> future;
+
+        private volatile boolean finished;
+
+        private ApiResponse<T> response;
+
+        private Throwable failure;
+
+        private Outcome outcome;
+
+        private Attempt(Guard guard, String operation, SdkCall<T> call, long permit, LatencyWindow latency,
+                        BlockingQueue<Attempt<T>> completions) {
+            this.guard = guard;
+            this.operation = operation;
+            this.call = call;
+            this.permit = permit;
+            this.latency = latency;
+            this.completions = completions;
+        }
+
+        @Override
+        public void run() {
+            if (!started.compareAndSet(false, true)) {
+                // cancelled before it started
+                return;
+            }
+            try {
+                response = downstreamMetrics.recordSdkCall(guard.downstream, operation, call);
+                outcome = Outcome.SUCCESS;
+            } catch (ApiErrorResponseException e) {
+                failure = e;
+                outcome = isServerError(e.getStatusCode()) ? Outcome.FAILURE : Outcome.SUCCESS;
+            } catch (URIValidationException e) {
+                // the call was never sent
+                failure = e;
+                outcome = Outcome.IGNORED;
+            } catch (RuntimeException | Error e) {
+                failure = e;
+                outcome = Outcome.FAILURE;
+            } finally {
+                guard.bulkhead.release();
+            }
+            if (outcome == Outcome.SUCCESS && latency != null) {
+                latency.record(System.nanoTime() - startTime);
+            }
+            report(outcome);
+            finished = true;
+            completions.add(this);
+        }
+
+        /**
+         * Abandons the call, which keeps its place in the bulkhead until it finishes if it has started.
+         *
+         * @param latency Where to record how long the call had taken so far, as the least it would have taken, or
+         *                <code>null</code>
+         */
+        private void cancel(Outcome abandonedOutcome, LatencyWindow latency) {
+            report(abandonedOutcome);
+            if (started.compareAndSet(false, true)) {
+                guard.bulkhead.release();
+            } else if (latency != null) {
+                latency.record(System.nanoTime() - startTime);
+            }
+            if (future != null) {
+                future.cancel(true);
+            }
+        }
+
+        private void report(Outcome reportedOutcome) {
+            if (reported.compareAndSet(false, true)) {
+                guard.report(reportedOutcome, permit);
+            }
+        }
+
+        private ApiResponse<T> result() throws ApiErrorResponseException, URIValidationException {
+            if (failure == null) {
+                return response;
+            }
+            if (failure instanceof ApiErrorResponseException apiErrorResponseException) {
+                throw apiErrorResponseException;
+            }
+            if (failure instanceof URIValidationException uriValidationException) {
+                throw uriValidationException;
+            }
+            if (failure instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw (Error) failure;
+        }
+    }
+
+    private static boolean isServerError(int statusCode) {
+        // a status code that is not a valid http status means the call got no response
+        return statusCode >= 500 || statusCode < 100;
+    }
+}
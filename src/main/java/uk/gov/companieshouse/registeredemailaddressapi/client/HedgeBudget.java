@@ -0,0 +1,72 @@
+package uk.gov.companieshouse.registeredemailaddressapi.client;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Limits hedged calls to a share of the calls made, so that hedging cannot add more than that share to the load on
+ * the downstream services, even when they are all slow at once.
+ * <p/>
+ * Each call that could be hedged deposits <code>ratio</code> of a token, up to <code>maxTokens</code>, and each hedge
+ * withdraws a whole token. When the services slow down, the tokens run out after the burst allowed by
+ * <code>maxTokens</code>, and from then on at most one call in <code>1 / ratio</code> is hedged.
+ */
+public class HedgeBudget {
+
+    /** A token is held as this many units, so fractions of a token can be deposited without rounding */
+    private static final long UNITS_PER_TOKEN = 1_000_000;
+
+    private final long depositUnits;
+
+    private final long maxUnits;
+
+    private final AtomicLong units;
+
+    /**
+     * @param ratio     The most hedges to make per call, e.g. <code>0.1</code> for one in ten
+     * @param maxTokens The most hedges that can be saved up for a burst
+     */
+    public HedgeBudget(double ratio, int maxTokens) {
+        if (ratio <= 0 || ratio > 1) {
+            throw new IllegalArgumentException("Hedge budget ratio must be greater than 0 and at most 1: " + ratio);
+        }
+        if (maxTokens < 1) {
+            throw new IllegalArgumentException("Hedge budget max tokens must be at least 1: " + maxTokens);
+        }
+        this.depositUnits = Math.round(ratio * UNITS_PER_TOKEN);
+        this.maxUnits = maxTokens * UNITS_PER_TOKEN;
+        this.units = new AtomicLong(maxUnits);
+    }
+
+    /**
+     * Adds the share of a token earned by a call.
+     */
+    public void deposit() {
+        units.accumulateAndGet(depositUnits, (current, deposit) -> Math.min(maxUnits, current + deposit));
+    }
+
+    /**
+     * @return <code>true</code> if a token was taken for a hedge
+     */
+    public boolean tryWithdraw() {
+        while (true) {
+            long current = units.get();
+            if (current < UNITS_PER_TOKEN) {
+                return false;
+            }
+            if (units.compareAndSet(current, current - UNITS_PER_TOKEN)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Returns a token taken for a hedge that was not made.
+     */
+    public void refund() {
+        units.accumulateAndGet(UNITS_PER_TOKEN, (current, refund) -> Math.min(maxUnits, current + refund));
+    }
+
+    public double getTokens() {
+        return (double) units.get() / UNITS_PER_TOKEN;
+    }
+}
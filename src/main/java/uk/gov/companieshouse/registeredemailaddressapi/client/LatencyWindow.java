@@ -0,0 +1,66 @@
+package uk.gov.companieshouse.registeredemailaddressapi.client;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Keeps the durations of the most recent calls, and a percentile of them, such as the p95, to decide how long to wait
+ * for a call before hedging it.
+ * <p/>
+ * Working the percentile out means sorting a copy of the window, so it is only done after every sixteenth of the
+ * window has been replaced, and <code>percentile</code> returns the value from then. Until that many calls have been
+ * recorded, there is no percentile.
+ */
+public class LatencyWindow {
+
+    private final double percentile;
+
+    private final AtomicLongArray samples;
+
+    private final int recomputeInterval;
+
+    private final AtomicLong recorded = new AtomicLong();
+
+    private volatile long value = -1;
+
+    /**
+     * @param percentile The percentile to keep, greater than 0 and at most 1, e.g. <code>0.95</code>
+     * @param windowSize The number of recent durations to keep
+     */
+    public LatencyWindow(double percentile, int windowSize) {
+        if (percentile <= 0 || percentile > 1) {
+            throw new IllegalArgumentException("Percentile must be greater than 0 and at most 1: " + percentile);
+        }
+        if (windowSize < 1) {
+            throw new IllegalArgumentException("Window size must be at least 1: " + windowSize);
+        }
+        this.percentile = percentile;
+        this.samples = new AtomicLongArray(windowSize);
+        this.recomputeInterval = Math.max(1, windowSize / 16);
+    }
+
+    public void record(long durationNanos) {
+        long count = recorded.getAndIncrement() + 1;
+        samples.set((int) ((count - 1) % samples.length()), durationNanos);
+        if (count % recomputeInterval == 0) {
+            recompute((int) Math.min(count, samples.length()));
+        }
+    }
+
+    /**
+     * @return The percentile of the recent durations, in nanoseconds, or <code>-1</code> if too few have been recorded
+     */
+    public long percentile() {
+        return value;
+    }
+
+    private void recompute(int size) {
+        var sorted = new long[size];
+        for (int i = 0; i < size; i++) {
+            sorted[i] = samples.get(i);
+        }
+        Arrays.sort(sorted);
+        value = sorted[Math.max(0, (int) Math.ceil(percentile * size) - 1)];
+    }
+}
@@ -1,14 +1,21 @@
 package uk.gov.companieshouse.registeredemailaddressapi.configuration;
 
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.concurrent.ThreadFactory;
 import java.util.function.Supplier;
 
 @Configuration
 public class ApplicationConfig {
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreadsEnabled;
+
     @Bean
     public Supplier<LocalDateTime> dateTimeNow() {
         return LocalDateTime::now;
@@ -17,4 +24,39 @@ public class ApplicationConfig {
     public Supplier<LocalDate> dateNow() {
         return LocalDate::now;
     }
+
+    @Bean
+    @Qualifier("eligibility-rule-thread-factory")
+    public ThreadFactory eligibilityRuleThreadFactory() {
+        return threadFactory("eligibility-rule-");
+    }
+
+    @Bean
+    @Qualifier("bulk-eligibility-thread-factory")
+    public ThreadFactory bulkEligibilityThreadFactory() {
+        return threadFactory("bulk-eligibility-");
+    }
+
+    @Bean
+    @Qualifier("cache-refresh-thread-factory")
+    public ThreadFactory cacheRefreshThreadFactory() {
+        return threadFactory("cache-refresh-");
+    }
+
+    @Bean
+    @Qualifier("mongo-index-thread-factory")
+    public ThreadFactory mongoIndexThreadFactory() {
+        return threadFactory("mongo-index-");
+    }
+
+    /**
+     * Internal threads follow the same threading model as request handling, so they are virtual threads whenever
+     * <code>spring.threads.virtual.enabled</code> is set.
+     */
+    private ThreadFactory threadFactory(String namePrefix) {
+        if (virtualThreadsEnabled) {
+            return Thread.ofVirtual().name(namePrefix, 0).factory();
+        }
+        return Thread.ofPlatform().name(namePrefix, 0).daemon().factory();
+    }
 }
@@ -0,0 +1,107 @@
+package uk.gov.companieshouse.registeredemailaddressapi.configuration;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+@Configuration
+public class CacheConfig {
+
+    @Value("${company.profile.cache.maximum-size:10000}")
+    private long companyProfileCacheMaximumSize;
+
+    @Value("${company.profile.cache.expire-after-write:10m}")
+    private Duration companyProfileCacheExpireAfterWrite;
+
+    @Value("${company.profile.cache.refresh-after-write:1m}")
+    private Duration companyProfileCacheRefreshAfterWrite;
+
+    @Value("${company.not-found.cache.maximum-size:10000}")
+    private long companyNotFoundCacheMaximumSize;
+
+    @Value("${company.not-found.cache.expire-after-write:1m}")
+    private Duration companyNotFoundCacheExpireAfterWrite;
+
+    @Value("${registered-email-address.not-found.cache.maximum-size:10000}")
+    private long registeredEmailAddressNotFoundCacheMaximumSize;
+
+    @Value("${registered-email-address.not-found.cache.expire-after-write:1m}")
+    private Duration registeredEmailAddressNotFoundCacheExpireAfterWrite;
+
+    @Value("${transaction.cache.maximum-size:10000}")
+    private long transactionCacheMaximumSize;
+
+    @Value("${transaction.cache.expire-after-write:10m}")
+    private Duration transactionCacheExpireAfterWrite;
+
+    /**
+     * Cache settings for company profiles retrieved from the company-profile-api. Entries older than the refresh
+     * interval are reloaded in the background on their next read, while the stale profile is returned to the caller,
+     * so only entries that have not been read for the whole expiry period require a blocking call. Reloads run on
+     * their own threads rather than the common fork join pool, as each one blocks on a call to the api.
+     *
+     * @param refreshThreadFactory Creates the threads that reload stale entries
+     * @return The builder used to create the company profile cache
+     */
+    @Bean
+    @Qualifier("company-profile-cache")
+    Caffeine<Object, Object> companyProfileCacheBuilder(
+            @Qualifier("cache-refresh-thread-factory") ThreadFactory refreshThreadFactory) {
+        return Caffeine.newBuilder()
+                .executor(Executors.newThreadPerTaskExecutor(refreshThreadFactory))
+                .maximumSize(companyProfileCacheMaximumSize)
+                .expireAfterWrite(companyProfileCacheExpireAfterWrite)
+                .refreshAfterWrite(companyProfileCacheRefreshAfterWrite)
+                .recordStats();
+    }
+
+    /**
+     * Cache settings for company numbers that the company-profile-api has reported as not found.
+     *
+     * @return The builder used to create the company not found cache
+     */
+    @Bean
+    @Qualifier("company-not-found-cache")
+    Caffeine<Object, Object> companyNotFoundCacheBuilder() {
+        return Caffeine.newBuilder()
+                .maximumSize(companyNotFoundCacheMaximumSize)
+                .expireAfterWrite(companyNotFoundCacheExpireAfterWrite)
+                .recordStats();
+    }
+
+    /**
+     * Cache settings for company numbers that the oracle-query-api holds no registered email address for.
+     *
+     * @return The builder used to create the registered email address not found cache
+     */
+    @Bean
+    @Qualifier("registered-email-address-not-found-cache")
+    Caffeine<Object, Object> registeredEmailAddressNotFoundCacheBuilder() {
+        return Caffeine.newBuilder()
+                .maximumSize(registeredEmailAddressNotFoundCacheMaximumSize)
+                .expireAfterWrite(registeredEmailAddressNotFoundCacheExpireAfterWrite)
+                .recordStats();
+    }
+
+    /**
+     * Cache settings for closed transactions retrieved from the transactions-api. Open transactions may be changed by
+     * other services and are never cached, closed transactions can no longer change.
+     *
+     * @return The builder used to create the transaction cache
+     */
+    @Bean
+    @Qualifier("transaction-cache")
+    Caffeine<Object, Object> transactionCacheBuilder() {
+        return Caffeine.newBuilder()
+                .maximumSize(transactionCacheMaximumSize)
+                .expireAfterWrite(transactionCacheExpireAfterWrite)
+                .recordStats();
+    }
+}
@@ -0,0 +1,100 @@
+package uk.gov.companieshouse.registeredemailaddressapi.configuration;
+
+import java.time.Duration;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import uk.gov.companieshouse.registeredemailaddressapi.client.CircuitBreaker;
+import uk.gov.companieshouse.registeredemailaddressapi.client.DownstreamGuard;
+import uk.gov.companieshouse.registeredemailaddressapi.metrics.Downstream;
+import uk.gov.companieshouse.registeredemailaddressapi.metrics.DownstreamMetrics;
+
+/**
+ * Guards the calls to each downstream api with the timeout and the maximum number of concurrent calls set for it in
+ * the <code>downstream.&lt;dependency&gt;</code> properties, and a circuit breaker set by the
+ * <code>downstream.circuit-breaker</code> properties, which are shared by every dependency.
+ * <p/>
+ * When <code>downstream.hedging.enabled</code> is set, idempotent reads that take longer than the
+ * <code>downstream.hedging.percentile</code> of their recent durations are hedged, within a budget of
+ * <code>downstream.hedging.budget-ratio</code> hedges per read.
+ */
+@Configuration
+public class DownstreamGuardConfig {
+
+    @Value("${downstream.transactions-api.timeout:5s}")
+    private Duration transactionsApiTimeout;
+
+    @Value("${downstream.transactions-api.max-concurrent-calls:50}")
+    private int transactionsApiMaxConcurrentCalls;
+
+    @Value("${downstream.company-profile-api.timeout:5s}")
+    private Duration companyProfileApiTimeout;
+
+    @Value("${downstream.company-profile-api.max-concurrent-calls:50}")
+    private int companyProfileApiMaxConcurrentCalls;
+
+    @Value("${downstream.oracle-query-api.timeout:5s}")
+    private Duration oracleQueryApiTimeout;
+
+    @Value("${downstream.oracle-query-api.max-concurrent-calls:50}")
+    private int oracleQueryApiMaxConcurrentCalls;
+
+    @Value("${downstream.circuit-breaker.failure-rate-threshold:50}")
+    private int failureRateThreshold;
+
+    @Value("${downstream.circuit-breaker.sliding-window-size:50}")
+    private int slidingWindowSize;
+
+    @Value("${downstream.circuit-breaker.minimum-calls:20}")
+    private int minimumCalls;
+
+    @Value("${downstream.circuit-breaker.open-duration:30s}")
+    private Duration openDuration;
+
+    @Value("${downstream.circuit-breaker.half-open-probes:5}")
+    private int halfOpenProbes;
+
+    @Value("${downstream.hedging.enabled:false}")
+    private boolean hedgingEnabled;
+
+    @Value("${downstream.hedging.percentile:0.95}")
+    private double hedgingPercentile;
+
+    @Value("${downstream.hedging.min-delay:20ms}")
+    private Duration hedgingMinDelay;
+
+    @Value("${downstream.hedging.window-size:1000}")
+    private int hedgingWindowSize;
+
+    @Value("${downstream.hedging.budget-ratio:0.1}")
+    private double hedgingBudgetRatio;
+
+    @Value("${downstream.hedging.max-budget:20}")
+    private int hedgingMaxBudget;
+
+    /**
+     * @return The guard used by the services to call the downstream apis. Calls still in progress are interrupted
+     * when the application shuts down.
+     */
+    @Bean
+    public DownstreamGuard downstreamGuard(DownstreamMetrics downstreamMetrics, MeterRegistry meterRegistry) {
+        var policies = Map.of(
+                Downstream.TRANSACTIONS_API,
+                new DownstreamGuard.Policy(transactionsApiTimeout, transactionsApiMaxConcurrentCalls),
+                Downstream.COMPANY_PROFILE_API,
+                new DownstreamGuard.Policy(companyProfileApiTimeout, companyProfileApiMaxConcurrentCalls),
+                Downstream.ORACLE_QUERY_API,
+                new DownstreamGuard.Policy(oracleQueryApiTimeout, oracleQueryApiMaxConcurrentCalls));
+        var circuitBreakerSettings = new CircuitBreaker.Settings(failureRateThreshold, slidingWindowSize,
+                minimumCalls, openDuration, halfOpenProbes);
+        var hedgePolicy = hedgingEnabled
+                ? new DownstreamGuard.HedgePolicy(hedgingPercentile, hedgingMinDelay, hedgingWindowSize,
+                        hedgingBudgetRatio, hedgingMaxBudget)
+                : null;
+        return new DownstreamGuard(downstreamMetrics, meterRegistry, policies, circuitBreakerSettings, hedgePolicy);
+    }
+}
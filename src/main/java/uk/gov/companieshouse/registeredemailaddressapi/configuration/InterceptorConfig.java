@@ -19,9 +19,11 @@ public class InterceptorConfig implements WebMvcConfigurer {
     static final String TRANSACTIONS = "/transactions/**";
     static final String HEALTHCHECK = "/registered-email-address/healthcheck";
     static final String FILINGS = "/private/transactions/**/filings";
+    static final String BULK_ELIGIBILITY = "/private/registered-email-address/company/eligibility";
 
     static final String[] INTERNAL_AUTH_ENDPOINTS = {
-        FILINGS
+        FILINGS,
+        BULK_ELIGIBILITY
     };
 
     @Autowired
@@ -0,0 +1,66 @@
+package uk.gov.companieshouse.registeredemailaddressapi.configuration;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import uk.gov.companieshouse.registeredemailaddressapi.utils.ApiLogger;
+import uk.gov.companieshouse.registeredemailaddressapi.utils.AsyncLogWriter;
+import uk.gov.companieshouse.registeredemailaddressapi.utils.LogSampler;
+
+/**
+ * Writes the events logged through <code>ApiLogger</code> on a dedicated thread when
+ * <code>logging.async.enabled</code> is set. Events still queued when the application shuts down are written before
+ * it stops.
+ * <p/>
+ * High-volume events logged with a key through <code>ApiLogger.sampledInfo</code> are sampled by the rates in
+ * <code>logging.sampling.rates</code> and rate limited by the events per second in
+ * <code>logging.sampling.rate-limits</code>. The number of events suppressed for each key is logged every
+ * <code>logging.sampling.summary-interval</code>.
+ */
+@Configuration
+public class LoggingConfig implements DisposableBean {
+
+    private final AsyncLogWriter asyncLogWriter;
+
+    private final ScheduledExecutorService summaryExecutor;
+
+    public LoggingConfig(@Value("${logging.async.enabled:false}") boolean asyncEnabled,
+                         @Value("${logging.async.buffer-size:8192}") int bufferSize,
+                         @Value("${logging.async.overflow-policy:drop-debug}") String overflowPolicy,
+                         @Value("${logging.sampling.rates:}") String sampleRates,
+                         @Value("${logging.sampling.rate-limits:}") String rateLimits,
+                         @Value("${logging.sampling.summary-interval:60s}") Duration summaryInterval,
+                         MeterRegistry meterRegistry) {
+        if (asyncEnabled) {
+            asyncLogWriter = new AsyncLogWriter(bufferSize, AsyncLogWriter.OverflowPolicy.fromValue(overflowPolicy),
+                    meterRegistry);
+            ApiLogger.setAsyncWriter(asyncLogWriter);
+        } else {
+            asyncLogWriter = null;
+        }
+
+        ApiLogger.setSampler(new LogSampler(LogSampler.parseRules(sampleRates), LogSampler.parseRules(rateLimits)));
+        summaryExecutor = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("log-sampling-summary").daemon().factory());
+        summaryExecutor.scheduleAtFixedRate(ApiLogger::logSuppressedSummary, summaryInterval.toMillis(),
+                summaryInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        summaryExecutor.shutdownNow();
+        ApiLogger.logSuppressedSummary();
+        ApiLogger.setSampler(LogSampler.NONE);
+        if (asyncLogWriter != null) {
+            ApiLogger.setAsyncWriter(null);
+            asyncLogWriter.close();
+        }
+    }
+}
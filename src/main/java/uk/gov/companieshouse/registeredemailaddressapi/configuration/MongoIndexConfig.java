@@ -0,0 +1,99 @@
+package uk.gov.companieshouse.registeredemailaddressapi.configuration;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import uk.gov.companieshouse.registeredemailaddressapi.model.dao.RegisteredEmailAddressDAO;
+import uk.gov.companieshouse.registeredemailaddressapi.utils.ApiLogger;
+
+/**
+ * Creates the indexes on the registered_email_address collection once the application has started, if they do not
+ * already exist. Indexes are built on a separate thread, as building an index on a large collection can take a while
+ * and requests can be handled without it in the meantime. The status of each index is published as the
+ * <code>mongodb.index.status</code> gauge: 0 while it is being built, 1 once it is ready and -1 if it could not be
+ * built, for example because existing documents break a unique constraint.
+ */
+@Configuration
+public class MongoIndexConfig {
+
+    static final String INDEX_STATUS_METRIC = "mongodb.index.status";
+    static final int INDEX_BUILDING = 0;
+    static final int INDEX_READY = 1;
+    static final int INDEX_FAILED = -1;
+
+    public static final String TRANSACTION_ID_INDEX = "transaction_id_unique";
+    public static final String CREATED_AT_INDEX = "created_at";
+
+    private final MongoTemplate mongoTemplate;
+
+    private final ThreadFactory indexThreadFactory;
+
+    private final List<ManagedIndex> indexes;
+
+    @Autowired
+    public MongoIndexConfig(MongoTemplate mongoTemplate,
+                            @Qualifier("mongo-index-thread-factory") ThreadFactory indexThreadFactory,
+                            MeterRegistry meterRegistry) {
+        this.mongoTemplate = mongoTemplate;
+        this.indexThreadFactory = indexThreadFactory;
+        this.indexes = List.of(
+                new ManagedIndex(new Index().on("transaction_id", Sort.Direction.ASC).unique().named(TRANSACTION_ID_INDEX)),
+                new ManagedIndex(new Index().on("created_at", Sort.Direction.ASC).named(CREATED_AT_INDEX)));
+
+        var collection = mongoTemplate.getCollectionName(RegisteredEmailAddressDAO.class);
+        for (ManagedIndex index : indexes) {
+            Gauge.builder(INDEX_STATUS_METRIC, index.status(), AtomicInteger::get)
+                    .description("Build status of a mongodb index: 0 building, 1 ready, -1 failed")
+                    .tag("collection", collection)
+                    .tag("index", index.name())
+                    .register(meterRegistry);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        indexThreadFactory.newThread(this::ensureIndexes).start();
+    }
+
+    public void ensureIndexes() {
+        var indexOperations = mongoTemplate.indexOps(RegisteredEmailAddressDAO.class);
+        for (ManagedIndex index : indexes) {
+            var logMap = new HashMap<String, Object>();
+            logMap.put("index", index.name());
+            try {
+                ApiLogger.info("Ensuring index exists", logMap);
+                indexOperations.ensureIndex(index.definition());
+                index.status().set(INDEX_READY);
+                ApiLogger.info("Index ready", logMap);
+            } catch (RuntimeException e) {
+                // the service still works without the index, only more slowly, so this does not stop it starting
+                index.status().set(INDEX_FAILED);
+                ApiLogger.error("Error building index", e, logMap);
+            }
+        }
+    }
+
+    private record ManagedIndex(Index definition, AtomicInteger status) {
+
+        ManagedIndex(Index definition) {
+            this(definition, new AtomicInteger(INDEX_BUILDING));
+        }
+
+        String name() {
+            return (String) definition.getIndexOptions().get("name");
+        }
+    }
+}
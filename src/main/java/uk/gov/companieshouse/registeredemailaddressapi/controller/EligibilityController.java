@@ -3,22 +3,40 @@ package uk.gov.companieshouse.registeredemailaddressapi.controller;
 import static uk.gov.companieshouse.registeredemailaddressapi.utils.Constants.COMPANY_NUMBER_REGEX;
 import static uk.gov.companieshouse.registeredemailaddressapi.utils.Constants.ERIC_REQUEST_ID_KEY;
 
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.Pattern;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.StreamWriteFeature;
 
 import uk.gov.companieshouse.registeredemailaddressapi.eligibility.EligibilityStatusCode;
 import uk.gov.companieshouse.registeredemailaddressapi.exception.CompanyNotFoundException;
+import uk.gov.companieshouse.registeredemailaddressapi.exception.DownstreamUnavailableException;
+import uk.gov.companieshouse.registeredemailaddressapi.model.dto.BulkEligibilityRequestDTO;
 import uk.gov.companieshouse.registeredemailaddressapi.model.response.CompanyValidationResponse;
+import uk.gov.companieshouse.registeredemailaddressapi.service.BulkEligibilityService;
 import uk.gov.companieshouse.registeredemailaddressapi.service.CompanyProfileService;
 import uk.gov.companieshouse.registeredemailaddressapi.service.EligibilityService;
 import uk.gov.companieshouse.registeredemailaddressapi.utils.ApiLogger;
@@ -27,12 +45,22 @@ import uk.gov.companieshouse.registeredemailaddressapi.utils.ApiLogger;
 @Validated
 public class EligibilityController {
 
+    private static final JsonFactory JSON_FACTORY = JsonFactory.builder()
+            .disable(StreamWriteFeature.AUTO_CLOSE_TARGET)
+            .build();
+
+    /** Ends a bulk eligibility response that could not be completed, and can never be a company number */
+    private static final String INCOMPLETE_FIELD = "_error";
+
     @Autowired
     private CompanyProfileService companyProfileService;
 
     @Autowired
     private EligibilityService eligibilityService;
 
+    @Autowired
+    private BulkEligibilityService bulkEligibilityService;
+
     @GetMapping("/registered-email-address/company/{company-number}/eligibility")
     public ResponseEntity<CompanyValidationResponse> getEligibility(
             @PathVariable("company-number") @Pattern(regexp = COMPANY_NUMBER_REGEX,
@@ -52,9 +80,78 @@ public class EligibilityController {
             var companyNotFoundResponse = new CompanyValidationResponse();
             companyNotFoundResponse.setEligibilityStatusCode(EligibilityStatusCode.COMPANY_NOT_FOUND);
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(companyNotFoundResponse);
+        } catch (DownstreamUnavailableException e) {
+            ApiLogger.errorContext(requestId, "Downstream service unavailable checking eligibility of company.", e, logMap);
+            return new ResponseEntity<>(HttpStatus.SERVICE_UNAVAILABLE);
         } catch (Exception e) {
             ApiLogger.errorContext(requestId, "Error checking eligibility of company.", e, logMap);
             return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
+
+    /**
+     * Checks the eligibility of many companies in one request. The response body is a JSON object mapping each
+     * company number to its eligibility status code, or to <code>null</code> if the eligibility of the company could not
+     * be checked. Entries are written as each company is checked, in the order the checks complete. If the checks fail
+     * part way through, the object ends with an <code>_error</code> field and does not hold every company.
+     */
+    @PostMapping("/private/registered-email-address/company/eligibility")
+    public ResponseEntity<StreamingResponseBody> getBulkEligibility(
+            @Valid @RequestBody BulkEligibilityRequestDTO bulkEligibilityRequest,
+            @RequestHeader(value = ERIC_REQUEST_ID_KEY) String requestId) {
+
+        // a company number requested more than once is only checked once
+        var companyNumbers = new LinkedHashSet<>(bulkEligibilityRequest.getCompanyNumbers());
+
+        var logMap = new HashMap<String, Object>();
+        logMap.put("company_count", companyNumbers.size());
+        ApiLogger.infoContext(requestId, "Calling service to retrieve bulk company eligibility", logMap);
+
+        StreamingResponseBody responseBody = outputStream -> writeEligibility(companyNumbers, requestId, outputStream);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(responseBody);
+    }
+
+    private void writeEligibility(Collection<String> companyNumbers, String requestId, OutputStream outputStream)
+            throws IOException {
+        try (var generator = JSON_FACTORY.createGenerator(outputStream)) {
+            generator.writeStartObject();
+            try {
+                bulkEligibilityService.checkCompanyEligibility(companyNumbers, requestId, (companyNumber, statusCode) -> {
+                    try {
+                        generator.writeFieldName(companyNumber);
+                        if (statusCode == null) {
+                            generator.writeNull();
+                        } else {
+                            generator.writeString(statusCode.name());
+                        }
+                        generator.flush();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                writeIncomplete(generator);
+                throw new InterruptedIOException("Interrupted while checking company eligibility");
+            } catch (RuntimeException e) {
+                var logMap = new HashMap<String, Object>();
+                logMap.put("company_count", companyNumbers.size());
+                ApiLogger.errorContext(requestId, "Error checking bulk eligibility of companies.", e, logMap);
+                writeIncomplete(generator);
+                return;
+            }
+            generator.writeEndObject();
+        }
+    }
+
+    /**
+     * The status has already been sent by the time a check fails, so the failure is reported by ending the body with
+     * the {@value #INCOMPLETE_FIELD} field rather than leaving it as truncated JSON.
+     */
+    private static void writeIncomplete(JsonGenerator generator) throws IOException {
+        generator.writeStringField(INCOMPLETE_FIELD, "Error checking company eligibility, results are incomplete");
+        generator.writeEndObject();
+    }
 }
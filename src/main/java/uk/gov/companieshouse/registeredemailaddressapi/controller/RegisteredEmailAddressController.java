@@ -2,15 +2,18 @@ package uk.gov.companieshouse.registeredemailaddressapi.controller;
 
 import com.google.api.client.util.Maps;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import uk.gov.companieshouse.api.model.transaction.Transaction;
 import uk.gov.companieshouse.api.model.validationstatus.ValidationStatusResponse;
 import uk.gov.companieshouse.registeredemailaddressapi.exception.*;
+import uk.gov.companieshouse.registeredemailaddressapi.model.dao.ValidationStatusData;
 import uk.gov.companieshouse.registeredemailaddressapi.model.dto.RegisteredEmailAddressDTO;
 import uk.gov.companieshouse.registeredemailaddressapi.model.dto.RegisteredEmailAddressResponseDTO;
 import uk.gov.companieshouse.registeredemailaddressapi.service.RegisteredEmailAddressService;
 import uk.gov.companieshouse.registeredemailaddressapi.utils.ApiLogger;
+import uk.gov.companieshouse.registeredemailaddressapi.utils.EtagUtils;
 
 import jakarta.validation.Valid;
 import java.net.URI;
@@ -50,7 +53,9 @@ public class RegisteredEmailAddressController {
                             requestId,
                             userId);
 
-            return ResponseEntity.created(URI.create(registeredEmailAddress.getId())).body(registeredEmailAddress);
+            return ResponseEntity.created(URI.create(registeredEmailAddress.getId()))
+                    .eTag(etagOf(registeredEmailAddress))
+                    .body(registeredEmailAddress);
 
     }
 
@@ -58,8 +63,9 @@ public class RegisteredEmailAddressController {
     public ResponseEntity<RegisteredEmailAddressResponseDTO> updateRegisteredEmailAddress(
             @RequestAttribute(TRANSACTION_KEY) Transaction transaction,
             @Valid @RequestBody RegisteredEmailAddressDTO registeredEmailAddressDto,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @RequestHeader(value = ERIC_REQUEST_ID_KEY) String requestId,
-            @RequestHeader(value = ERIC_IDENTITY) String userId) throws ServiceException, NotFoundException, TransactionNotOpenException, CompanyNotFoundException, EligibilityException, InvalidEmailAddressException {
+            @RequestHeader(value = ERIC_IDENTITY) String userId) throws ServiceException, NotFoundException, PreconditionFailedException, TransactionNotOpenException, CompanyNotFoundException, EligibilityException, InvalidEmailAddressException {
 
         HashMap<String, Object> logMap = Maps.newHashMap();
         logMap.put(TRANSACTION_ID_KEY, transaction.getId());
@@ -70,10 +76,11 @@ public class RegisteredEmailAddressController {
                     .updateRegisteredEmailAddress(
                             transaction,
                             registeredEmailAddressDto,
+                            EtagUtils.parseIfMatch(ifMatch),
                             requestId,
                             userId);
 
-            return ResponseEntity.ok().body(registeredEmailAddress);
+            return ResponseEntity.ok().eTag(etagOf(registeredEmailAddress)).body(registeredEmailAddress);
 
     }
 
@@ -92,7 +99,8 @@ public class RegisteredEmailAddressController {
         RegisteredEmailAddressResponseDTO registeredEmailAddress =
                 registeredEmailAddressService.getRegisteredEmailAddress(transactionId, requestId);
 
-        return ResponseEntity.ok().body(registeredEmailAddress);
+        // with an ETag set, a GET whose If-None-Match matches it is answered with a 304 and no body
+        return ResponseEntity.ok().eTag(etagOf(registeredEmailAddress)).body(registeredEmailAddress);
     }
 
     @GetMapping("/validation-status")
@@ -107,10 +115,20 @@ public class RegisteredEmailAddressController {
 
         ApiLogger.infoContext(requestId, "Calling service to get the registered email address submission", logMap);
 
-        ValidationStatusResponse response = registeredEmailAddressService
+        ValidationStatusData validationStatus = registeredEmailAddressService
                 .getValidationStatus(transactionId, requestId);
 
-        return ResponseEntity.ok().body(response);
+        // the status only changes with the submission, so a poll with an unchanged etag is answered with a 304
+        return ResponseEntity.ok()
+                .eTag(validationStatus.getEtag())
+                .body(validationStatus.getValidationStatusResponse());
 
     }
+
+    private static String etagOf(RegisteredEmailAddressResponseDTO registeredEmailAddress) {
+        if (registeredEmailAddress == null || registeredEmailAddress.getData() == null) {
+            return null;
+        }
+        return registeredEmailAddress.getData().getEtag();
+    }
 }
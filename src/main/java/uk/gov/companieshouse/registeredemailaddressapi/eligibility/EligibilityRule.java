@@ -5,4 +5,22 @@ import uk.gov.companieshouse.registeredemailaddressapi.exception.ServiceExceptio
 
 public interface EligibilityRule<T> {
     void validate(T input) throws EligibilityException, ServiceException;
+
+    /**
+     * The cost of running this rule, used to run cheap rules before expensive ones.
+     *
+     * @return The cost of this rule, <code>LOCAL</code> unless overridden
+     */
+    default EligibilityRuleCost cost() {
+        return EligibilityRuleCost.LOCAL;
+    }
+
+    /**
+     * The name of this rule, used to tag its metrics.
+     *
+     * @return The simple name of the rule class, or the full name if it is anonymous, unless overridden
+     */
+    default String name() {
+        return getClass().isAnonymousClass() ? getClass().getName() : getClass().getSimpleName();
+    }
 }
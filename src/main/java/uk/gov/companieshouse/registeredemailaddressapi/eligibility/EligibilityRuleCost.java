@@ -0,0 +1,8 @@
+package uk.gov.companieshouse.registeredemailaddressapi.eligibility;
+
+public enum EligibilityRuleCost {
+    /** The rule only inspects data that is already held in memory */
+    LOCAL,
+    /** The rule calls another service to make its decision */
+    REMOTE
+}
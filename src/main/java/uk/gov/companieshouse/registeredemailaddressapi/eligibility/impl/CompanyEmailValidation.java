@@ -2,6 +2,7 @@ package uk.gov.companieshouse.registeredemailaddressapi.eligibility.impl;
 
 import uk.gov.companieshouse.api.model.company.CompanyProfileApi;
 import uk.gov.companieshouse.registeredemailaddressapi.eligibility.EligibilityRule;
+import uk.gov.companieshouse.registeredemailaddressapi.eligibility.EligibilityRuleCost;
 import uk.gov.companieshouse.registeredemailaddressapi.eligibility.EligibilityStatusCode;
 import uk.gov.companieshouse.registeredemailaddressapi.exception.EligibilityException;
 import uk.gov.companieshouse.registeredemailaddressapi.exception.ServiceException;
@@ -24,7 +25,7 @@ public class CompanyEmailValidation implements EligibilityRule<CompanyProfileApi
 
     @Override
     public void validate(CompanyProfileApi profileToValidate) throws EligibilityException, ServiceException {
-        ApiLogger.info(String.format("Validating Company Email for: %s", profileToValidate.getCompanyNumber()));
+        ApiLogger.sampledInfo("eligibility.company-email.validating", () -> String.format("Validating Company Email for: %s", profileToValidate.getCompanyNumber()));
 
         var registeredEmailAddressJson = privateDataRetrievalService.getRegisteredEmailAddress(profileToValidate.getCompanyNumber());
 
@@ -39,6 +40,11 @@ public class CompanyEmailValidation implements EligibilityRule<CompanyProfileApi
             handleValidationFailure(profileToValidate);
         }
 
-        ApiLogger.info(String.format("Company Email validation passed for: %s", profileToValidate.getCompanyNumber()));
+        ApiLogger.sampledInfo("eligibility.company-email.passed", () -> String.format("Company Email validation passed for: %s", profileToValidate.getCompanyNumber()));
+    }
+
+    @Override
+    public EligibilityRuleCost cost() {
+        return EligibilityRuleCost.REMOTE;
     }
 }
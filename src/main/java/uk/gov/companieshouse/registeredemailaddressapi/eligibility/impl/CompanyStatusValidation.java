@@ -18,7 +18,7 @@ public class CompanyStatusValidation implements EligibilityRule<CompanyProfileAp
 
     @Override
     public void validate(CompanyProfileApi profileToValidate) throws EligibilityException {
-        ApiLogger.info(String.format("Validating Company Status for: %s", profileToValidate.getCompanyNumber()));
+        ApiLogger.sampledInfo("eligibility.company-status.validating", () -> String.format("Validating Company Status for: %s", profileToValidate.getCompanyNumber()));
         var status = profileToValidate.getCompanyStatus();
 
         if (!allowedStatuses.contains(status)) {
@@ -27,6 +27,6 @@ public class CompanyStatusValidation implements EligibilityRule<CompanyProfileAp
             throw new EligibilityException(EligibilityStatusCode.INVALID_COMPANY_STATUS, message);
         }
         
-        ApiLogger.info(String.format("Company Status validation passed for: %s", profileToValidate.getCompanyNumber()));
+        ApiLogger.sampledInfo("eligibility.company-status.passed", () -> String.format("Company Status validation passed for: %s", profileToValidate.getCompanyNumber()));
     }
 }
@@ -1,13 +1,14 @@
 package uk.gov.companieshouse.registeredemailaddressapi.eligibility.impl;
 
-import java.util.HashMap;
 import java.util.Set;
+import java.util.function.Supplier;
 
 import uk.gov.companieshouse.api.model.company.CompanyProfileApi;
 import uk.gov.companieshouse.registeredemailaddressapi.eligibility.EligibilityRule;
 import uk.gov.companieshouse.registeredemailaddressapi.eligibility.EligibilityStatusCode;
 import uk.gov.companieshouse.registeredemailaddressapi.exception.EligibilityException;
 import uk.gov.companieshouse.registeredemailaddressapi.utils.ApiLogger;
+import uk.gov.companieshouse.registeredemailaddressapi.utils.LogContext;
 
 public class CompanyTypeValidation implements EligibilityRule<CompanyProfileApi> {
 
@@ -19,16 +20,16 @@ public class CompanyTypeValidation implements EligibilityRule<CompanyProfileApi>
 
     @Override
     public void validate(CompanyProfileApi profileToValidate) throws EligibilityException {
-        var logMap = new HashMap<String, Object>();
-        logMap.put("companyProfile", profileToValidate);
-        ApiLogger.info(String.format("Validating Company Type Should Use for: %s", profileToValidate.getCompanyNumber()), logMap);
+        Supplier<LogContext> logMap = () -> LogContext.of("company_number", profileToValidate.getCompanyNumber(),
+                "company_type", profileToValidate.getType());
+        ApiLogger.sampledInfo("eligibility.company-type.validating", () -> String.format("Validating Company Type Should Use for: %s", profileToValidate.getCompanyNumber()), logMap);
 
         if (!companyTypes.contains(profileToValidate.getType())) {
             String message = String.format("company number: %s has invalid Type", profileToValidate.getCompanyNumber());
-            ApiLogger.info(message, logMap);
+            ApiLogger.info(message, logMap.get());
             throw new EligibilityException(EligibilityStatusCode.INVALID_COMPANY_TYPE, message);
         }
 
-        ApiLogger.info(String.format("Company Type validation Should Use passed for: %s", profileToValidate.getCompanyNumber()), logMap);
+        ApiLogger.sampledInfo("eligibility.company-type.passed", () -> String.format("Company Type validation Should Use passed for: %s", profileToValidate.getCompanyNumber()), logMap);
     }
 }
@@ -0,0 +1,15 @@
+package uk.gov.companieshouse.registeredemailaddressapi.exception;
+
+/**
+ * Thrown when a call to a downstream service is not made, because its circuit breaker is open or too many calls to it
+ * are already in progress, or when the call times out.
+ */
+public class DownstreamUnavailableException extends ServiceException {
+    public DownstreamUnavailableException(String message) {
+        super(message);
+    }
+
+    public DownstreamUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -63,6 +63,12 @@ public class GlobalExceptionHandler {
         return  ResponseEntity.status(HttpStatus.NOT_FOUND).body(ex.getMessage());
     }
 
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<Object> handlePreconditionFailedException(Exception ex, WebRequest webRequest) {
+
+        return  ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(ex.getMessage());
+    }
+
     @ExceptionHandler(CompanyNotFoundException.class)
     public ResponseEntity<Object> handleCompanyNotFoundException(Exception ex, WebRequest webRequest) {
 
@@ -74,6 +80,13 @@ public class GlobalExceptionHandler {
         return  ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getMessage());
     }
 
+    @ExceptionHandler(DownstreamUnavailableException.class)
+    public ResponseEntity<Object> handleDownstreamUnavailableException(Exception ex, WebRequest webRequest) {
+        logException(ex, webRequest);
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(ex.getMessage());
+    }
+
     @ExceptionHandler(ServiceException.class)
     public ResponseEntity<Object> handleServiceException(Exception ex, WebRequest webRequest) {
         logException(ex, webRequest);
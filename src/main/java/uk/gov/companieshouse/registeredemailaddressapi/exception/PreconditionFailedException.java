@@ -0,0 +1,7 @@
+package uk.gov.companieshouse.registeredemailaddressapi.exception;
+
+public class PreconditionFailedException extends Exception {
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
@@ -5,39 +5,40 @@ import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Component;
 import org.springframework.web.servlet.HandlerInterceptor;
 import org.springframework.web.servlet.HandlerMapping;
+import uk.gov.companieshouse.registeredemailaddressapi.metrics.RequestTimingFilter;
 import uk.gov.companieshouse.registeredemailaddressapi.utils.ApiLogger;
 
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-
+import java.util.concurrent.TimeUnit;
 
 import static uk.gov.companieshouse.registeredemailaddressapi.utils.Constants.ERIC_REQUEST_ID_KEY;
 
 /**
- * Logs request details before and after request handling.
+ * Logs request details before and after request handling. The duration logged is timed from the start time set by
+ * the <code>RequestTimingFilter</code>, or from <code>preHandle</code> if the request did not pass through it.
  */
 @Component
 public class LoggingInterceptor implements HandlerInterceptor {
 
-    public static final String START_TIME_KEY = "start-time";
-
     @Override
     public boolean preHandle(HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull Object handler) {
-        Long startTime = System.currentTimeMillis();
-        request.getSession().setAttribute(START_TIME_KEY, startTime);
+        if (request.getAttribute(RequestTimingFilter.START_TIME_ATTRIBUTE) == null) {
+            request.setAttribute(RequestTimingFilter.START_TIME_ATTRIBUTE, System.nanoTime());
+        }
 
-        ApiLogger.infoContext(getRequestId(request), String.format("Start of request. Method: %s Path: %s",
-                getRequestMethod(request), getRequestPath(request)), null);
+        ApiLogger.infoContext(getRequestId(request), () -> String.format("Start of request. Method: %s Path: %s",
+                getRequestMethod(request), getRequestPath(request)));
         return true;
     }
 
     @Override
     public void afterCompletion(HttpServletRequest request, HttpServletResponse response, @NonNull Object handler, Exception ex) {
-        Long startTime = (Long) request.getSession().getAttribute(START_TIME_KEY);
-        long responseTime = System.currentTimeMillis() - startTime;
+        Long elapsed = RequestTimingFilter.elapsed(request);
+        long responseTime = elapsed == null ? 0 : TimeUnit.NANOSECONDS.toMillis(elapsed);
 
-        ApiLogger.infoContext(getRequestId(request), String.format("End of request. Method: %s Path: %s Duration: %sms Status: %s",
-                getRequestMethod(request), getRequestPath(request), responseTime, response.getStatus()), null);
+        ApiLogger.infoContext(getRequestId(request), () -> String.format("End of request. Method: %s Path: %s Duration: %sms Status: %s",
+                getRequestMethod(request), getRequestPath(request), responseTime, response.getStatus()));
     }
 
     private String getRequestPath(HttpServletRequest request) {
@@ -7,7 +7,6 @@ import static uk.gov.companieshouse.registeredemailaddressapi.utils.Constants.TR
 import static uk.gov.companieshouse.registeredemailaddressapi.utils.Constants.TRANSACTION_KEY;
 
 import java.io.IOException;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.regex.Pattern;
 
@@ -22,8 +21,10 @@ import org.springframework.web.servlet.HandlerMapping;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import uk.gov.companieshouse.registeredemailaddressapi.exception.DownstreamUnavailableException;
 import uk.gov.companieshouse.registeredemailaddressapi.service.TransactionService;
 import uk.gov.companieshouse.registeredemailaddressapi.utils.ApiLogger;
+import uk.gov.companieshouse.registeredemailaddressapi.utils.LogContext;
 import uk.gov.companieshouse.sdk.manager.ApiSdkManager;
 
 /**
@@ -47,8 +48,7 @@ public class TransactionInterceptor implements HandlerInterceptor {
         final var transactionId = pathVariables.get(TRANSACTION_ID_KEY);
         String passthroughHeader = request.getHeader(ApiSdkManager.getEricPassthroughTokenHeader());
 
-        var logMap = new HashMap<String, Object>();
-        logMap.put(TRANSACTION_ID_KEY, transactionId);
+        var logMap = LogContext.of(TRANSACTION_ID_KEY, transactionId);
         String reqId = request.getHeader(ERIC_REQUEST_ID_KEY);
 
         if (!TRANSACTION_ID_PATTERN.matcher(transactionId).matches()) {
@@ -70,6 +70,11 @@ public class TransactionInterceptor implements HandlerInterceptor {
 
             request.setAttribute(TRANSACTION_KEY, transaction);
             return true;
+        } catch (DownstreamUnavailableException e) {
+            ApiLogger.errorContext(reqId, "Transactions api unavailable retrieving transaction " + transactionId, e, logMap);
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            response.getWriter().write(e.getMessage());
+            return false;
         } catch (Exception e) {
             ApiLogger.errorContext(reqId, "Error retrieving transaction " + transactionId, e, logMap);
             response.setStatus(SC_NOT_FOUND);
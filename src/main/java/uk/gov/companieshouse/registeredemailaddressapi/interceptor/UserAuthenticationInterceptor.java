@@ -3,6 +3,7 @@ package uk.gov.companieshouse.registeredemailaddressapi.interceptor;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -20,6 +21,7 @@ import uk.gov.companieshouse.api.util.security.Permission.Value;
 import uk.gov.companieshouse.api.util.security.SecurityConstants;
 import uk.gov.companieshouse.api.util.security.TokenPermissions;
 import uk.gov.companieshouse.registeredemailaddressapi.utils.ApiLogger;
+import uk.gov.companieshouse.registeredemailaddressapi.utils.LogContext;
 
 import static java.lang.String.format;
 import static uk.gov.companieshouse.registeredemailaddressapi.utils.Constants.ERIC_REQUEST_ID_KEY;
@@ -48,8 +50,7 @@ public class UserAuthenticationInterceptor implements HandlerInterceptor {
                 (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
         final var transactionId = pathVariables.get(TRANSACTION_ID_KEY);
 
-        var logMap = new HashMap<String, Object>();
-        logMap.put(TRANSACTION_ID_KEY, transactionId);
+        var logMap = LogContext.of(TRANSACTION_ID_KEY, transactionId);
         String reqId = request.getHeader(ERIC_REQUEST_ID_KEY);
 
         // skip token permission checks if an api key is used
@@ -77,19 +78,18 @@ public class UserAuthenticationInterceptor implements HandlerInterceptor {
         }
         boolean isAuthorisedForCompany = tokenPermissions.hasPermission(Key.COMPANY_NUMBER, companyNumber);
 
-        var authInfoMap = new HashMap<String, Object>();
-        authInfoMap.put(TRANSACTION_ID_KEY, transactionId);
-        authInfoMap.put("request_method", request.getMethod());
-        authInfoMap.put("has_company_registered_email_address_update_permission", hasCompanyRegisteredEmailAddressUpdatePermission);
-        authInfoMap.put("is_authorised_for_company", isAuthorisedForCompany);
+        Supplier<LogContext> authInfoMap = () -> logMap
+                .with("request_method", request.getMethod())
+                .with("has_company_registered_email_address_update_permission", hasCompanyRegisteredEmailAddressUpdatePermission)
+                .with("is_authorised_for_company", isAuthorisedForCompany);
 
         if (hasCompanyRegisteredEmailAddressUpdatePermission && isAuthorisedForCompany) {
-            ApiLogger.debugContext(reqId, format("UserAuthenticationInterceptor authorised for company %s with company_rea=update permission", companyNumber),
+            ApiLogger.debugContext(reqId, () -> format("UserAuthenticationInterceptor authorised for company %s with company_rea=update permission", companyNumber),
                     authInfoMap);
             return true;
         }
 
-        ApiLogger.errorContext(reqId, "UserAuthenticationInterceptor unauthorised", null, authInfoMap);
+        ApiLogger.errorContext(reqId, "UserAuthenticationInterceptor unauthorised", null, authInfoMap.get());
         response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
         return false;
     }
@@ -0,0 +1,21 @@
+package uk.gov.companieshouse.registeredemailaddressapi.metrics;
+
+/**
+ * The services the application calls, as they are named in the <code>dependency</code> tag of the downstream metrics.
+ */
+public enum Downstream {
+    TRANSACTIONS_API("transactions-api"),
+    COMPANY_PROFILE_API("company-profile-api"),
+    ORACLE_QUERY_API("oracle-query-api"),
+    MONGODB("mongodb");
+
+    private final String tagValue;
+
+    Downstream(String tagValue) {
+        this.tagValue = tagValue;
+    }
+
+    public String getTagValue() {
+        return tagValue;
+    }
+}
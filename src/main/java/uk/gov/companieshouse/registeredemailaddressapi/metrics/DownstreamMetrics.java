@@ -0,0 +1,125 @@
+package uk.gov.companieshouse.registeredemailaddressapi.metrics;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter.MeterProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.http.Outcome;
+import uk.gov.companieshouse.api.error.ApiErrorResponseException;
+import uk.gov.companieshouse.api.handler.exception.URIValidationException;
+import uk.gov.companieshouse.api.model.ApiResponse;
+
+/**
+ * Records the time taken by each call to a downstream service in the <code>downstream.calls</code> timer, and the
+ * number of calls to each service in progress in the <code>downstream.calls.in-flight</code> gauge.
+ * <p/>
+ * The timer is tagged with the <code>dependency</code> called, the <code>operation</code>, and the <code>status</code>
+ * code, <code>outcome</code> and <code>exception</code> of the call, so its count is the number of calls that ended
+ * with each status. Calls that got no response, such as database calls, have a status of <code>NONE</code>, and an
+ * outcome of <code>SUCCESS</code> or, if they failed, <code>UNKNOWN</code>. The percentiles and histogram published
+ * for the timer are set with the <code>management.metrics.distribution</code> properties.
+ */
+@Component
+public class DownstreamMetrics {
+
+    public static final String CALLS_METRIC = "downstream.calls";
+    public static final String IN_FLIGHT_METRIC = "downstream.calls.in-flight";
+
+    private static final String NONE = "NONE";
+
+    /**
+     * A call made with the sdk, which throws an <code>ApiErrorResponseException</code> for a response with an error
+     * status.
+     */
+    @FunctionalInterface
+    public interface SdkCall<T> {
+        ApiResponse<T> execute() throws ApiErrorResponseException, URIValidationException;
+    }
+
+    private final MeterProvider<Timer> callTimer;
+
+    private final Map<Downstream, AtomicInteger> inFlight = new EnumMap<>(Downstream.class);
+
+    public DownstreamMetrics(MeterRegistry meterRegistry) {
+        this.callTimer = Timer.builder(CALLS_METRIC)
+                .description("Calls to downstream services")
+                .withRegistry(meterRegistry);
+        for (Downstream downstream : Downstream.values()) {
+            var calls = new AtomicInteger();
+            inFlight.put(downstream, calls);
+            Gauge.builder(IN_FLIGHT_METRIC, calls, AtomicInteger::get)
+                    .description("Calls to downstream services in progress")
+                    .tag("dependency", downstream.getTagValue())
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Makes the given sdk call and records it, tagged with the status code of the response.
+     */
+    public <T> ApiResponse<T> recordSdkCall(Downstream downstream, String operation, SdkCall<T> call)
+            throws ApiErrorResponseException, URIValidationException {
+        var sample = start(downstream);
+        try {
+            var response = call.execute();
+            sample.stop(operation, response.getStatusCode(), null);
+            return response;
+        } catch (ApiErrorResponseException e) {
+            sample.stop(operation, e.getStatusCode(), null);
+            throw e;
+        } catch (URIValidationException | RuntimeException e) {
+            sample.stop(operation, null, e);
+            throw e;
+        }
+    }
+
+    /**
+     * Starts timing a call, which is counted as in progress until the returned sample is stopped.
+     */
+    public Sample start(Downstream downstream) {
+        inFlight.get(downstream).incrementAndGet();
+        return new Sample(downstream, System.nanoTime());
+    }
+
+    public final class Sample {
+
+        private final Downstream downstream;
+        private final long startTime;
+
+        private Sample(Downstream downstream, long startTime) {
+            this.downstream = downstream;
+            this.startTime = startTime;
+        }
+
+        /**
+         * @param statusCode The status code of the response, or <code>null</code> if the call got no response
+         * @param exception  The exception the call failed with, if it got no response
+         */
+        public void stop(String operation, Integer statusCode, Throwable exception) {
+            long duration = System.nanoTime() - startTime;
+            inFlight.get(downstream).decrementAndGet();
+
+            String outcome;
+            if (statusCode != null) {
+                outcome = Outcome.forStatus(statusCode).name();
+            } else {
+                outcome = exception == null ? Outcome.SUCCESS.name() : Outcome.UNKNOWN.name();
+            }
+            callTimer.withTags(Tags.of(
+                    "dependency", downstream.getTagValue(),
+                    "operation", operation,
+                    "status", statusCode == null ? NONE : String.valueOf(statusCode),
+                    "outcome", outcome,
+                    "exception", exception == null ? "none" : exception.getClass().getSimpleName()))
+                    .record(duration, TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package uk.gov.companieshouse.registeredemailaddressapi.metrics;
+
+import java.util.Map;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import uk.gov.companieshouse.registeredemailaddressapi.client.DownstreamGuard;
+
+/**
+ * Shows the guard around each downstream api at <code>/actuator/downstreams</code>: the state and failure rate of its
+ * circuit breaker, the calls in progress against the bulkhead limit, and the timeout.
+ */
+@Component
+@Endpoint(id = "downstreams")
+public class DownstreamsEndpoint {
+
+    private final DownstreamGuard downstreamGuard;
+
+    public DownstreamsEndpoint(DownstreamGuard downstreamGuard) {
+        this.downstreamGuard = downstreamGuard;
+    }
+
+    @ReadOperation
+    public Map<String, DownstreamGuard.Status> downstreams() {
+        return downstreamGuard.getStatus();
+    }
+}
@@ -0,0 +1,25 @@
+package uk.gov.companieshouse.registeredemailaddressapi.metrics;
+
+import java.util.List;
+import java.util.Map;
+
+import uk.gov.companieshouse.registeredemailaddressapi.eligibility.EligibilityRuleCost;
+
+/**
+ * A summary of the company eligibility checks made since the application started.
+ *
+ * @param checks The number of checks with each outcome
+ * @param rules  The rules, in the order they are listed in, with how often each ran and rejected a company
+ */
+public record EligibilityFunnel(Map<String, Long> checks, List<Rule> rules) {
+
+    /**
+     * @param evaluated The number of times the rule ran
+     * @param rejected  The number of times the rule rejected a company, by status code
+     * @param errors    The number of times the rule was unable to decide
+     * @param skipped   The number of times the rule was not run as the outcome had already been decided
+     */
+    public record Rule(String name, EligibilityRuleCost cost, long evaluated, long passed, Map<String, Long> rejected,
+                       long errors, long skipped, double meanMillis, double maxMillis) {
+    }
+}
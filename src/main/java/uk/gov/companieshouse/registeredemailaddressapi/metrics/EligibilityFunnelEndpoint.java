@@ -0,0 +1,28 @@
+package uk.gov.companieshouse.registeredemailaddressapi.metrics;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import uk.gov.companieshouse.registeredemailaddressapi.service.EligibilityService;
+
+/**
+ * Summarises the outcomes of the company eligibility checks made since the application started at
+ * <code>/actuator/eligibilityfunnel</code>: how many checks passed or were rejected with each status code, and for each
+ * rule, in the order they are listed in, how often it ran, passed, rejected a company, errored or was skipped.
+ */
+@Component
+@Endpoint(id = "eligibilityfunnel")
+public class EligibilityFunnelEndpoint {
+
+    private final EligibilityService eligibilityService;
+
+    public EligibilityFunnelEndpoint(EligibilityService eligibilityService) {
+        this.eligibilityService = eligibilityService;
+    }
+
+    @ReadOperation
+    public EligibilityFunnel funnel() {
+        return eligibilityService.getFunnel();
+    }
+}
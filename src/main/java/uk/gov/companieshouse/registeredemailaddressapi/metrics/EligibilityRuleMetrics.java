@@ -0,0 +1,134 @@
+package uk.gov.companieshouse.registeredemailaddressapi.metrics;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import uk.gov.companieshouse.registeredemailaddressapi.eligibility.EligibilityRule;
+import uk.gov.companieshouse.registeredemailaddressapi.eligibility.EligibilityRuleCost;
+import uk.gov.companieshouse.registeredemailaddressapi.eligibility.EligibilityStatusCode;
+
+/**
+ * Records how long each eligibility rule takes and the outcome of each time it runs, and the outcome of each company
+ * eligibility check as a whole.
+ * <p/>
+ * Outcomes are tagged with a <code>status</code>, which is the <code>EligibilityStatusCode</code> a rule rejected the
+ * company with, <code>COMPANY_VALID_FOR_SERVICE</code> if it passed, or <code>ERROR</code> if it was unable to
+ * decide. The meters for each rule are created up front, so recording an outcome only looks them up by the position of
+ * the rule in the list.
+ */
+public class EligibilityRuleMetrics {
+
+    public static final String RULE_DURATION_METRIC = "eligibility.rule.duration";
+    public static final String RULE_OUTCOMES_METRIC = "eligibility.rule.outcomes";
+    public static final String RULE_SKIPPED_METRIC = "eligibility.rule.skipped";
+    public static final String CHECKS_METRIC = "eligibility.checks";
+
+    public static final String PASSED = EligibilityStatusCode.COMPANY_VALID_FOR_SERVICE.name();
+    public static final String ERROR = "ERROR";
+
+    private static final List<String> STATUSES = statuses();
+
+    private final List<RuleMeters> ruleMeters = new ArrayList<>();
+
+    private final Map<String, Counter> checks = new LinkedHashMap<>();
+
+    public EligibilityRuleMetrics(List<? extends EligibilityRule<?>> rules, MeterRegistry meterRegistry) {
+        for (EligibilityRule<?> rule : rules) {
+            Map<String, Counter> outcomes = new LinkedHashMap<>();
+            for (String status : STATUSES) {
+                outcomes.put(status, Counter.builder(RULE_OUTCOMES_METRIC)
+                        .description("Eligibility rule outcomes")
+                        .tag("rule", rule.name())
+                        .tag("status", status)
+                        .register(meterRegistry));
+            }
+            ruleMeters.add(new RuleMeters(rule.name(), rule.cost(),
+                    Timer.builder(RULE_DURATION_METRIC)
+                            .description("Time taken by eligibility rules")
+                            .tag("rule", rule.name())
+                            .register(meterRegistry),
+                    outcomes,
+                    Counter.builder(RULE_SKIPPED_METRIC)
+                            .description("Eligibility rules not run because the outcome was already decided")
+                            .tag("rule", rule.name())
+                            .register(meterRegistry)));
+        }
+        for (String status : STATUSES) {
+            checks.put(status, Counter.builder(CHECKS_METRIC)
+                    .description("Company eligibility check outcomes")
+                    .tag("status", status)
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * @param ruleIndex The position of the rule in the list of rules
+     * @param status    The outcome of the rule
+     * @param duration  The time the rule took, in nanoseconds
+     */
+    public void recordRule(int ruleIndex, String status, long duration) {
+        var meters = ruleMeters.get(ruleIndex);
+        meters.duration().record(duration, TimeUnit.NANOSECONDS);
+        meters.outcomes().get(status).increment();
+    }
+
+    public void recordSkipped(int ruleIndex) {
+        ruleMeters.get(ruleIndex).skipped().increment();
+    }
+
+    public void recordCheck(String status) {
+        checks.get(status).increment();
+    }
+
+    /**
+     * @return The outcomes recorded so far, with the rules in list order
+     */
+    public EligibilityFunnel funnel() {
+        List<EligibilityFunnel.Rule> rules = new ArrayList<>();
+        for (RuleMeters meters : ruleMeters) {
+            Map<String, Long> rejected = new LinkedHashMap<>();
+            meters.outcomes().forEach((status, counter) -> {
+                if (!PASSED.equals(status) && !ERROR.equals(status) && counter.count() > 0) {
+                    rejected.put(status, (long) counter.count());
+                }
+            });
+            rules.add(new EligibilityFunnel.Rule(
+                    meters.name(),
+                    meters.cost(),
+                    meters.duration().count(),
+                    (long) meters.outcomes().get(PASSED).count(),
+                    rejected,
+                    (long) meters.outcomes().get(ERROR).count(),
+                    (long) meters.skipped().count(),
+                    meters.duration().mean(TimeUnit.MILLISECONDS),
+                    meters.duration().max(TimeUnit.MILLISECONDS)));
+        }
+
+        Map<String, Long> checkOutcomes = new LinkedHashMap<>();
+        checks.forEach((status, counter) -> {
+            if (counter.count() > 0) {
+                checkOutcomes.put(status, (long) counter.count());
+            }
+        });
+        return new EligibilityFunnel(checkOutcomes, rules);
+    }
+
+    private static List<String> statuses() {
+        List<String> statuses = new ArrayList<>();
+        for (EligibilityStatusCode statusCode : EligibilityStatusCode.values()) {
+            statuses.add(statusCode.name());
+        }
+        statuses.add(ERROR);
+        return List.copyOf(statuses);
+    }
+
+    private record RuleMeters(String name, EligibilityRuleCost cost, Timer duration, Map<String, Counter> outcomes,
+                              Counter skipped) {
+    }
+}
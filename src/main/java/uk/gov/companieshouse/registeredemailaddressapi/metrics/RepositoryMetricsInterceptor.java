@@ -0,0 +1,36 @@
+package uk.gov.companieshouse.registeredemailaddressapi.metrics;
+
+import java.util.function.Supplier;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+/**
+ * Records every call to a repository method as a call to Mongo, with the method name as the operation.
+ */
+public class RepositoryMetricsInterceptor implements MethodInterceptor {
+
+    private final Supplier<DownstreamMetrics> downstreamMetrics;
+
+    public RepositoryMetricsInterceptor(Supplier<DownstreamMetrics> downstreamMetrics) {
+        this.downstreamMetrics = downstreamMetrics;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        var method = invocation.getMethod();
+        if (method.getDeclaringClass() == Object.class) {
+            return invocation.proceed();
+        }
+
+        var sample = downstreamMetrics.get().start(Downstream.MONGODB);
+        try {
+            var result = invocation.proceed();
+            sample.stop(method.getName(), null, null);
+            return result;
+        } catch (Throwable t) {
+            sample.stop(method.getName(), null, t);
+            throw t;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package uk.gov.companieshouse.registeredemailaddressapi.metrics;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.util.function.SingletonSupplier;
+
+/**
+ * Adds a {@link RepositoryMetricsInterceptor} to every Spring Data repository as it is created.
+ * <p/>
+ * The metrics are looked up on the first repository call, rather than injected, as a bean post processor is created
+ * before the other beans and anything it depends on would miss being post processed.
+ */
+@Component
+public class RepositoryMetricsPostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<DownstreamMetrics> downstreamMetrics;
+
+    public RepositoryMetricsPostProcessor(ObjectProvider<DownstreamMetrics> downstreamMetrics) {
+        this.downstreamMetrics = downstreamMetrics;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(@NonNull Object bean, @NonNull String beanName) {
+        if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> repositoryFactoryBean) {
+            var interceptor = new RepositoryMetricsInterceptor(SingletonSupplier.of(downstreamMetrics::getObject));
+            repositoryFactoryBean.addRepositoryFactoryCustomizer(repositoryFactory ->
+                    repositoryFactory.addRepositoryProxyPostProcessor((proxyFactory, repositoryInformation) ->
+                            proxyFactory.addAdvice(interceptor)));
+        }
+        return bean;
+    }
+}
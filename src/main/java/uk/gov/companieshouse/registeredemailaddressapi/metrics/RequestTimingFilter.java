@@ -0,0 +1,103 @@
+package uk.gov.companieshouse.registeredemailaddressapi.metrics;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.Meter.MeterProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Times each request from when it reaches the application until its response is complete, and records the time in
+ * the <code>api.requests</code> timer, tagged with the <code>method</code>, the <code>route</code> pattern the request
+ * matched and the response <code>status</code>. Requests that matched no route have a route of <code>UNMATCHED</code>.
+ * <p/>
+ * The start time is kept in the <code>start-time</code> request attribute, in nanoseconds from
+ * <code>System.nanoTime</code>, for the <code>LoggingInterceptor</code> to log the duration. No session is created.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RequestTimingFilter extends OncePerRequestFilter {
+
+    public static final String REQUESTS_METRIC = "api.requests";
+    public static final String START_TIME_ATTRIBUTE = "start-time";
+
+    private static final String UNMATCHED = "UNMATCHED";
+
+    private final MeterProvider<Timer> requestTimer;
+
+    public RequestTimingFilter(MeterRegistry meterRegistry) {
+        this.requestTimer = Timer.builder(REQUESTS_METRIC)
+                .description("Requests handled, by route")
+                .withRegistry(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        long startTime = System.nanoTime();
+        request.setAttribute(START_TIME_ATTRIBUTE, startTime);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        record(request, response, startTime);
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                        // recorded on completion
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                        // recorded on completion
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                        // recorded on completion
+                    }
+                });
+            } else {
+                record(request, response, startTime);
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, HttpServletResponse response, long startTime) {
+        Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        requestTimer.withTags(Tags.of(
+                "method", request.getMethod(),
+                "route", route == null ? UNMATCHED : route.toString(),
+                "status", String.valueOf(response.getStatus())))
+                .record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @return The time the request has taken so far, in nanoseconds, or <code>null</code> if it was not timed
+     */
+    public static Long elapsed(HttpServletRequest request) {
+        if (request.getAttribute(START_TIME_ATTRIBUTE) instanceof Long startTime) {
+            return System.nanoTime() - startTime;
+        }
+        return null;
+    }
+}
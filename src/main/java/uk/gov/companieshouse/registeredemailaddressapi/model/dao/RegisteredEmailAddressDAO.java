@@ -26,6 +26,8 @@ public class RegisteredEmailAddressDAO {
     private String lastModifiedByUserId;
     @Field("http_request_id")
     private String httpRequestId;
+    @Field("validation_status")
+    private ValidationStatusData validationStatus;
 
     public String getId() {
         return id;
@@ -90,4 +92,12 @@ public class RegisteredEmailAddressDAO {
         this.httpRequestId = httpRequestId;
     }
 
+    public ValidationStatusData getValidationStatus() {
+        return validationStatus;
+    }
+
+    public void setValidationStatus(ValidationStatusData validationStatus) {
+        this.validationStatus = validationStatus;
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,40 @@
+package uk.gov.companieshouse.registeredemailaddressapi.model.dao;
+
+import org.springframework.data.mongodb.core.mapping.Field;
+
+import uk.gov.companieshouse.api.model.validationstatus.ValidationStatusResponse;
+
+/**
+ * The result of validating a submission, along with the etag of the submission that was validated. The result only
+ * applies while the submission still has that etag.
+ */
+public class ValidationStatusData {
+    @Field("etag")
+    private String etag;
+    @Field("response")
+    private ValidationStatusResponse validationStatusResponse;
+
+    public ValidationStatusData() {
+    }
+
+    public ValidationStatusData(String etag, ValidationStatusResponse validationStatusResponse) {
+        this.etag = etag;
+        this.validationStatusResponse = validationStatusResponse;
+    }
+
+    public String getEtag() {
+        return etag;
+    }
+
+    public void setEtag(String etag) {
+        this.etag = etag;
+    }
+
+    public ValidationStatusResponse getValidationStatusResponse() {
+        return validationStatusResponse;
+    }
+
+    public void setValidationStatusResponse(ValidationStatusResponse validationStatusResponse) {
+        this.validationStatusResponse = validationStatusResponse;
+    }
+}
@@ -0,0 +1,29 @@
+package uk.gov.companieshouse.registeredemailaddressapi.model.dto;
+
+import static uk.gov.companieshouse.registeredemailaddressapi.utils.Constants.COMPANY_NUMBER_REGEX;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+
+public class BulkEligibilityRequestDTO {
+
+    public static final int MAX_COMPANY_NUMBERS = 1000;
+
+    @NotEmpty(message = "company_numbers must not be empty")
+    @Size(max = MAX_COMPANY_NUMBERS, message = "company_numbers must not contain more than " + MAX_COMPANY_NUMBERS + " entries")
+    @JsonProperty("company_numbers")
+    private List<@Pattern(regexp = COMPANY_NUMBER_REGEX, message = "Invalid company number") String> companyNumbers;
+
+    public List<String> getCompanyNumbers() {
+        return companyNumbers;
+    }
+
+    public void setCompanyNumbers(List<String> companyNumbers) {
+        this.companyNumbers = companyNumbers;
+    }
+}
@@ -7,7 +7,8 @@ import uk.gov.companieshouse.registeredemailaddressapi.model.dao.RegisteredEmail
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface RegisteredEmailAddressRepository extends MongoRepository<RegisteredEmailAddressDAO, String> {
+public interface RegisteredEmailAddressRepository extends MongoRepository<RegisteredEmailAddressDAO, String>,
+        RegisteredEmailAddressRepositoryCustom {
 
     @Query("{transaction_id:'?0'}")
     RegisteredEmailAddressDAO findByTransactionId(String transactionId);
@@ -0,0 +1,38 @@
+package uk.gov.companieshouse.registeredemailaddressapi.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+import uk.gov.companieshouse.registeredemailaddressapi.model.dao.RegisteredEmailAddressDAO;
+import uk.gov.companieshouse.registeredemailaddressapi.model.dao.ValidationStatusData;
+
+public interface RegisteredEmailAddressRepositoryCustom {
+
+    /**
+     * Sets the registered email address and statement acceptance of the submission for a transaction, along with its
+     * new etag and who changed it and when, in a single atomic update. No other field of the submission is written.
+     * <p/>
+     * Any stored validation status is removed, as it no longer applies.
+     * <p/>
+     * When <code>expectedEtags</code> is given the submission is only updated if its current etag is one of them, so
+     * an update based on a submission that has changed since it was read is never applied.
+     *
+     * @return The submission as it is after the update, or <code>null</code> if there is no submission for the
+     * transaction with an expected etag
+     */
+    RegisteredEmailAddressDAO updateRegisteredEmailAddress(String transactionId,
+                                                           Collection<String> expectedEtags,
+                                                           String registeredEmailAddress,
+                                                           boolean acceptAppropriateEmailAddressStatement,
+                                                           String etag,
+                                                           String lastModifiedByUserId,
+                                                           LocalDateTime updatedAt);
+
+    /**
+     * Stores the validation status on the submission for a transaction, but only if the submission still has the etag
+     * that the status was worked out for.
+     *
+     * @return <code>true</code> if the status was stored
+     */
+    boolean saveValidationStatus(String transactionId, ValidationStatusData validationStatus);
+}
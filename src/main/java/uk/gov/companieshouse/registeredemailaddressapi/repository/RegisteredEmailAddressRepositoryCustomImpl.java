@@ -0,0 +1,58 @@
+package uk.gov.companieshouse.registeredemailaddressapi.repository;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import uk.gov.companieshouse.registeredemailaddressapi.model.dao.RegisteredEmailAddressDAO;
+import uk.gov.companieshouse.registeredemailaddressapi.model.dao.ValidationStatusData;
+
+public class RegisteredEmailAddressRepositoryCustomImpl implements RegisteredEmailAddressRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Autowired
+    public RegisteredEmailAddressRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public RegisteredEmailAddressDAO updateRegisteredEmailAddress(String transactionId,
+                                                                  Collection<String> expectedEtags,
+                                                                  String registeredEmailAddress,
+                                                                  boolean acceptAppropriateEmailAddressStatement,
+                                                                  String etag,
+                                                                  String lastModifiedByUserId,
+                                                                  LocalDateTime updatedAt) {
+        var query = Query.query(where("transaction_id").is(transactionId));
+        if (expectedEtags != null) {
+            query.addCriteria(where("data.etag").in(expectedEtags));
+        }
+        var update = new Update()
+                .set("data.registered_email_address", registeredEmailAddress)
+                .set("data.accept_appropriate_email_address_statement", acceptAppropriateEmailAddressStatement)
+                .set("data.etag", etag)
+                .set("last_modified_by_user_id", lastModifiedByUserId)
+                .set("updated_at", updatedAt)
+                .unset("validation_status");
+
+        return mongoTemplate.findAndModify(query, update, FindAndModifyOptions.options().returnNew(true),
+                RegisteredEmailAddressDAO.class);
+    }
+
+    @Override
+    public boolean saveValidationStatus(String transactionId, ValidationStatusData validationStatus) {
+        var query = Query.query(where("transaction_id").is(transactionId)
+                .and("data.etag").is(validationStatus.getEtag()));
+        var update = new Update().set("validation_status", validationStatus);
+
+        return mongoTemplate.updateFirst(query, update, RegisteredEmailAddressDAO.class).getModifiedCount() > 0;
+    }
+}
@@ -0,0 +1,110 @@
+package uk.gov.companieshouse.registeredemailaddressapi.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.function.BiConsumer;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import uk.gov.companieshouse.registeredemailaddressapi.eligibility.EligibilityStatusCode;
+import uk.gov.companieshouse.registeredemailaddressapi.exception.CompanyNotFoundException;
+import uk.gov.companieshouse.registeredemailaddressapi.exception.ServiceException;
+import uk.gov.companieshouse.registeredemailaddressapi.utils.ApiLogger;
+
+@Service
+public class BulkEligibilityService implements DisposableBean {
+
+    private final CompanyProfileService companyProfileService;
+
+    private final EligibilityService eligibilityService;
+
+    private final ExecutorService companyExecutor;
+
+    private final int parallelism;
+
+    @Autowired
+    public BulkEligibilityService(CompanyProfileService companyProfileService,
+                                  EligibilityService eligibilityService,
+                                  @Qualifier("bulk-eligibility-thread-factory") ThreadFactory companyThreadFactory,
+                                  @Value("${eligibility.bulk.parallelism:16}") int parallelism) {
+        this.companyProfileService = companyProfileService;
+        this.eligibilityService = eligibilityService;
+        this.companyExecutor = Executors.newThreadPerTaskExecutor(companyThreadFactory);
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Checks the eligibility of each of the companies, with no more than the configured number of companies being
+     * checked at the same time. Each result is passed to the consumer on the calling thread as soon as it is available,
+     * so results arrive in the order the checks complete rather than the order of the company numbers.
+     * <p/>
+     * A <code>null</code> status code means that the eligibility of the company could not be checked. If the consumer
+     * throws, the checks not yet started are cancelled and the exception is rethrown.
+     *
+     * @param companyNumbers The numbers of the companies to check
+     * @param requestId The id of the request, used for logging
+     * @param resultConsumer Receives the company number and status code of each company once checked
+     * @throws InterruptedException If the calling thread is interrupted while waiting for a result
+     */
+    public void checkCompanyEligibility(Collection<String> companyNumbers, String requestId,
+                                        BiConsumer<String, EligibilityStatusCode> resultConsumer) throws InterruptedException {
+        var completionService = new ExecutorCompletionService<CompanyOutcome>(companyExecutor);
+        List<Future<CompanyOutcome>> futures = new ArrayList<>(companyNumbers.size());
+        var remaining = companyNumbers.iterator();
+        int inFlight = 0;
+        try {
+            while (remaining.hasNext() || inFlight > 0) {
+                while (inFlight < parallelism && remaining.hasNext()) {
+                    var companyNumber = remaining.next();
+                    futures.add(completionService.submit(
+                            () -> new CompanyOutcome(companyNumber, checkCompanyEligibility(companyNumber, requestId))));
+                    inFlight++;
+                }
+                var outcome = completionService.take().get();
+                inFlight--;
+                resultConsumer.accept(outcome.companyNumber(), outcome.eligibilityStatusCode());
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Error checking company eligibility", e.getCause());
+        } finally {
+            for (Future<CompanyOutcome> future : futures) {
+                // a check already running is left to finish, as the calls it makes may be shared with other requests
+                future.cancel(false);
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        companyExecutor.shutdownNow();
+    }
+
+    private EligibilityStatusCode checkCompanyEligibility(String companyNumber, String requestId) {
+        try {
+            var companyProfile = companyProfileService.getCompanyProfile(companyNumber);
+            return eligibilityService.checkCompanyEligibility(companyProfile).getEligibilityStatusCode();
+        } catch (CompanyNotFoundException e) {
+            return EligibilityStatusCode.COMPANY_NOT_FOUND;
+        } catch (ServiceException | RuntimeException e) {
+            var logMap = new HashMap<String, Object>();
+            logMap.put("company_number", companyNumber);
+            ApiLogger.errorContext(requestId, "Error checking eligibility of company.", e, logMap);
+            return null;
+        }
+    }
+
+    private record CompanyOutcome(String companyNumber, EligibilityStatusCode eligibilityStatusCode) {
+    }
+}
@@ -1,37 +1,104 @@
 package uk.gov.companieshouse.registeredemailaddressapi.service;
 
+import java.util.concurrent.CompletionException;
+
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import uk.gov.companieshouse.api.error.ApiErrorResponseException;
 import uk.gov.companieshouse.api.handler.exception.URIValidationException;
 import uk.gov.companieshouse.api.model.company.CompanyProfileApi;
 import uk.gov.companieshouse.registeredemailaddressapi.client.ApiClientService;
+import uk.gov.companieshouse.registeredemailaddressapi.client.DownstreamGuard;
 import uk.gov.companieshouse.registeredemailaddressapi.exception.CompanyNotFoundException;
 import uk.gov.companieshouse.registeredemailaddressapi.exception.ServiceException;
+import uk.gov.companieshouse.registeredemailaddressapi.metrics.Downstream;
+import uk.gov.companieshouse.registeredemailaddressapi.utils.SingleFlight;
 
 @Service
 public class CompanyProfileService {
 
     private static final String EXCEPTION_MESSAGE = "Error Retrieving Company Profile for company number %s";
     private static final String EXCEPTION_MESSAGE_WITH_HTTP_CODE = EXCEPTION_MESSAGE + ", http status code %s";
+    private static final String CACHE_NAME = "company-profile";
+    private static final String NOT_FOUND_CACHE_NAME = "company-not-found";
 
     private final ApiClientService apiClientService;
 
+    private final DownstreamGuard downstreamGuard;
+
+    private final LoadingCache<String, CompanyProfileApi> companyProfileCache;
+
+    private final Cache<String, Boolean> companyNotFoundCache;
+
+    private final SingleFlight<String, CompanyProfileApi> companyProfileRequests = new SingleFlight<>();
+
     @Autowired
-    public CompanyProfileService(ApiClientService apiClientService) {
+    public CompanyProfileService(ApiClientService apiClientService,
+                                 DownstreamGuard downstreamGuard,
+                                 @Qualifier("company-profile-cache") Caffeine<Object, Object> companyProfileCacheBuilder,
+                                 @Qualifier("company-not-found-cache") Caffeine<Object, Object> companyNotFoundCacheBuilder,
+                                 MeterRegistry meterRegistry) {
         this.apiClientService = apiClientService;
+        this.downstreamGuard = downstreamGuard;
+        this.companyProfileCache = companyProfileCacheBuilder.build(this::retrieveCompanyProfile);
+        this.companyNotFoundCache = companyNotFoundCacheBuilder.build();
+        CaffeineCacheMetrics.monitor(meterRegistry, companyProfileCache, CACHE_NAME);
+        CaffeineCacheMetrics.monitor(meterRegistry, companyNotFoundCache, NOT_FOUND_CACHE_NAME);
     }
 
     public CompanyProfileApi getCompanyProfile(String companyNumber) throws ServiceException, CompanyNotFoundException {
+        if (companyNotFoundCache.getIfPresent(companyNumber) != null) {
+            throw new CompanyNotFoundException(String.format(EXCEPTION_MESSAGE, companyNumber));
+        }
+        var companyProfile = companyProfileCache.getIfPresent(companyNumber);
+        if (companyProfile != null) {
+            return companyProfile;
+        }
+        try {
+            // concurrent callers for the same company share a single call, including its failure. The call is not
+            // made through companyProfileCache.get, which blocks inside a synchronized map update and would pin the
+            // carrier of a virtual thread for the whole call
+            return companyProfileRequests.execute(companyNumber, () -> loadCompanyProfile(companyNumber));
+        } catch (CompletionException e) {
+            // checked exceptions thrown by the call are wrapped
+            if (e.getCause() instanceof CompanyNotFoundException companyNotFoundException) {
+                throw companyNotFoundException;
+            }
+            if (e.getCause() instanceof ServiceException serviceException) {
+                throw serviceException;
+            }
+            throw e;
+        }
+    }
+
+    private CompanyProfileApi loadCompanyProfile(String companyNumber) throws ServiceException, CompanyNotFoundException {
+        var companyProfile = retrieveCompanyProfile(companyNumber);
+        if (companyProfile != null) {
+            companyProfileCache.put(companyNumber, companyProfile);
+        }
+        return companyProfile;
+    }
+
+    private CompanyProfileApi retrieveCompanyProfile(String companyNumber) throws ServiceException, CompanyNotFoundException {
         try {
             var uri = "/company/" + companyNumber;
-            return apiClientService.getApiKeyAuthenticatedClient().company().get(uri).execute().getData();
+            var companyResourceHandler = apiClientService.getApiKeyAuthenticatedClient().company();
+            return downstreamGuard.callHedged(Downstream.COMPANY_PROFILE_API, "get-company-profile",
+                    () -> companyResourceHandler.get(uri).execute()).getData();
         } catch (URIValidationException e) {
             throw new ServiceException(String.format(EXCEPTION_MESSAGE, companyNumber), e);
         } catch (ApiErrorResponseException e) {
             if (HttpStatus.NOT_FOUND.value() == e.getStatusCode()) {
+                companyNotFoundCache.put(companyNumber, Boolean.TRUE);
                 throw new CompanyNotFoundException(String.format(EXCEPTION_MESSAGE, companyNumber), e);
             }
             var message = String.format(
@@ -1,39 +1,72 @@
 package uk.gov.companieshouse.registeredemailaddressapi.service;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicIntegerArray;
 
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import uk.gov.companieshouse.api.model.company.CompanyProfileApi;
 import uk.gov.companieshouse.registeredemailaddressapi.eligibility.EligibilityRule;
+import uk.gov.companieshouse.registeredemailaddressapi.eligibility.EligibilityRuleCost;
 import uk.gov.companieshouse.registeredemailaddressapi.eligibility.EligibilityStatusCode;
 import uk.gov.companieshouse.registeredemailaddressapi.exception.CompanyNotFoundException;
 import uk.gov.companieshouse.registeredemailaddressapi.exception.EligibilityException;
 import uk.gov.companieshouse.registeredemailaddressapi.exception.ServiceException;
+import uk.gov.companieshouse.registeredemailaddressapi.metrics.EligibilityFunnel;
+import uk.gov.companieshouse.registeredemailaddressapi.metrics.EligibilityRuleMetrics;
 import uk.gov.companieshouse.registeredemailaddressapi.model.response.CompanyValidationResponse;
 import uk.gov.companieshouse.registeredemailaddressapi.utils.ApiLogger;
 
 @Service
-public class EligibilityService {
+public class EligibilityService implements DisposableBean {
+
+    private static final String REMOTE_RULES_SKIPPED_METRIC = "eligibility.rules.remote.skipped";
 
     private final List<EligibilityRule<CompanyProfileApi>> eligibilityRules;
 
     private final CompanyProfileService companyProfileService;
 
+    private final ExecutorService ruleExecutor;
+
+    private final boolean parallelRuleEvaluation;
+
+    private final Counter remoteRulesSkipped;
+
+    private final EligibilityRuleMetrics ruleMetrics;
+
     @Autowired
-    public EligibilityService(@Qualifier("rea-update-eligibility-rules") List<EligibilityRule<CompanyProfileApi>> eligibilityRules, CompanyProfileService companyProfileService){
+    public EligibilityService(@Qualifier("rea-update-eligibility-rules") List<EligibilityRule<CompanyProfileApi>> eligibilityRules,
+                              CompanyProfileService companyProfileService,
+                              @Qualifier("eligibility-rule-thread-factory") ThreadFactory ruleThreadFactory,
+                              @Value("${eligibility.rules.parallel:false}") boolean parallelRuleEvaluation,
+                              MeterRegistry meterRegistry) {
         this.eligibilityRules = eligibilityRules;
         this.companyProfileService = companyProfileService;
+        this.ruleExecutor = Executors.newThreadPerTaskExecutor(ruleThreadFactory);
+        this.parallelRuleEvaluation = parallelRuleEvaluation;
+        this.remoteRulesSkipped = Counter.builder(REMOTE_RULES_SKIPPED_METRIC)
+                .description("Remote eligibility rules not run because a local rule had already decided the outcome")
+                .register(meterRegistry);
+        this.ruleMetrics = new EligibilityRuleMetrics(eligibilityRules, meterRegistry);
     }
 
     public boolean checkCompanyEligibility(String companyNumber) throws ServiceException, CompanyNotFoundException, EligibilityException {
         var companyProfile = companyProfileService.getCompanyProfile(companyNumber);
 
-        for (EligibilityRule<CompanyProfileApi> eligibilityRule : eligibilityRules) {
-            eligibilityRule.validate(companyProfile);
-        }
+        validate(companyProfile);
 
         return true;
     }
@@ -41,15 +74,236 @@ public class EligibilityService {
     public CompanyValidationResponse checkCompanyEligibility(CompanyProfileApi companyProfile) throws ServiceException {
         var response = new CompanyValidationResponse();
         try {
-            for (EligibilityRule<CompanyProfileApi> eligibilityRule : eligibilityRules) {
-                eligibilityRule.validate(companyProfile);
-            }
+            validate(companyProfile);
         } catch (EligibilityException e) {
-            ApiLogger.info(String.format("Company %s ineligible to use the service because %s",  companyProfile.getCompanyNumber(), e.getEligibilityStatusCode()));
+            ApiLogger.info(() -> String.format("Company %s ineligible to use the service because %s",  companyProfile.getCompanyNumber(), e.getEligibilityStatusCode()));
             response.setEligibilityStatusCode(e.getEligibilityStatusCode());
             return response;
         }
         response.setEligibilityStatusCode(EligibilityStatusCode.COMPANY_VALID_FOR_SERVICE);
         return response;
     }
+
+    /**
+     * @return The outcomes of the eligibility checks made so far, and of each rule they ran
+     */
+    public EligibilityFunnel getFunnel() {
+        return ruleMetrics.funnel();
+    }
+
+    private void validate(CompanyProfileApi companyProfile) throws EligibilityException, ServiceException {
+        try {
+            validateRules(companyProfile);
+            ruleMetrics.recordCheck(EligibilityRuleMetrics.PASSED);
+        } catch (EligibilityException e) {
+            ruleMetrics.recordCheck(e.getEligibilityStatusCode().name());
+            throw e;
+        } catch (ServiceException | RuntimeException e) {
+            ruleMetrics.recordCheck(EligibilityRuleMetrics.ERROR);
+            throw e;
+        }
+    }
+
+    /**
+     * Runs the cheap local rules first, on the calling thread, and then only the remote rules that can still change the
+     * outcome. The outcome is the same as running every rule in list order: once a local rule has failed, a remote
+     * rule placed before it in the list still has to run, as its failure would take priority, but remote rules placed
+     * after it cannot change the outcome and are skipped.
+     * <p/>
+     * No remote rule is started until the local rules have finished, so a company that a local rule rejects never
+     * costs a remote call. When parallel evaluation is on, the remote rules left to run are then run at the same time,
+     * which only makes a difference when more than one of them is left.
+     */
+    private void validateRules(CompanyProfileApi companyProfile) throws EligibilityException, ServiceException {
+        var localFailure = validateLocalRules(companyProfile);
+        int decidingIndex = localFailure == null ? eligibilityRules.size() : localFailure.index();
+
+        List<Integer> remoteRules = new ArrayList<>();
+        for (int i = 0; i < eligibilityRules.size(); i++) {
+            if (eligibilityRules.get(i).cost() == EligibilityRuleCost.REMOTE) {
+                if (i < decidingIndex) {
+                    remoteRules.add(i);
+                } else {
+                    remoteRulesSkipped.increment();
+                }
+            }
+        }
+        recordSkippedAfter(decidingIndex);
+
+        if (parallelRuleEvaluation && remoteRules.size() > 1) {
+            validateConcurrently(remoteRules, companyProfile);
+        } else {
+            for (int i = 0; i < remoteRules.size(); i++) {
+                var outcome = evaluate(remoteRules.get(i), companyProfile);
+                if (outcome.failure() != null) {
+                    for (int j = i + 1; j < remoteRules.size(); j++) {
+                        ruleMetrics.recordSkipped(remoteRules.get(j));
+                    }
+                    throwFailure(outcome.failure());
+                }
+            }
+        }
+
+        if (localFailure != null) {
+            throwFailure(localFailure.failure());
+        }
+    }
+
+    /**
+     * Runs the given rules at the same time, each on its own thread. The outcome is the same as running the rules one
+     * after another in list order: the failure reported is the one from the first failing rule in the list, so the
+     * result is decided as soon as a rule has failed and all of the rules before it have passed. Rules after a failed
+     * rule can no longer change the outcome, so those not yet started are cancelled, and those already running are
+     * no longer waited for.
+     * <p/>
+     * Outcomes are recorded on the calling thread as they are taken. A rule is only recorded as skipped if it was
+     * cancelled before it started, so a rule still running when the result was decided is not recorded at all.
+     *
+     * @param rules The indexes of the rules to run, in list order
+     */
+    private void validateConcurrently(List<Integer> rules, CompanyProfileApi companyProfile)
+            throws EligibilityException, ServiceException {
+        var completionService = new ExecutorCompletionService<RuleOutcome>(ruleExecutor);
+        List<Future<RuleOutcome>> futures = new ArrayList<>(rules.size());
+        // a running rule can still be cancelled, without being interrupted, so whether it ran is tracked separately
+        var started = new AtomicIntegerArray(rules.size());
+        for (int i = 0; i < rules.size(); i++) {
+            final int index = i;
+            final var eligibilityRule = eligibilityRules.get(rules.get(i));
+            futures.add(completionService.submit(() -> {
+                started.set(index, 1);
+                long startTime = System.nanoTime();
+                try {
+                    eligibilityRule.validate(companyProfile);
+                    return new RuleOutcome(index, null, System.nanoTime() - startTime);
+                } catch (EligibilityException | ServiceException | RuntimeException e) {
+                    return new RuleOutcome(index, e, System.nanoTime() - startTime);
+                }
+            }));
+        }
+
+        var passed = new boolean[rules.size()];
+        var recorded = new boolean[rules.size()];
+        int firstUndecided = 0;
+        RuleOutcome firstFailure = null;
+        try {
+            while (firstUndecided < (firstFailure == null ? rules.size() : firstFailure.index())) {
+                var future = completionService.take();
+                if (future.isCancelled()) {
+                    continue;
+                }
+                var outcome = future.get();
+                record(rules.get(outcome.index()), outcome);
+                recorded[outcome.index()] = true;
+                if (outcome.failure() == null) {
+                    passed[outcome.index()] = true;
+                } else if (firstFailure == null || outcome.index() < firstFailure.index()) {
+                    firstFailure = outcome;
+                    cancelFrom(futures, firstFailure.index() + 1);
+                }
+                while (firstUndecided < passed.length && passed[firstUndecided]) {
+                    firstUndecided++;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceException("Interrupted while checking company eligibility", e);
+        } catch (ExecutionException e) {
+            throw new ServiceException("Error checking company eligibility", e.getCause());
+        } finally {
+            cancelFrom(futures, 0);
+            for (int i = 0; i < recorded.length; i++) {
+                if (!recorded[i] && started.get(i) == 0) {
+                    ruleMetrics.recordSkipped(rules.get(i));
+                }
+            }
+        }
+
+        if (firstFailure != null) {
+            throwFailure(firstFailure.failure());
+        }
+    }
+
+    /**
+     * Runs the local rules in list order, on the calling thread, until one fails.
+     *
+     * @return The outcome of the first local rule to fail, or <code>null</code> if they all passed
+     */
+    private RuleOutcome validateLocalRules(CompanyProfileApi companyProfile) {
+        for (int i = 0; i < eligibilityRules.size(); i++) {
+            if (eligibilityRules.get(i).cost() != EligibilityRuleCost.LOCAL) {
+                continue;
+            }
+            var outcome = evaluate(i, companyProfile);
+            if (outcome.failure() != null) {
+                return outcome;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Records the rules after the one that decided the outcome as skipped.
+     */
+    private void recordSkippedAfter(int decidingIndex) {
+        for (int i = decidingIndex + 1; i < eligibilityRules.size(); i++) {
+            ruleMetrics.recordSkipped(i);
+        }
+    }
+
+    /**
+     * Runs the rule at the given index and records its outcome.
+     */
+    private RuleOutcome evaluate(int ruleIndex, CompanyProfileApi companyProfile) {
+        long startTime = System.nanoTime();
+        RuleOutcome outcome;
+        try {
+            eligibilityRules.get(ruleIndex).validate(companyProfile);
+            outcome = new RuleOutcome(ruleIndex, null, System.nanoTime() - startTime);
+        } catch (EligibilityException | ServiceException | RuntimeException e) {
+            outcome = new RuleOutcome(ruleIndex, e, System.nanoTime() - startTime);
+        }
+        record(ruleIndex, outcome);
+        return outcome;
+    }
+
+    private void record(int ruleIndex, RuleOutcome outcome) {
+        String status;
+        if (outcome.failure() == null) {
+            status = EligibilityRuleMetrics.PASSED;
+        } else if (outcome.failure() instanceof EligibilityException eligibilityException) {
+            status = eligibilityException.getEligibilityStatusCode().name();
+        } else {
+            status = EligibilityRuleMetrics.ERROR;
+        }
+        ruleMetrics.recordRule(ruleIndex, status, outcome.duration());
+    }
+
+    @Override
+    public void destroy() {
+        ruleExecutor.shutdownNow();
+    }
+
+    /**
+     * Cancels the rules that have not started yet. Rules already running are not interrupted, as the remote call they
+     * are making may be shared with other requests, and are left to finish on their own.
+     */
+    private static void cancelFrom(List<Future<RuleOutcome>> futures, int fromIndex) {
+        for (int i = fromIndex; i < futures.size(); i++) {
+            futures.get(i).cancel(false);
+        }
+    }
+
+    private static void throwFailure(Exception failure) throws EligibilityException, ServiceException {
+        if (failure instanceof EligibilityException eligibilityException) {
+            throw eligibilityException;
+        }
+        if (failure instanceof ServiceException serviceException) {
+            throw serviceException;
+        }
+        throw (RuntimeException) failure;
+    }
+
+    private record RuleOutcome(int index, Exception failure, long duration) {
+    }
 }
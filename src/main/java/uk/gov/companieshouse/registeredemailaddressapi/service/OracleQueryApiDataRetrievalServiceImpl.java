@@ -1,6 +1,8 @@
 package uk.gov.companieshouse.registeredemailaddressapi.service;
 
 import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
 import jakarta.servlet.http.HttpServletResponse;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -8,12 +10,21 @@ import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.stereotype.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import uk.gov.companieshouse.api.error.ApiErrorResponseException;
 import uk.gov.companieshouse.api.handler.exception.URIValidationException;
 import uk.gov.companieshouse.api.model.company.RegisteredEmailAddressJson;
 import uk.gov.companieshouse.registeredemailaddressapi.client.ApiClientService;
+import uk.gov.companieshouse.registeredemailaddressapi.client.DownstreamGuard;
 import uk.gov.companieshouse.registeredemailaddressapi.exception.ServiceException;
+import uk.gov.companieshouse.registeredemailaddressapi.metrics.Downstream;
 import uk.gov.companieshouse.registeredemailaddressapi.utils.ApiLogger;
+import uk.gov.companieshouse.registeredemailaddressapi.utils.SingleFlight;
 
 @Service
 @Qualifier("oracleQueryApiDataRetrievalServiceImpl")
@@ -22,30 +33,71 @@ public class OracleQueryApiDataRetrievalServiceImpl implements PrivateDataRetrie
 
     private static final String COMPANY_NUMBER = "company_number";
     private static final String REGISTERED_EMAIL_ADDRESS_URI_SUFFIX = "/company/%s/registered-email-address";
+    private static final String NOT_FOUND_CACHE_NAME = "registered-email-address-not-found";
 
-    @Autowired
-    private ApiClientService apiClientService;
+    private final ApiClientService apiClientService;
+
+    private final DownstreamGuard downstreamGuard;
+
+    private final String oracleQueryApiUrl;
 
-    @Value("${ORACLE_QUERY_API_URL}")
-    private String oracleQueryApiUrl;
+    private final Cache<String, Boolean> registeredEmailAddressNotFoundCache;
+
+    private final SingleFlight<String, RegisteredEmailAddressJson> registeredEmailAddressRequests = new SingleFlight<>();
+
+    @Autowired
+    public OracleQueryApiDataRetrievalServiceImpl(ApiClientService apiClientService,
+                                                  DownstreamGuard downstreamGuard,
+                                                  @Value("${ORACLE_QUERY_API_URL}") String oracleQueryApiUrl,
+                                                  @Qualifier("registered-email-address-not-found-cache") Caffeine<Object, Object> notFoundCacheBuilder,
+                                                  MeterRegistry meterRegistry) {
+        this.apiClientService = apiClientService;
+        this.downstreamGuard = downstreamGuard;
+        this.oracleQueryApiUrl = oracleQueryApiUrl;
+        this.registeredEmailAddressNotFoundCache = notFoundCacheBuilder.build();
+        CaffeineCacheMetrics.monitor(meterRegistry, registeredEmailAddressNotFoundCache, NOT_FOUND_CACHE_NAME);
+    }
 
     @Override
     public RegisteredEmailAddressJson getRegisteredEmailAddress(String companyNumber)
             throws ServiceException {
 
         var logMap = new HashMap<String, Object>();
+        logMap.put(COMPANY_NUMBER, companyNumber);
+
+        if (registeredEmailAddressNotFoundCache.getIfPresent(companyNumber) != null) {
+            ApiLogger.info("No Registered EmailAddress found for Company (cached) " + companyNumber, logMap);
+            return null;
+        }
 
         try {
-            logMap.put(COMPANY_NUMBER, companyNumber);
+            // concurrent callers for the same company share a single oracle-query-api call, including its failure
+            return registeredEmailAddressRequests.execute(companyNumber,
+                    () -> retrieveRegisteredEmailAddress(companyNumber, logMap));
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof ServiceException serviceException) {
+                throw serviceException;
+            }
+            throw e;
+        }
+    }
+
+    private RegisteredEmailAddressJson retrieveRegisteredEmailAddress(String companyNumber, Map<String, Object> logMap)
+            throws ServiceException {
+        try {
             ApiLogger.info("Retrieving Registered Email Address for Company Number ", logMap);
-            ApiLogger.debug("oracleQueryApiUrl : " +  oracleQueryApiUrl, logMap);
+            if (ApiLogger.isDebugEnabled()) {
+                ApiLogger.debug("oracleQueryApiUrl : " +  oracleQueryApiUrl, logMap);
+            }
 
             var internalApiClient = apiClientService.getInternalApiClient();
             internalApiClient.setBasePath(oracleQueryApiUrl);
-            var registeredEmailAddressJson = internalApiClient
-                    .privateCompanyResourceHandler()
-                    .getCompanyRegisteredEmailAddress(String.format(REGISTERED_EMAIL_ADDRESS_URI_SUFFIX, companyNumber))
-                    .execute()
+            var privateCompanyResourceHandler = internalApiClient.privateCompanyResourceHandler();
+            var registeredEmailAddressJson = downstreamGuard.callHedged(Downstream.ORACLE_QUERY_API,
+                    "get-registered-email-address",
+                    () -> privateCompanyResourceHandler
+                            .getCompanyRegisteredEmailAddress(String.format(REGISTERED_EMAIL_ADDRESS_URI_SUFFIX, companyNumber))
+                            .execute())
                     .getData();
 
             ApiLogger.info("Successfully retrieved Registered Email Address from database", logMap);
@@ -56,6 +108,7 @@ public class OracleQueryApiDataRetrievalServiceImpl implements PrivateDataRetrie
 
             if (e.getStatusCode() == HttpServletResponse.SC_NOT_FOUND) {
                 ApiLogger.info("No Registered EmailAddress found for Company "+companyNumber, logMap);
+                registeredEmailAddressNotFoundCache.put(companyNumber, Boolean.TRUE);
                 return null;
             }
             throw new ServiceException(e.getStatusMessage(), e);
@@ -1,20 +1,22 @@
 package uk.gov.companieshouse.registeredemailaddressapi.service;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Service;
 import uk.gov.companieshouse.GenerateEtagUtil;
 import uk.gov.companieshouse.api.model.transaction.Resource;
 import uk.gov.companieshouse.api.model.transaction.Transaction;
-import uk.gov.companieshouse.api.model.validationstatus.ValidationStatusResponse;
 import uk.gov.companieshouse.registeredemailaddressapi.exception.CompanyNotFoundException;
 import uk.gov.companieshouse.registeredemailaddressapi.exception.EligibilityException;
 import uk.gov.companieshouse.registeredemailaddressapi.exception.InvalidEmailAddressException;
 import uk.gov.companieshouse.registeredemailaddressapi.exception.NotFoundException;
+import uk.gov.companieshouse.registeredemailaddressapi.exception.PreconditionFailedException;
 import uk.gov.companieshouse.registeredemailaddressapi.exception.ServiceException;
 import uk.gov.companieshouse.registeredemailaddressapi.exception.SubmissionAlreadyExistsException;
 import uk.gov.companieshouse.registeredemailaddressapi.exception.TransactionNotOpenException;
 import uk.gov.companieshouse.registeredemailaddressapi.mapper.RegisteredEmailAddressMapper;
 import uk.gov.companieshouse.registeredemailaddressapi.model.dao.RegisteredEmailAddressDAO;
+import uk.gov.companieshouse.registeredemailaddressapi.model.dao.ValidationStatusData;
 import uk.gov.companieshouse.registeredemailaddressapi.model.dto.RegisteredEmailAddressDTO;
 import uk.gov.companieshouse.registeredemailaddressapi.model.dto.RegisteredEmailAddressResponseDTO;
 import uk.gov.companieshouse.registeredemailaddressapi.repository.RegisteredEmailAddressRepository;
@@ -23,6 +25,7 @@ import uk.gov.companieshouse.registeredemailaddressapi.utils.ApiLogger;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
@@ -86,14 +89,16 @@ public class RegisteredEmailAddressService {
         registeredEmailAddressDAO.setCreatedAt(LocalDateTime.now());
         registeredEmailAddressDAO.getData().setKind(FILING_KIND);
 
+        // the links only depend on the transaction id, so the submission is complete before it is first written
+        final String submissionUri = generateTransactionUri(transaction.getId());
+        addMetaData(registeredEmailAddressDAO, submissionUri, requestId, userId);
+
         ApiLogger.debugContext(requestId, " -  insert registered email address into DB");
 
         RegisteredEmailAddressDAO createdRegisteredEmailAddress = registeredEmailAddressRepository
                 .insert(registeredEmailAddressDAO);
 
         final String submissionId = createdRegisteredEmailAddress.getId();
-        final String submissionUri = generateTransactionUri(transaction.getId());
-        updateRegisteredEmailAddressWithMetaData(createdRegisteredEmailAddress, submissionUri, requestId, userId);
 
         // create the Resource to be added to the Transaction (includes various links to the resource)
         var registeredEmailAddressResource = createRegisteredEmailAddressTransactionResource(submissionUri);
@@ -103,7 +108,7 @@ public class RegisteredEmailAddressService {
         updateTransactionWithLinks(transaction,
                 submissionUri, registeredEmailAddressResource, requestId, createdRegisteredEmailAddress.getId());
 
-        ApiLogger.infoContext(requestId, format("Registered Email address Submission created for transaction id: %s with registered email address submission id: %s",
+        ApiLogger.infoContext(requestId, () -> format("Registered Email address Submission created for transaction id: %s with registered email address submission id: %s",
                 transaction.getId(), submissionId));
 
         ApiLogger.debugContext(requestId, " -  registered email address into DB success");
@@ -111,10 +116,16 @@ public class RegisteredEmailAddressService {
         return registeredEmailAddressMapper.daoToDto(createdRegisteredEmailAddress);
     }
 
+    /**
+     * Updates the submission for the transaction. When <code>expectedEtags</code> is given, the update is only made if
+     * the submission's etag is still one of them, otherwise a <code>PreconditionFailedException</code> is thrown. Every
+     * update gives the submission a new etag.
+     */
     public RegisteredEmailAddressResponseDTO updateRegisteredEmailAddress(Transaction transaction,
                                                                           RegisteredEmailAddressDTO registeredEmailAddressDTO,
+                                                                          List<String> expectedEtags,
                                                                           String requestId,
-                                                                          String userId) throws ServiceException, TransactionNotOpenException, NotFoundException, CompanyNotFoundException, EligibilityException, InvalidEmailAddressException {
+                                                                          String userId) throws ServiceException, TransactionNotOpenException, NotFoundException, PreconditionFailedException, CompanyNotFoundException, EligibilityException, InvalidEmailAddressException {
 
         ApiLogger.debugContext(requestId, " -  updateRegisteredEmailAddress(...)");
 
@@ -130,23 +141,30 @@ public class RegisteredEmailAddressService {
                     throw new InvalidEmailAddressException(String.format("registered_email_address : %s is in an incorrect format", email));
                 }
 
-                var registeredEmailAddress = getRegisteredEmailAddressDAO(transaction.getId(), requestId);
-                registeredEmailAddress.getData().setRegisteredEmailAddress(email);
-
-                if (!registeredEmailAddressDTO.isAcceptAppropriateEmailAddressStatement() ==
-                        registeredEmailAddress.getData().isAcceptAppropriateEmailAddressStatement()) {
-                    registeredEmailAddress.getData()
-                            .setAcceptAppropriateEmailAddressStatement(registeredEmailAddressDTO.isAcceptAppropriateEmailAddressStatement());
+                // a single atomic update of just the changed fields, rather than a read followed by a full save
+                RegisteredEmailAddressDAO updatedRegisteredEmailAddress = registeredEmailAddressRepository
+                        .updateRegisteredEmailAddress(transaction.getId(),
+                                expectedEtags,
+                                email,
+                                registeredEmailAddressDTO.isAcceptAppropriateEmailAddressStatement(),
+                                GenerateEtagUtil.generateEtag(),
+                                userId,
+                                LocalDateTime.now());
+
+                if (updatedRegisteredEmailAddress == null) {
+                    if (expectedEtags != null
+                            && registeredEmailAddressRepository.findByTransactionId(transaction.getId()) != null) {
+                        var message = format("Registered Email Address for TransactionId : %s has been modified since it was retrieved",
+                                transaction.getId());
+                        ApiLogger.infoContext(requestId, message);
+                        throw new PreconditionFailedException(message);
+                    }
+                    var message = format("Registered Email Address for TransactionId : %s Not Found", transaction.getId());
+                    throw new NotFoundException(message);
                 }
 
-
-                registeredEmailAddress.setLastModifiedByUserId(userId);
-                registeredEmailAddress.setUpdatedAt(LocalDateTime.now());
-                RegisteredEmailAddressDAO createdRegisteredEmailAddress = registeredEmailAddressRepository
-                        .save(registeredEmailAddress);
-
                 return registeredEmailAddressMapper
-                        .daoToDto(createdRegisteredEmailAddress);
+                        .daoToDto(updatedRegisteredEmailAddress);
             } else {
                 String message = format("Transaction %s can only be edited when status is %s ",
                         transaction.getId(),
@@ -163,11 +181,28 @@ public class RegisteredEmailAddressService {
 
     }
 
-    public ValidationStatusResponse getValidationStatus(String transactionId, String requestId) throws NotFoundException {
+    /**
+     * Gets the validation status of the submission for the transaction. The status is stored on the submission the
+     * first time it is worked out and reused until the submission's etag changes.
+     */
+    public ValidationStatusData getValidationStatus(String transactionId, String requestId) throws NotFoundException {
         try {
             var registeredEmailAddress = registeredEmailAddressRepository
                     .findByTransactionId(transactionId);
-            return validationService.validateRegisteredEmailAddress(registeredEmailAddress, requestId);
+            var etag = registeredEmailAddress.getData() == null ? null : registeredEmailAddress.getData().getEtag();
+
+            var validationStatus = registeredEmailAddress.getValidationStatus();
+            if (etag != null && validationStatus != null && etag.equals(validationStatus.getEtag())) {
+                ApiLogger.debugContext(requestId, () -> "Using stored validation status for etag " + etag);
+                return validationStatus;
+            }
+
+            validationStatus = new ValidationStatusData(etag,
+                    validationService.validateRegisteredEmailAddress(registeredEmailAddress, requestId));
+            if (etag != null) {
+                saveValidationStatus(transactionId, validationStatus, requestId);
+            }
+            return validationStatus;
         } catch (Exception ex) {
             var message = format("Registered Email Address for TransactionId : %s Not Found",
                     transactionId);
@@ -176,6 +211,16 @@ public class RegisteredEmailAddressService {
         }
     }
 
+    private void saveValidationStatus(String transactionId, ValidationStatusData validationStatus, String requestId) {
+        try {
+            registeredEmailAddressRepository.saveValidationStatus(transactionId, validationStatus);
+        } catch (DataAccessException ex) {
+            // the status is only stored to save working it out again, so the caller still gets it
+            ApiLogger.errorContext(requestId, format("Unable to store validation status for TransactionId : %s",
+                    transactionId), ex);
+        }
+    }
+
     public RegisteredEmailAddressResponseDTO getRegisteredEmailAddress(String transactionId, String requestId) throws NotFoundException {
         var registeredEmailAddressDAO = getRegisteredEmailAddressDAO(transactionId, requestId);
         return  registeredEmailAddressMapper.daoToDto(registeredEmailAddressDAO);
@@ -191,7 +236,7 @@ public class RegisteredEmailAddressService {
             throw new NotFoundException(message);
         }
 
-        ApiLogger.debugContext(requestId, format("Registered Email Address found for Transaction %s.", transactionId));
+        ApiLogger.debugContext(requestId, () -> format("Registered Email Address found for Transaction %s.", transactionId));
 
         return registeredEmailAddress;
     }
@@ -199,7 +244,7 @@ public class RegisteredEmailAddressService {
         var submission = registeredEmailAddressRepository.findById(submissionId);
         if (submission.isPresent()) {
             var registeredEmailAddressSubmissionDao = submission.get();
-            ApiLogger.info(format("%s: Registered Email Address Submission found. About to return", registeredEmailAddressSubmissionDao.getId()));
+            ApiLogger.info(() -> format("%s: Registered Email Address Submission found. About to return", registeredEmailAddressSubmissionDao.getId()));
             return Optional.of(registeredEmailAddressMapper.daoToDto(registeredEmailAddressSubmissionDao));
         } else {
             return Optional.empty();
@@ -232,10 +277,10 @@ public class RegisteredEmailAddressService {
         return format(TRANSACTION_URI_PATTERN, transactionId);
     }
 
-    private void updateRegisteredEmailAddressWithMetaData(RegisteredEmailAddressDAO submission,
-                                                          String submissionUri,
-                                                          String requestId,
-                                                          String userId) {
+    private void addMetaData(RegisteredEmailAddressDAO submission,
+                             String submissionUri,
+                             String requestId,
+                             String userId) {
 
         Map<String, String> links = Map.ofEntries(
                 entry(LINK_SELF, submissionUri),
@@ -245,7 +290,6 @@ public class RegisteredEmailAddressService {
         submission.setUpdatedAt(LocalDateTime.now());
         submission.setHttpRequestId(requestId);
         submission.setLastModifiedByUserId(userId);
-        registeredEmailAddressRepository.save(submission);
     }
 
     private Resource createRegisteredEmailAddressTransactionResource(String submissionUri) {
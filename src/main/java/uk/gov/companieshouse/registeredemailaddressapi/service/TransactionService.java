@@ -1,13 +1,29 @@
 package uk.gov.companieshouse.registeredemailaddressapi.service;
 
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import uk.gov.companieshouse.api.handler.exception.URIValidationException;
 import uk.gov.companieshouse.api.model.transaction.Transaction;
+import uk.gov.companieshouse.api.model.transaction.TransactionStatus;
 import uk.gov.companieshouse.registeredemailaddressapi.client.ApiClientService;
+import uk.gov.companieshouse.registeredemailaddressapi.client.DownstreamGuard;
 import uk.gov.companieshouse.registeredemailaddressapi.exception.ServiceException;
+import uk.gov.companieshouse.registeredemailaddressapi.metrics.Downstream;
 import uk.gov.companieshouse.registeredemailaddressapi.utils.ApiLogger;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Objects;
 
 import static uk.gov.companieshouse.registeredemailaddressapi.utils.Constants.TRANSACTIONS_PRIVATE_API_PREFIX;
 import static uk.gov.companieshouse.registeredemailaddressapi.utils.Constants.TRANSACTIONS_PUBLIC_API_PREFIX;
@@ -15,16 +31,50 @@ import static uk.gov.companieshouse.registeredemailaddressapi.utils.Constants.TR
 @Service
 public class TransactionService {
 
+    private static final String CACHE_NAME = "transaction";
+
     private final ApiClientService apiClientService;
 
-    public TransactionService(ApiClientService apiClientService) {
+    private final DownstreamGuard downstreamGuard;
+
+    private final ObjectMapper objectMapper;
+
+    // only closed transactions are cached, as an open transaction may be changed by other services and its status is
+    // checked before it is used. Keyed by a hash of the passthrough header as well as the transaction id, so a cached
+    // transaction is only returned to a caller with the same credentials as the caller the transactions-api returned it
+    // to, without holding on to the token itself
+    private final Cache<TransactionCacheKey, Transaction> transactionCache;
+
+    public TransactionService(ApiClientService apiClientService,
+                              DownstreamGuard downstreamGuard,
+                              @Qualifier("transaction-cache") Caffeine<Object, Object> transactionCacheBuilder,
+                              MeterRegistry meterRegistry,
+                              ObjectMapper objectMapper) {
         this.apiClientService = apiClientService;
+        this.downstreamGuard = downstreamGuard;
+        this.objectMapper = objectMapper;
+        this.transactionCache = transactionCacheBuilder.build();
+        CaffeineCacheMetrics.monitor(meterRegistry, transactionCache, CACHE_NAME);
     }
 
+    /**
+     * @return The transaction, which the caller is free to change as it is never shared with other callers
+     */
     public Transaction getTransaction(String transactionId, String passthroughHeader, String loggingContext) throws ServiceException {
+        var cacheKey = new TransactionCacheKey(transactionId, hash(passthroughHeader));
+        var cachedTransaction = transactionCache.getIfPresent(cacheKey);
+        if (cachedTransaction != null) {
+            return copy(cachedTransaction);
+        }
         try {
             var uri = TRANSACTIONS_PUBLIC_API_PREFIX + transactionId;
-            return apiClientService.getOauthAuthenticatedClient(passthroughHeader).transactions().get(uri).execute().getData();
+            var transactionsResourceHandler = apiClientService.getOauthAuthenticatedClient(passthroughHeader).transactions();
+            var transaction = downstreamGuard.callHedged(Downstream.TRANSACTIONS_API, "get-transaction",
+                    () -> transactionsResourceHandler.get(uri).execute()).getData();
+            if (transaction != null && TransactionStatus.CLOSED.equals(transaction.getStatus())) {
+                transactionCache.put(cacheKey, copy(transaction));
+            }
+            return transaction;
         } catch (URIValidationException | IOException e) {
             var message = "Error Retrieving Transaction " + transactionId;
             ApiLogger.errorContext(loggingContext, message, e);
@@ -39,8 +89,9 @@ public class TransactionService {
             // The internal API key client is used here as the transaction service will call back into the OE API to get
             // the costs (if a costs end-point has already been set on the transaction) and those calls cannot be made
             // with a user token
-            var response = apiClientService.getInternalApiClient()
-                    .privateTransaction().patch(uri, transaction).execute();
+            var privateTransactionResourceHandler = apiClientService.getInternalApiClient().privateTransaction();
+            var response = downstreamGuard.call(Downstream.TRANSACTIONS_API, "update-transaction",
+                    () -> privateTransactionResourceHandler.patch(uri, transaction).execute());
 
             if (response.getStatusCode() != 204) {
                 throw new IOException("Invalid Status Code received from Transactions-api: " + response.getStatusCode());
@@ -49,6 +100,32 @@ public class TransactionService {
             var message = "Error Updating Transaction " + transaction.getId();
             ApiLogger.errorContext(loggingContext, message, e);
             throw new ServiceException(message, e);
+        } finally {
+            // the patch may have been applied even if it failed, so the cached copies are always discarded. This is done
+            // after the patch so that copies cached while the patch was in progress are discarded too
+            evictTransaction(transaction.getId());
+        }
+    }
+
+    private void evictTransaction(String transactionId) {
+        transactionCache.asMap().keySet().removeIf(cacheKey -> cacheKey.transactionId().equals(transactionId));
+    }
+
+    private Transaction copy(Transaction transaction) {
+        return objectMapper.convertValue(transaction, Transaction.class);
+    }
+
+    private static String hash(String passthroughHeader) {
+        try {
+            var digest = MessageDigest.getInstance("SHA-256")
+                    .digest(Objects.toString(passthroughHeader, "").getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
         }
     }
+
+    private record TransactionCacheKey(String transactionId, String passthroughHeaderHash) {
+    }
 }
@@ -22,7 +22,7 @@ public class ValidationService {
                 errors,
                 requestId)) {
 
-            ApiLogger.debugContext(requestId, String.format("Registered Email Address found for Transaction %s.",
+            ApiLogger.debugContext(requestId, () -> String.format("Registered Email Address found for Transaction %s.",
                     registeredEmailAddress.getTransactionId() ));
 
             validateEmailAddress(registeredEmailAddress.getData().getRegisteredEmailAddress(),
@@ -46,12 +46,12 @@ public class ValidationService {
         var validationStatus = new ValidationStatusResponse();
 
         if (validationErrors.isEmpty()) {
-            ApiLogger.infoContext(requestId, String.format("Validation Successful for TransactionId %s",
+            ApiLogger.infoContext(requestId, () -> String.format("Validation Successful for TransactionId %s",
                     registeredEmailAddress.getTransactionId()));
             validationStatus.setValid(true);
         } else {
 
-            ApiLogger.infoContext(requestId, String.format("Validation Unsuccessful for TransactionId %s, return errors",
+            ApiLogger.infoContext(requestId, () -> String.format("Validation Unsuccessful for TransactionId %s, return errors",
                     registeredEmailAddress.getTransactionId()));
             validationStatus.setValid(false);
             ValidationStatusError[] validationStatusErrors = validationErrors.toArray(new ValidationStatusError[0]);
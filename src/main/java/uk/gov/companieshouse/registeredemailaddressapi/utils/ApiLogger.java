@@ -6,7 +6,9 @@ import uk.gov.companieshouse.logging.LoggerFactory;
 import uk.gov.companieshouse.registeredemailaddressapi.RegisteredEmailAddressApiApplication;
 
 import java.util.HashMap;
+import java.util.Locale;
 import java.util.Map;
+import java.util.function.Supplier;
 
 @Component
 public class ApiLogger {
@@ -16,48 +18,243 @@ public class ApiLogger {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(RegisteredEmailAddressApiApplication.REA_APP_NAMESPACE);
 
+    private static volatile AsyncLogWriter asyncWriter;
+
+    private static volatile LogEvent.Level level = levelFromEnvironment(System.getenv("LOGLEVEL"));
+
+    private static volatile LogSampler sampler = LogSampler.NONE;
+
+    public static boolean isDebugEnabled() {
+        return level == LogEvent.Level.DEBUG;
+    }
+
+    public static boolean isInfoEnabled() {
+        return level != LogEvent.Level.ERROR;
+    }
+
     public static void debug(String message, Map<String, Object> dataMap) {
-        LOGGER.debug(message, cloneMapData(dataMap));
+        if (isDebugEnabled()) {
+            log(new LogEvent(LogEvent.Level.DEBUG, null, message, null, cloneMapData(dataMap)));
+        }
     }
 
     public static void debugContext(String context, String message) {
-        LOGGER.debugContext(context, message, null);
+        if (isDebugEnabled()) {
+            log(new LogEvent(LogEvent.Level.DEBUG, context, message, null, null));
+        }
     }
 
     public static void debugContext(String context, String message, Map<String, Object> dataMap) {
-        LOGGER.debugContext(context, message, cloneMapData(dataMap));
+        if (isDebugEnabled()) {
+            log(new LogEvent(LogEvent.Level.DEBUG, context, message, null, cloneMapData(dataMap)));
+        }
+    }
+
+    /**
+     * Only builds the message if debug logging is enabled.
+     */
+    public static void debugContext(String context, Supplier<String> message) {
+        if (isDebugEnabled()) {
+            log(new LogEvent(LogEvent.Level.DEBUG, context, message.get(), null, null));
+        }
+    }
+
+    /**
+     * Only builds the message and data map if debug logging is enabled.
+     */
+    public static void debugContext(String context, Supplier<String> message, Supplier<LogContext> dataMap) {
+        if (isDebugEnabled()) {
+            log(new LogEvent(LogEvent.Level.DEBUG, context, message.get(), null, dataMap.get()));
+        }
     }
 
     public static void info(String message) {
-        LOGGER.info(message, null);
+        if (isInfoEnabled()) {
+            log(new LogEvent(LogEvent.Level.INFO, null, message, null, null));
+        }
     }
 
     public static void info(String message, Map<String, Object> dataMap) {
-        LOGGER.info(message, cloneMapData(dataMap));
+        if (isInfoEnabled()) {
+            log(new LogEvent(LogEvent.Level.INFO, null, message, null, cloneMapData(dataMap)));
+        }
+    }
+
+    /**
+     * Only builds the message if info logging is enabled.
+     */
+    public static void info(Supplier<String> message) {
+        if (isInfoEnabled()) {
+            log(new LogEvent(LogEvent.Level.INFO, null, message.get(), null, null));
+        }
+    }
+
+    /**
+     * Only builds the message and data map if info logging is enabled.
+     */
+    public static void info(Supplier<String> message, Supplier<LogContext> dataMap) {
+        if (isInfoEnabled()) {
+            log(new LogEvent(LogEvent.Level.INFO, null, message.get(), null, dataMap.get()));
+        }
+    }
+
+    /**
+     * Logs a high-volume event that may be sampled or rate limited by its key. Only builds the message if info
+     * logging is enabled and the event is to be written.
+     *
+     * @param key Identifies the event for <code>LogSampler</code>
+     */
+    public static void sampledInfo(String key, Supplier<String> message) {
+        if (isInfoEnabled() && sampler.allow(key)) {
+            log(new LogEvent(LogEvent.Level.INFO, null, message.get(), null, null));
+        }
+    }
+
+    /**
+     * Logs a high-volume event that may be sampled or rate limited by its key. Only builds the message and data map if
+     * info logging is enabled and the event is to be written.
+     *
+     * @param key Identifies the event for <code>LogSampler</code>
+     */
+    public static void sampledInfo(String key, Supplier<String> message, Supplier<LogContext> dataMap) {
+        if (isInfoEnabled() && sampler.allow(key)) {
+            log(new LogEvent(LogEvent.Level.INFO, null, message.get(), null, dataMap.get()));
+        }
     }
 
     public static void infoContext(String context, String message) {
-        LOGGER.infoContext(context, message, null);
+        if (isInfoEnabled()) {
+            log(new LogEvent(LogEvent.Level.INFO, context, message, null, null));
+        }
     }
 
     public static void infoContext(String context, String message, Map<String, Object> dataMap) {
-        LOGGER.infoContext(context, message, cloneMapData(dataMap));
+        if (isInfoEnabled()) {
+            log(new LogEvent(LogEvent.Level.INFO, context, message, null, cloneMapData(dataMap)));
+        }
+    }
+
+    /**
+     * Only builds the message if info logging is enabled.
+     */
+    public static void infoContext(String context, Supplier<String> message) {
+        if (isInfoEnabled()) {
+            log(new LogEvent(LogEvent.Level.INFO, context, message.get(), null, null));
+        }
     }
 
     public static void error(String message, Exception e, Map<String, Object> dataMap) {
-        LOGGER.error(message, e, cloneMapData(dataMap));
+        log(new LogEvent(LogEvent.Level.ERROR, null, message, e, cloneMapData(dataMap)));
     }
 
     public static void errorContext(String context, Exception e) {
-        LOGGER.errorContext(context, e, null);
+        log(new LogEvent(LogEvent.Level.ERROR, context, null, e, null));
     }
 
     public static void errorContext(String context, String message, Exception e) {
-        LOGGER.errorContext(context, message, e, null);
+        log(new LogEvent(LogEvent.Level.ERROR, context, message, e, null));
     }
 
     public static void errorContext(String context, String message, Exception e, Map<String, Object> dataMap) {
-        LOGGER.errorContext(context, message, e, cloneMapData(dataMap));
+        log(new LogEvent(LogEvent.Level.ERROR, context, message, e, cloneMapData(dataMap)));
+    }
+
+    /**
+     * Sets the sampler that decides which of the events logged with a key are written. Errors are never sampled.
+     */
+    public static void setSampler(LogSampler newSampler) {
+        sampler = newSampler;
+    }
+
+    /**
+     * Logs the number of events each key has had suppressed by the sampler since the last summary, if there were any.
+     */
+    public static void logSuppressedSummary() {
+        var suppressed = sampler.drainSuppressed();
+        if (!suppressed.isEmpty()) {
+            log(new LogEvent(LogEvent.Level.INFO, null, "Suppressed log events", null,
+                    LogContext.of("suppressed_events", suppressed)));
+        }
+    }
+
+    /**
+     * Sets the lowest level that is logged. Events below it are discarded before their message or data map is built.
+     * The Companies House logger still applies its own level to the events that are passed on.
+     */
+    public static void setLevel(LogEvent.Level newLevel) {
+        level = newLevel;
+    }
+
+    /**
+     * @param value The <code>LOGLEVEL</code> read by the Companies House logger: trace, debug, info or error
+     * @return The lowest level to log, which is debug if the value is not set or not recognised, so nothing the
+     * Companies House logger would write is discarded
+     */
+    static LogEvent.Level levelFromEnvironment(String value) {
+        if (value == null) {
+            return LogEvent.Level.DEBUG;
+        }
+        return switch (value.trim().toLowerCase(Locale.ROOT)) {
+            case "info" -> LogEvent.Level.INFO;
+            case "error" -> LogEvent.Level.ERROR;
+            default -> LogEvent.Level.DEBUG;
+        };
+    }
+
+    /**
+     * Hands every event logged from now on to the given writer, to be written on its own thread, or writes them on the
+     * calling thread again if it is <code>null</code>.
+     *
+     * @param writer The writer to use, or <code>null</code> to log synchronously
+     * @return The writer that was in use before, or <code>null</code>
+     */
+    public static AsyncLogWriter setAsyncWriter(AsyncLogWriter writer) {
+        var previous = asyncWriter;
+        asyncWriter = writer;
+        return previous;
+    }
+
+    private static void log(LogEvent event) {
+        var writer = asyncWriter;
+        if (writer == null || !writer.offer(event)) {
+            write(event);
+        }
+    }
+
+    /**
+     * Writes the event with the Companies House logger. A <code>LogContext</code> is copied into a mutable map here, as
+     * the logger modifies the map it is given.
+     */
+    static void write(LogEvent event) {
+        if (event.dataMap() instanceof LogContext logContext) {
+            event = new LogEvent(event.level(), event.context(), event.message(), event.exception(), logContext.toMap(),
+                    event.loggedAt());
+        }
+        switch (event.level()) {
+            case DEBUG -> {
+                if (event.context() == null) {
+                    LOGGER.debug(event.message(), event.dataMap());
+                } else {
+                    LOGGER.debugContext(event.context(), event.message(), event.dataMap());
+                }
+            }
+            case INFO -> {
+                if (event.context() == null) {
+                    LOGGER.info(event.message(), event.dataMap());
+                } else {
+                    LOGGER.infoContext(event.context(), event.message(), event.dataMap());
+                }
+            }
+            case ERROR -> {
+                if (event.context() == null) {
+                    LOGGER.error(event.message(), event.exception(), event.dataMap());
+                } else if (event.message() == null) {
+                    LOGGER.errorContext(event.context(), event.exception(), event.dataMap());
+                } else {
+                    LOGGER.errorContext(event.context(), event.message(), event.exception(), event.dataMap());
+                }
+            }
+        }
     }
 
     /**
@@ -66,10 +263,15 @@ public class ApiLogger {
      * is not displayed in certain log format outputs. Creating a clone of the data map gets around
      * this issue.
      *
+     * A <code>LogContext</code> cannot be modified, so it is not copied until the event is written.
+     *
      * @param dataMap The map data to log
      * @return A cloned copy of the map data
      */
-    private static Map<String, Object> cloneMapData(Map<String, Object> dataMap) {
+    static Map<String, Object> cloneMapData(Map<String, Object> dataMap) {
+        if (dataMap instanceof LogContext) {
+            return dataMap;
+        }
         if (dataMap == null) {
             dataMap = new HashMap<>();
         }
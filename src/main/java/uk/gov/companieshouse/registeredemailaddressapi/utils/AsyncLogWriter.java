@@ -0,0 +1,212 @@
+package uk.gov.companieshouse.registeredemailaddressapi.utils;
+
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Writes log events on a dedicated thread, so that formatting them and writing them out does not add to the time
+ * taken to handle a request. Events are queued in a <code>BoundedRingBuffer</code> and written in the order they were
+ * queued.
+ * <p/>
+ * What happens to an event when the buffer is full is decided by the <code>OverflowPolicy</code>. Each dropped event
+ * is counted in <code>logging.async.dropped</code>, tagged with its <code>level</code>, and the number of events
+ * waiting to be written is published as <code>logging.async.queued</code>.
+ * <p/>
+ * The Companies House logger stamps each event with the time it is written, which may be some time after it was
+ * logged, so the time it was logged is added to its data map as <code>logged_at</code>.
+ * <p/>
+ * <code>close</code> writes every event still queued before it returns. Once closed, <code>offer</code> refuses every
+ * event, so the caller can write it itself. An event queued while the writer was closing is written by the thread that
+ * queued it, before <code>offer</code> returns.
+ */
+public class AsyncLogWriter implements AutoCloseable {
+
+    public static final String DROPPED_METRIC = "logging.async.dropped";
+    public static final String QUEUED_METRIC = "logging.async.queued";
+
+    /** The data map key each event's logged time is written under */
+    public static final String LOGGED_AT_KEY = "logged_at";
+
+    private static final long WRITER_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long PRODUCER_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    public enum OverflowPolicy {
+        /** Wait for space for every event, so none are lost */
+        BLOCK,
+        /** Drop debug events, and wait for space for info and error events */
+        DROP_DEBUG,
+        /** Drop every event that does not fit */
+        DROP_ALL;
+
+        /**
+         * @param value The policy name, in upper or lower case, with dashes or underscores, e.g. <code>drop-debug</code>
+         */
+        public static OverflowPolicy fromValue(String value) {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+        }
+    }
+
+    private final BoundedRingBuffer<LogEvent> buffer;
+
+    private final OverflowPolicy overflowPolicy;
+
+    private final Consumer<LogEvent> sink;
+
+    private final Map<LogEvent.Level, Counter> dropped = new EnumMap<>(LogEvent.Level.class);
+
+    private final Thread writer;
+
+    private volatile boolean writerWaiting;
+
+    private volatile boolean closed;
+
+    /**
+     * Writes the events with the Companies House logger used by <code>ApiLogger</code>.
+     *
+     * @param capacity The number of events that can be queued, rounded up to a power of two of at least 2
+     */
+    public AsyncLogWriter(int capacity, OverflowPolicy overflowPolicy, MeterRegistry meterRegistry) {
+        this(capacity, overflowPolicy, meterRegistry, ApiLogger::write);
+    }
+
+    /**
+     * @param capacity The number of events that can be queued, rounded up to a power of two of at least 2
+     * @param sink     Writes each event, on the writer thread
+     */
+    public AsyncLogWriter(int capacity, OverflowPolicy overflowPolicy, MeterRegistry meterRegistry,
+                          Consumer<LogEvent> sink) {
+        this.buffer = new BoundedRingBuffer<>(capacity);
+        this.overflowPolicy = overflowPolicy;
+        this.sink = sink;
+        for (LogEvent.Level level : LogEvent.Level.values()) {
+            dropped.put(level, Counter.builder(DROPPED_METRIC)
+                    .description("Log events dropped because the async logging buffer was full")
+                    .tag("level", level.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry));
+        }
+        Gauge.builder(QUEUED_METRIC, buffer, BoundedRingBuffer::size)
+                .description("Log events waiting to be written")
+                .register(meterRegistry);
+        this.writer = Thread.ofPlatform().name("async-log-writer").daemon().start(this::run);
+    }
+
+    /**
+     * Queues the event to be written, waiting for space or dropping it if the buffer is full, as the overflow policy
+     * says.
+     *
+     * @return <code>false</code> if the writer is closed and the event was not queued, otherwise <code>true</code>,
+     * including when the event was dropped
+     */
+    public boolean offer(LogEvent event) {
+        while (!closed) {
+            if (buffer.offer(event)) {
+                if (closed) {
+                    // the writer may have made its final drain before the event was queued
+                    drainAfterWriter();
+                } else if (writerWaiting) {
+                    LockSupport.unpark(writer);
+                }
+                return true;
+            }
+            if (overflowPolicy == OverflowPolicy.DROP_ALL
+                    || (overflowPolicy == OverflowPolicy.DROP_DEBUG && event.level() == LogEvent.Level.DEBUG)) {
+                dropped.get(event.level()).increment();
+                return true;
+            }
+            LockSupport.unpark(writer);
+            LockSupport.parkNanos(PRODUCER_PARK_NANOS);
+        }
+        return false;
+    }
+
+    private void run() {
+        while (true) {
+            LogEvent event = buffer.poll();
+            if (event != null) {
+                write(event);
+            } else if (closed) {
+                // write whatever was queued before the writer was closed
+                while ((event = buffer.poll()) != null) {
+                    write(event);
+                }
+                return;
+            } else {
+                writerWaiting = true;
+                if (buffer.size() == 0 && !closed) {
+                    LockSupport.parkNanos(this, WRITER_PARK_NANOS);
+                }
+                writerWaiting = false;
+            }
+        }
+    }
+
+    /**
+     * Waits for the writer thread to finish and then writes any events it left in the buffer. The buffer only allows
+     * one thread to take events from it at a time, so this is done while holding the lock.
+     */
+    private void drainAfterWriter() {
+        boolean interrupted = false;
+        while (writer.isAlive()) {
+            try {
+                writer.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        synchronized (this) {
+            LogEvent event;
+            while ((event = buffer.poll()) != null) {
+                write(event);
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void write(LogEvent event) {
+        try {
+            sink.accept(withLoggedAt(event));
+        } catch (RuntimeException e) {
+            // there is nowhere left to log a failure to log, and the writer must keep going
+        }
+    }
+
+    /**
+     * @return The event with its logged time added to its data map. A data map that is not a <code>LogContext</code> is
+     * already a copy made for the event, so it is added to in place
+     */
+    private static LogEvent withLoggedAt(LogEvent event) {
+        Map<String, Object> dataMap;
+        if (event.dataMap() instanceof LogContext logContext) {
+            dataMap = logContext.toMap();
+        } else if (event.dataMap() == null) {
+            dataMap = new HashMap<>();
+        } else {
+            dataMap = event.dataMap();
+        }
+        dataMap.put(LOGGED_AT_KEY, Instant.ofEpochMilli(event.loggedAt()).toString());
+        return new LogEvent(event.level(), event.context(), event.message(), event.exception(), dataMap,
+                event.loggedAt());
+    }
+
+    /**
+     * Stops accepting events and waits for the ones already queued to be written.
+     */
+    @Override
+    public void close() throws InterruptedException {
+        closed = true;
+        LockSupport.unpark(writer);
+        writer.join();
+    }
+}
@@ -0,0 +1,42 @@
+package uk.gov.companieshouse.registeredemailaddressapi.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class EtagUtils {
+
+    private static final String WILDCARD = "*";
+    private static final String WEAK_PREFIX = "W/";
+    private static final String QUOTE = "\"";
+
+    private EtagUtils() { }
+
+    /**
+     * Parses the entity tags listed in an <code>If-Match</code> header, removing their quotes as etags are stored
+     * without them. Weak entity tags are left out, as <code>If-Match</code> only ever matches strongly.
+     *
+     * @return The etags, or <code>null</code> if there is no header or it is the wildcard, which any submission matches
+     */
+    public static List<String> parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank()) {
+            return null;
+        }
+        List<String> etags = new ArrayList<>();
+        for (String entityTag : ifMatch.split(",")) {
+            var etag = entityTag.trim();
+            if (WILDCARD.equals(etag)) {
+                return null;
+            }
+            if (etag.startsWith(WEAK_PREFIX)) {
+                continue;
+            }
+            if (etag.length() > 1 && etag.startsWith(QUOTE) && etag.endsWith(QUOTE)) {
+                etag = etag.substring(1, etag.length() - 1);
+            }
+            if (!etag.isEmpty()) {
+                etags.add(etag);
+            }
+        }
+        return etags;
+    }
+}
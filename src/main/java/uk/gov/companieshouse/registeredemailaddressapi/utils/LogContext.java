@@ -0,0 +1,122 @@
+package uk.gov.companieshouse.registeredemailaddressapi.utils;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * An immutable data map to log. <code>with</code> returns a new context with the entry added or replaced, leaving this
+ * one as it was, so a context can be built once and shared between log calls, and between threads, without being
+ * copied. <code>ApiLogger</code> only copies it into the mutable map the Companies House logger needs when the event
+ * is written.
+ * <p/>
+ * Entries are kept in two arrays, in the order they were added, as a context only ever holds a handful of them.
+ */
+public final class LogContext extends AbstractMap<String, Object> {
+
+    private static final LogContext EMPTY = new LogContext(new String[0], new Object[0]);
+
+    private final String[] keys;
+    private final Object[] values;
+
+    private LogContext(String[] keys, Object[] values) {
+        this.keys = keys;
+        this.values = values;
+    }
+
+    public static LogContext empty() {
+        return EMPTY;
+    }
+
+    public static LogContext of(String key, Object value) {
+        return EMPTY.with(key, value);
+    }
+
+    public static LogContext of(String key1, Object value1, String key2, Object value2) {
+        return EMPTY.with(key1, value1).with(key2, value2);
+    }
+
+    /**
+     * @return A new context with the given entry, replacing any entry with the same key
+     */
+    public LogContext with(String key, Object value) {
+        Objects.requireNonNull(key);
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i].equals(key)) {
+                var newValues = values.clone();
+                newValues[i] = value;
+                return new LogContext(keys, newValues);
+            }
+        }
+        var newKeys = new String[keys.length + 1];
+        var newValues = new Object[values.length + 1];
+        System.arraycopy(keys, 0, newKeys, 0, keys.length);
+        System.arraycopy(values, 0, newValues, 0, values.length);
+        newKeys[keys.length] = key;
+        newValues[values.length] = value;
+        return new LogContext(newKeys, newValues);
+    }
+
+    /**
+     * @return A mutable copy of the entries, for the Companies House logger to modify
+     */
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new HashMap<>();
+        for (int i = 0; i < keys.length; i++) {
+            map.put(keys[i], values[i]);
+        }
+        return map;
+    }
+
+    @Override
+    public int size() {
+        return keys.length;
+    }
+
+    @Override
+    public Object get(Object key) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i].equals(key)) {
+                return values[i];
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<String, Object>> iterator() {
+                return new Iterator<>() {
+                    private int index;
+
+                    @Override
+                    public boolean hasNext() {
+                        return index < keys.length;
+                    }
+
+                    @Override
+                    public Entry<String, Object> next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        var entry = new SimpleImmutableEntry<>(keys[index], values[index]);
+                        index++;
+                        return entry;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return keys.length;
+            }
+        };
+    }
+}
@@ -0,0 +1,31 @@
+package uk.gov.companieshouse.registeredemailaddressapi.utils;
+
+import java.util.Map;
+
+/**
+ * A call to <code>ApiLogger</code>, held until it is written.
+ *
+ * @param context   The request id the event was logged for, or <code>null</code>
+ * @param message   The message, or <code>null</code> for an error logged with only an exception
+ * @param exception The exception logged with an error, or <code>null</code>
+ * @param dataMap   The copy of the data map to log, or a <code>LogContext</code>, which is copied when it is written,
+ *                  or <code>null</code>
+ * @param loggedAt  When <code>ApiLogger</code> was called, in milliseconds since the epoch, which may be some time
+ *                  before the event is written
+ */
+public record LogEvent(Level level, String context, String message, Exception exception,
+                       Map<String, Object> dataMap, long loggedAt) {
+
+    /**
+     * An event logged now.
+     */
+    public LogEvent(Level level, String context, String message, Exception exception, Map<String, Object> dataMap) {
+        this(level, context, message, exception, dataMap, System.currentTimeMillis());
+    }
+
+    public enum Level {
+        DEBUG,
+        INFO,
+        ERROR
+    }
+}
@@ -0,0 +1,151 @@
+package uk.gov.companieshouse.registeredemailaddressapi.utils;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Decides whether a high-volume event logged with a key should be written, so that the events with the same key can
+ * be thinned out. Each key can be sampled, which writes one event in every <code>1 / rate</code>, and rate limited,
+ * which writes at most the given number of events per second, allowing a burst of up to a second's worth. An event is
+ * written only if it passes both. Keys that are not configured are always written.
+ * <p/>
+ * The events that are not written are counted per key, so <code>drainSuppressed</code> can report them.
+ */
+public class LogSampler {
+
+    public static final LogSampler NONE = new LogSampler(Map.of(), Map.of(), System::nanoTime);
+
+    private final Map<String, KeyState> keys;
+
+    /**
+     * @param sampleRates The share of events to write for each key, between 0 and 1
+     * @param rateLimits  The most events to write per second for each key
+     */
+    public LogSampler(Map<String, Double> sampleRates, Map<String, Double> rateLimits) {
+        this(sampleRates, rateLimits, System::nanoTime);
+    }
+
+    /**
+     * @param clock The current time, in nanoseconds
+     */
+    public LogSampler(Map<String, Double> sampleRates, Map<String, Double> rateLimits, LongSupplier clock) {
+        Map<String, KeyState> states = new HashMap<>();
+        sampleRates.forEach((key, rate) -> states.computeIfAbsent(key, k -> new KeyState(clock)).sampleEvery(rate));
+        rateLimits.forEach((key, perSecond) -> states.computeIfAbsent(key, k -> new KeyState(clock)).limitTo(perSecond));
+        this.keys = Map.copyOf(states);
+    }
+
+    /**
+     * @return <code>true</code> if the event should be written
+     */
+    public boolean allow(String key) {
+        var state = keys.get(key);
+        return state == null || state.allow();
+    }
+
+    /**
+     * @return The number of events suppressed for each key since the last call, leaving out keys with none
+     */
+    public Map<String, Long> drainSuppressed() {
+        Map<String, Long> suppressed = new LinkedHashMap<>();
+        keys.forEach((key, state) -> {
+            long count = state.suppressed.sumThenReset();
+            if (count > 0) {
+                suppressed.put(key, count);
+            }
+        });
+        return suppressed;
+    }
+
+    /**
+     * Parses rules written as <code>key=value</code> pairs separated by commas, e.g.
+     * <code>eligibility.company-status.validating=0.1, eligibility.company-type.passed=0.5</code>.
+     *
+     * @param rules The rules, or a blank string for none
+     */
+    public static Map<String, Double> parseRules(String rules) {
+        Map<String, Double> parsed = new LinkedHashMap<>();
+        if (rules == null || rules.isBlank()) {
+            return parsed;
+        }
+        for (String rule : rules.split(",")) {
+            int separator = rule.indexOf('=');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Log sampling rule is not key=value: " + rule.trim());
+            }
+            parsed.put(rule.substring(0, separator).trim(), Double.parseDouble(rule.substring(separator + 1).trim()));
+        }
+        return parsed;
+    }
+
+    private static final class KeyState {
+
+        private final LongSupplier clock;
+
+        private final LongAdder suppressed = new LongAdder();
+
+        private final AtomicLong sampleCount = new AtomicLong();
+
+        private long sampleInterval = 1;
+
+        /**
+         * The time the bucket is next full enough for an event, in the style of a generic cell rate algorithm, which
+         * gives the same results as a token bucket with a single compare-and-set
+         */
+        private final AtomicLong theoreticalArrival = new AtomicLong(Long.MIN_VALUE);
+
+        private long emissionInterval;
+
+        private long burstTolerance;
+
+        private KeyState(LongSupplier clock) {
+            this.clock = clock;
+        }
+
+        private void sampleEvery(double rate) {
+            if (rate <= 0 || rate > 1) {
+                throw new IllegalArgumentException("Log sample rate must be greater than 0 and at most 1: " + rate);
+            }
+            sampleInterval = Math.round(1 / rate);
+        }
+
+        private void limitTo(double perSecond) {
+            if (perSecond <= 0) {
+                throw new IllegalArgumentException("Log rate limit must be greater than 0: " + perSecond);
+            }
+            emissionInterval = (long) (TimeUnit.SECONDS.toNanos(1) / perSecond);
+            burstTolerance = emissionInterval * Math.max(0, (long) Math.ceil(perSecond) - 1);
+        }
+
+        private boolean allow() {
+            if (sampleInterval > 1 && sampleCount.getAndIncrement() % sampleInterval != 0) {
+                suppressed.increment();
+                return false;
+            }
+            if (emissionInterval > 0 && !acquire()) {
+                suppressed.increment();
+                return false;
+            }
+            return true;
+        }
+
+        private boolean acquire() {
+            while (true) {
+                long now = clock.getAsLong();
+                long arrival = theoreticalArrival.get();
+                long start = arrival == Long.MIN_VALUE ? now : Math.max(arrival, now);
+                if (start - now > burstTolerance) {
+                    return false;
+                }
+                if (theoreticalArrival.compareAndSet(arrival, start + emissionInterval)) {
+                    return true;
+                }
+            }
+        }
+    }
+}
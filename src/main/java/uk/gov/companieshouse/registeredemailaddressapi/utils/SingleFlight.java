@@ -0,0 +1,66 @@
+package uk.gov.companieshouse.registeredemailaddressapi.utils;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Coalesces concurrent calls for the same key so that only one of them is in flight at a time. The first caller for a
+ * key runs the call on its own thread and every caller that arrives for the same key before it completes waits for,
+ * and shares, that result.
+ * <p/>
+ * If the call fails, every waiting caller receives the same exception, or the same error. Unchecked exceptions are rethrown as they are,
+ * checked exceptions are wrapped in a <code>CompletionException</code> whose cause is the original exception.
+ * <p/>
+ * Nothing is remembered once a call completes, so a caller arriving after that starts a new call.
+ *
+ * @param <K> The type of the key identifying identical calls
+ * @param <V> The type of the call result
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    public V execute(K key, Callable<V> call) {
+        var future = new CompletableFuture<V>();
+        var existing = inFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            return await(existing);
+        }
+
+        try {
+            V result = call.call();
+            future.complete(result);
+            return result;
+        } catch (Exception e) {
+            future.completeExceptionally(e);
+            throw propagate(e);
+        } catch (Throwable t) {
+            // an Error must reach the waiting callers too, or they would wait for a result that never comes
+            future.completeExceptionally(t);
+            throw t;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    private V await(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw propagate(e.getCause());
+        }
+    }
+
+    private static RuntimeException propagate(Throwable throwable) {
+        if (throwable instanceof Error error) {
+            throw error;
+        }
+        if (throwable instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        return new CompletionException(throwable);
+    }
+}
@@ -4,19 +4,15 @@ import org.springframework.stereotype.Component;
 import uk.gov.companieshouse.api.model.validationstatus.ValidationStatusError;
 
 import java.util.List;
-import java.util.regex.Pattern;
 
 @Component
 public class ValidationUtils {
 
-    private static final Pattern EMAIL_NOTIFY_REGEX =
-            Pattern.compile("^[a-zA-Z0-9.!#$%&'*+/=?^_`{|}~\\-]+@([^.@][^@\\s]+)$");
-    private static final Pattern HOSTNAME_REGEX =
-            Pattern.compile("^([a-z0-9]+)(-?-[a-z0-9]+)*+$", Pattern.CASE_INSENSITIVE);
-    private static final Pattern TLD_PART_REGEX =
-            Pattern.compile(
-                    "^(?:[a-z]{2,63}|xn--[a-z0-9]+(?:-[a-z0-9]+){1,4})(?:$|[^-])",
-                    Pattern.CASE_INSENSITIVE);
+    private static final String LOCAL_PART_SYMBOLS = ".!#$%&'*+/=?^_`{|}~-";
+    private static final String PUNYCODE_PREFIX = "xn--";
+    private static final int MAX_TLD_LETTERS = 63;
+    private static final int MIN_PUNYCODE_HYPHENS = 1;
+    private static final int MAX_PUNYCODE_HYPHENS = 4;
 
     public static final String NOT_NULL_ERROR_MESSAGE = "%s must not be null";
     public static final String INVALID_EMAIL_ERROR_MESSAGE = "Email address is not in the correct format for %s, like name@example.com";
@@ -41,30 +37,117 @@ public class ValidationUtils {
         }
     }
 
+    /**
+     * Checks an email address in a single pass over its characters, without regular expressions or any allocation.
+     * <p/>
+     * An address is valid when its local part is one or more of the letters, digits and symbols Notify allows, and its
+     * domain, ignoring a single trailing dot, is two or more hostname labels. A label is letters and digits, with
+     * single or double hyphens between them. The last label is the TLD, which must be 2 to 63 letters optionally
+     * followed by one more letter or digit, or a punycode label of <code>xn--</code> followed by two to five groups of
+     * letters and digits separated by single hyphens. No address may contain <code>..</code>.
+     */
     public static boolean isEmailAddressValid(String email){
-        if (email == null || email.isBlank()) {
+        if (email == null) {
             return false;
         }
-        if (email.contains("..")) {
-            return false;
+        int length = email.length();
+
+        int at = 0;
+        while (at < length && email.charAt(at) != '@') {
+            char c = email.charAt(at);
+            if (!isLocalPartCharacter(c) || (c == '.' && at > 0 && email.charAt(at - 1) == '.')) {
+                return false;
+            }
+            at++;
         }
-        var matcher = EMAIL_NOTIFY_REGEX.matcher(email);
-        if (!matcher.matches()) {
+        if (at == 0 || at == length) {
             return false;
         }
 
-        var hostname = matcher.group(1);
-        String[] parts = hostname.split("\\.");
-        if (parts.length < 2) {
+        int domainEnd = email.charAt(length - 1) == '.' ? length - 1 : length;
+        int labels = 0;
+        int labelStart = at + 1;
+        for (int i = labelStart; i <= domainEnd; i++) {
+            if (i == domainEnd || email.charAt(i) == '.') {
+                if (!isHostnameLabel(email, labelStart, i)) {
+                    return false;
+                }
+                labels++;
+                if (i < domainEnd) {
+                    labelStart = i + 1;
+                }
+            }
+        }
+        return labels >= 2 && isTopLevelDomain(email, labelStart, domainEnd);
+    }
+
+    private static boolean isLocalPartCharacter(char c) {
+        return isLetterOrDigit(c) || LOCAL_PART_SYMBOLS.indexOf(c) >= 0;
+    }
+
+    private static boolean isHostnameLabel(String email, int start, int end) {
+        if (start == end || !isLetterOrDigit(email.charAt(start)) || !isLetterOrDigit(email.charAt(end - 1))) {
             return false;
         }
-        for (String part : parts) {
-            if (!HOSTNAME_REGEX.matcher(part).matches()) {
+        int hyphens = 0;
+        for (int i = start + 1; i < end - 1; i++) {
+            char c = email.charAt(i);
+            if (c == '-') {
+                if (++hyphens > 2) {
+                    return false;
+                }
+            } else if (isLetterOrDigit(c)) {
+                hyphens = 0;
+            } else {
                 return false;
             }
         }
-        return TLD_PART_REGEX.matcher(parts[parts.length - 1]).matches();
+        return true;
     }
+
+    /**
+     * Only called with a valid hostname label, so only has to tell letters, digits and hyphens apart.
+     */
+    private static boolean isTopLevelDomain(String email, int start, int end) {
+        int length = end - start;
+        int letters = 0;
+        while (letters < length && isLetter(email.charAt(start + letters))) {
+            letters++;
+        }
+        if (letters >= 2 && letters <= MAX_TLD_LETTERS + 1 && letters == length) {
+            return true;
+        }
+        if (letters >= 2 && letters <= MAX_TLD_LETTERS && letters == length - 1) {
+            return true;
+        }
+        return isPunycodeTopLevelDomain(email, start, end);
+    }
+
+    private static boolean isPunycodeTopLevelDomain(String email, int start, int end) {
+        int prefixEnd = start + PUNYCODE_PREFIX.length();
+        if (prefixEnd >= end || !email.regionMatches(true, start, PUNYCODE_PREFIX, 0, PUNYCODE_PREFIX.length())) {
+            return false;
+        }
+        int hyphens = 0;
+        for (int i = prefixEnd; i < end; i++) {
+            if (email.charAt(i) == '-') {
+                if (i == prefixEnd || email.charAt(i - 1) == '-') {
+                    return false;
+                }
+                hyphens++;
+            }
+        }
+        return hyphens >= MIN_PUNYCODE_HYPHENS && hyphens <= MAX_PUNYCODE_HYPHENS;
+    }
+
+    private static boolean isLetter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static boolean isLetterOrDigit(char c) {
+        return isLetter(c) || (c >= '0' && c <= '9');
+    }
+
     public static void isEmailAddressStatementAccepted(boolean acceptedEmailAddressStatement, String qualifiedFieldName, List<ValidationStatusError> errs, String loggingContext) {
         if (!acceptedEmailAddressStatement) {
             setErrorMsg(errs, qualifiedFieldName, String.format(ACCEPTED_EMAIL_ADDRESS_STATEMENT_ERROR_MESSAGE, qualifiedFieldName));
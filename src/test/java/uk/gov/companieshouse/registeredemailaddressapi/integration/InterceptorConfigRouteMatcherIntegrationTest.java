@@ -34,6 +34,7 @@ class InterceptorConfigRouteMatchingTest {
         Set<String> COMPANY_INTERCEPTORS = Set.of("LoggingInterceptor", "TokenPermissionsInterceptor", "UserAuthenticationInterceptor");
         Set<String> TRANSACTION_INTERCEPTORS =
             Set.of("LoggingInterceptor", "TokenPermissionsInterceptor", "UserAuthenticationInterceptor", "TransactionInterceptor");
+        Set<String> INTERNAL_INTERCEPTORS = Set.of("LoggingInterceptor", "InternalUserInterceptor");
         Set<String> FILINGS_INTERCEPTORS =
             Set.of("LoggingInterceptor", "InternalUserInterceptor", "TransactionInterceptor", "FilingInterceptor");
 
@@ -42,6 +43,7 @@ class InterceptorConfigRouteMatchingTest {
 
         // company endpoints
         testCases.put("/registered-email-address/company/12345678/eligibility", COMPANY_INTERCEPTORS);
+        testCases.put("/private/registered-email-address/company/eligibility", INTERNAL_INTERCEPTORS);
 
         // transaction endpoints
         testCases.put("/transactions/111111-222222-333333/registered-email-address", TRANSACTION_INTERCEPTORS);
@@ -0,0 +1,126 @@
+package uk.gov.companieshouse.registeredemailaddressapi.integration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static uk.gov.companieshouse.registeredemailaddressapi.configuration.MongoIndexConfig.CREATED_AT_INDEX;
+import static uk.gov.companieshouse.registeredemailaddressapi.configuration.MongoIndexConfig.TRANSACTION_ID_INDEX;
+
+import java.util.Date;
+import java.util.List;
+
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import uk.gov.companieshouse.registeredemailaddressapi.configuration.MongoIndexConfig;
+import uk.gov.companieshouse.registeredemailaddressapi.model.dao.RegisteredEmailAddressDAO;
+import uk.gov.companieshouse.registeredemailaddressapi.repository.RegisteredEmailAddressRepository;
+
+@SpringBootTest
+@Testcontainers(disabledWithoutDocker = true)
+class MongoIndexIntegrationTest {
+
+    private static final String COLLECTION = "registered_email_address";
+    private static final String TRANSACTION_ID = "111111-222222-333333";
+
+    @Container
+    private static final MongoDBContainer MONGO = new MongoDBContainer("mongo:6.0");
+
+    @DynamicPropertySource
+    static void mongoProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.mongodb.uri", () -> MONGO.getReplicaSetUrl(COLLECTION));
+    }
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private MongoIndexConfig mongoIndexConfig;
+
+    @Autowired
+    private RegisteredEmailAddressRepository registeredEmailAddressRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void init() {
+        registeredEmailAddressRepository.deleteAll();
+        // the indexes are also built in the background at startup, this waits for them
+        mongoIndexConfig.ensureIndexes();
+    }
+
+    @Test
+    void findByTransactionIdUsesTransactionIdIndex() {
+        var explain = explainFind(new Document("transaction_id", TRANSACTION_ID));
+
+        assertEquals(TRANSACTION_ID_INDEX, winningIndexName(explain));
+    }
+
+    @Test
+    void findByCreatedAtUsesCreatedAtIndex() {
+        var explain = explainFind(new Document("created_at", new Document("$lt", new Date())));
+
+        assertEquals(CREATED_AT_INDEX, winningIndexName(explain));
+    }
+
+    @Test
+    void duplicateTransactionIdIsRejected() {
+        var registeredEmailAddress = new RegisteredEmailAddressDAO();
+        registeredEmailAddress.setTransactionId(TRANSACTION_ID);
+        registeredEmailAddressRepository.insert(registeredEmailAddress);
+
+        var duplicate = new RegisteredEmailAddressDAO();
+        duplicate.setTransactionId(TRANSACTION_ID);
+        assertThrows(DuplicateKeyException.class, () -> registeredEmailAddressRepository.insert(duplicate));
+    }
+
+    @Test
+    void indexStatusIsReported() {
+        assertEquals(1.0, meterRegistry.get("mongodb.index.status").tag("index", TRANSACTION_ID_INDEX).gauge().value());
+        assertEquals(1.0, meterRegistry.get("mongodb.index.status").tag("index", CREATED_AT_INDEX).gauge().value());
+    }
+
+    private Document explainFind(Document filter) {
+        return mongoTemplate.getDb().runCommand(new Document("explain",
+                new Document("find", COLLECTION).append("filter", filter)));
+    }
+
+    private static String winningIndexName(Document explain) {
+        var winningPlan = explain.get("queryPlanner", Document.class).get("winningPlan", Document.class);
+        return findIndexScan(winningPlan);
+    }
+
+    // the plan is a tree of stages, with the index scan, if there is one, at or near the bottom
+    private static String findIndexScan(Object stage) {
+        if (stage instanceof Document document) {
+            if ("IXSCAN".equals(document.getString("stage"))) {
+                return document.getString("indexName");
+            }
+            for (Object child : document.values()) {
+                var indexName = findIndexScan(child);
+                if (indexName != null) {
+                    return indexName;
+                }
+            }
+        } else if (stage instanceof List<?> children) {
+            for (Object child : children) {
+                var indexName = findIndexScan(child);
+                if (indexName != null) {
+                    return indexName;
+                }
+            }
+        }
+        return null;
+    }
+}
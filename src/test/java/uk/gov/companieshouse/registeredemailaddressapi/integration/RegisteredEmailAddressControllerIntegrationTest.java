@@ -8,6 +8,7 @@ import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.test.web.servlet.MockMvc;
 import uk.gov.companieshouse.api.model.company.CompanyProfileApi;
 import uk.gov.companieshouse.api.model.company.RegisteredEmailAddressJson;
@@ -22,14 +23,19 @@ import uk.gov.companieshouse.registeredemailaddressapi.service.CompanyProfileSer
 import uk.gov.companieshouse.registeredemailaddressapi.service.PrivateDataRetrievalService;
 import uk.gov.companieshouse.registeredemailaddressapi.service.TransactionService;
 
+import java.util.List;
+
 import static java.lang.String.format;
 import static org.hamcrest.Matchers.containsString;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static uk.gov.companieshouse.api.model.transaction.TransactionStatus.CLOSED;
@@ -207,8 +213,8 @@ class RegisteredEmailAddressControllerIntegrationTest {
 
         when(transactionService.getTransaction(any(), any(), any())).thenReturn(transaction);
         when(userAuthenticationInterceptor.preHandle(any(), any(), any())).thenReturn(true);
-        when(registeredEmailAddressRepository.findByTransactionId(transaction.getId())).thenReturn(registeredEmailAddressDAO);
-        when(registeredEmailAddressRepository.save(any(RegisteredEmailAddressDAO.class))).thenReturn(registeredEmailAddressDAO);
+        when(registeredEmailAddressRepository.updateRegisteredEmailAddress(eq(transaction.getId()), any(), eq(email), anyBoolean(), any(), any(), any()))
+                .thenReturn(registeredEmailAddressDAO);
         when(companyProfileService.getCompanyProfile(companyNumber)).thenReturn(companyProfileApi);
 
         RegisteredEmailAddressJson emailResponse = helper.generateRegisteredEmailAddressJson(email);
@@ -219,8 +225,41 @@ class RegisteredEmailAddressControllerIntegrationTest {
                         .header("X-Request-Id", "123456").content(helper.writeToJson(registeredEmailAddressDTO)))
                 .andExpect(status().isOk()).andExpect(jsonPath("$.id").isNotEmpty())
                 .andExpect(jsonPath("$.data.registered_email_address").value("UpdateTest@Test.com"))
-                .andExpect(jsonPath("$.data.accept_appropriate_email_address_statement").value(true));
+                .andExpect(jsonPath("$.data.accept_appropriate_email_address_statement").value(true))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + Helper.ETAG + "\""));
+
+    }
+
+    @Test
+    void testUpdateRegisteredEmailAddressEtagChangedTest() throws Exception {
+        String email = "UpdateTest@Test.com";
+        String companyNumber = "123456";
+
+        Transaction transaction = helper.generateTransaction(companyNumber);
+        transaction.setStatus(OPEN);
+        RegisteredEmailAddressDTO registeredEmailAddressDTO = helper.generateRegisteredEmailAddressDTO(email);
+        RegisteredEmailAddressDAO registeredEmailAddressDAO = helper.generateRegisteredEmailAddressDAO(email, transaction.getId());
+
+        CompanyProfileApi companyProfileApi = helper.generateCompanyProfileApi(companyNumber);
+
+        when(transactionService.getTransaction(any(), any(), any())).thenReturn(transaction);
+        when(userAuthenticationInterceptor.preHandle(any(), any(), any())).thenReturn(true);
+        when(registeredEmailAddressRepository.updateRegisteredEmailAddress(eq(transaction.getId()), eq(List.of("stale-etag")), any(), anyBoolean(), any(), any(), any()))
+                .thenReturn(null);
+        when(registeredEmailAddressRepository.findByTransactionId(transaction.getId())).thenReturn(registeredEmailAddressDAO);
+        when(companyProfileService.getCompanyProfile(companyNumber)).thenReturn(companyProfileApi);
+
+        RegisteredEmailAddressJson emailResponse = helper.generateRegisteredEmailAddressJson(email);
+        when(privateDataRetrievalService.getRegisteredEmailAddress(companyNumber)).thenReturn(emailResponse);
 
+        mvc.perform(put("/transactions/" + transaction.getId() + "/registered-email-address")
+                        .contentType("application/json").header("ERIC-Identity", "123")
+                        .header(HttpHeaders.IF_MATCH, "\"stale-etag\"")
+                        .header("X-Request-Id", "123456").content(helper.writeToJson(registeredEmailAddressDTO)))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$")
+                        .value(format("Registered Email Address for TransactionId : %s has been modified since it was retrieved",
+                                transaction.getId())));
     }
 
     @Test
@@ -288,8 +327,8 @@ class RegisteredEmailAddressControllerIntegrationTest {
 
         when(transactionService.getTransaction(any(), any(), any())).thenReturn(transaction);
         when(userAuthenticationInterceptor.preHandle(any(), any(), any())).thenReturn(true);
-        when(registeredEmailAddressRepository.findByTransactionId(transaction.getId())).thenReturn(registeredEmailAddressDAO);
-        when(registeredEmailAddressRepository.save(any(RegisteredEmailAddressDAO.class))).thenReturn(registeredEmailAddressDAO);
+        when(registeredEmailAddressRepository.updateRegisteredEmailAddress(eq(transaction.getId()), any(), eq(email), anyBoolean(), any(), any(), any()))
+                .thenReturn(registeredEmailAddressDAO);
 
         RegisteredEmailAddressJson emailResponse = helper.generateRegisteredEmailAddressJson(null);
         when(privateDataRetrievalService.getRegisteredEmailAddress(companyNumber)).thenReturn(emailResponse);
@@ -305,6 +344,46 @@ class RegisteredEmailAddressControllerIntegrationTest {
     }
 
 
+    @Test
+    void testGetRegisteredEmailAddressTest() throws Exception {
+        Transaction transaction = helper.generateTransaction();
+        String email = "Test@Test.com";
+        RegisteredEmailAddressDAO registeredEmailAddressDAO = helper
+                .generateRegisteredEmailAddressDAO(email, transaction.getId());
+
+        when(transactionService.getTransaction(any(), any(), any())).thenReturn(transaction);
+        when(userAuthenticationInterceptor.preHandle(any(), any(), any())).thenReturn(true);
+        when(registeredEmailAddressRepository.findByTransactionId(transaction.getId()))
+                .thenReturn(registeredEmailAddressDAO);
+
+        this.mvc.perform(get("/transactions/" + transaction.getId() + "/registered-email-address")
+                        .contentType("application/json").header("ERIC-Identity", "123")
+                        .header("X-Request-Id", "123456"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + Helper.ETAG + "\""))
+                .andExpect(jsonPath("$.data.registered_email_address").value(email));
+    }
+
+    @Test
+    void testGetRegisteredEmailAddressNotModifiedTest() throws Exception {
+        Transaction transaction = helper.generateTransaction();
+        String email = "Test@Test.com";
+        RegisteredEmailAddressDAO registeredEmailAddressDAO = helper
+                .generateRegisteredEmailAddressDAO(email, transaction.getId());
+
+        when(transactionService.getTransaction(any(), any(), any())).thenReturn(transaction);
+        when(userAuthenticationInterceptor.preHandle(any(), any(), any())).thenReturn(true);
+        when(registeredEmailAddressRepository.findByTransactionId(transaction.getId()))
+                .thenReturn(registeredEmailAddressDAO);
+
+        this.mvc.perform(get("/transactions/" + transaction.getId() + "/registered-email-address")
+                        .contentType("application/json").header("ERIC-Identity", "123")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"" + Helper.ETAG + "\"")
+                        .header("X-Request-Id", "123456"))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
     // Test ValidationStatus Endpoints
     @Test
     void testGetValidationStatusTest() throws Exception {
@@ -349,6 +428,26 @@ class RegisteredEmailAddressControllerIntegrationTest {
 
     }
 
+    @Test
+    void testGetValidationStatusNotModifiedTest() throws Exception {
+        Transaction transaction = helper.generateTransaction();
+        String email = "Test@Test.com";
+        RegisteredEmailAddressDAO registeredEmailAddressDAO = helper
+                .generateRegisteredEmailAddressDAO(email, transaction.getId());
+
+        when(transactionService.getTransaction(any(), any(), any())).thenReturn(transaction);
+        when(userAuthenticationInterceptor.preHandle(any(), any(), any())).thenReturn(true);
+        when(registeredEmailAddressRepository.findByTransactionId(transaction.getId()))
+                .thenReturn(registeredEmailAddressDAO);
+
+        this.mvc.perform(get("/transactions/" + transaction.getId() + "/registered-email-address/validation-status")
+                        .contentType("application/json").header("ERIC-Identity", "123")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"" + Helper.ETAG + "\"")
+                        .header("X-Request-Id", "123456"))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
     @Test
     void testGetValidationStatusFailureTest() throws Exception {
         Transaction transaction = helper.generateTransaction();
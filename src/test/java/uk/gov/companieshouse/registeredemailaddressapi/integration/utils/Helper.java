@@ -19,6 +19,8 @@ import uk.gov.companieshouse.registeredemailaddressapi.model.dto.RegisteredEmail
 
 public class Helper {
 
+    public static final String ETAG = "c85e9ba4bd5bcd6c71ae1f1d5e2b5a8b8ef7c1a3";
+
     public Transaction generateTransaction(){
         Transaction transaction = new Transaction();
         Random random = new Random(Integer.MAX_VALUE);
@@ -59,6 +61,7 @@ public class Helper {
         RegisteredEmailAddressData registeredEmailAddressData =  new RegisteredEmailAddressData();
         registeredEmailAddressData.setRegisteredEmailAddress(email);
         registeredEmailAddressData.setAcceptAppropriateEmailAddressStatement(true);
+        registeredEmailAddressData.setEtag(ETAG);
         RegisteredEmailAddressDAO registeredEmailAddressDAO =  new RegisteredEmailAddressDAO();
         registeredEmailAddressDAO.setData(registeredEmailAddressData);
         registeredEmailAddressDAO.setTransactionId(transactionId);
@@ -70,6 +73,7 @@ public class Helper {
         RegisteredEmailAddressResponseData registeredEmailAddressData =  new RegisteredEmailAddressResponseData();
         registeredEmailAddressData.setRegisteredEmailAddress(email);
         registeredEmailAddressData.setAcceptAppropriateEmailAddressStatement(true);
+        registeredEmailAddressData.setEtag(ETAG);
         RegisteredEmailAddressResponseDTO registeredEmailAddressResponseDTO =  new RegisteredEmailAddressResponseDTO();
         registeredEmailAddressResponseDTO.setData(registeredEmailAddressData);
         registeredEmailAddressResponseDTO.setId(UUID.randomUUID().toString());
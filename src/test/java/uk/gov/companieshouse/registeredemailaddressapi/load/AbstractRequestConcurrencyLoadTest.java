@@ -0,0 +1,103 @@
+package uk.gov.companieshouse.registeredemailaddressapi.load;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Tag;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.TestPropertySource;
+
+import uk.gov.companieshouse.registeredemailaddressapi.integration.utils.Helper;
+import uk.gov.companieshouse.registeredemailaddressapi.service.CompanyProfileService;
+
+/**
+ * Sends a burst of concurrent eligibility requests to the running application, with the company profile lookup
+ * standing in for the blocking sdk call by sleeping for a fixed latency. Subclasses choose the threading model used to
+ * handle requests, and check the peak number of downstream calls that were in progress at the same time, which is
+ * the number of requests the application was able to handle at once.
+ * <p/>
+ * The elapsed time is reported as well, but it depends on the number of cpus available, as handling 500 requests
+ * still takes cpu time once the threads are no longer the limit.
+ * <p/>
+ * These tests are excluded from the default build, run them with <code>mvn test -P load-test</code>.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestPropertySource(properties = {"env.name = livesbox",
+        "server.tomcat.threads.max = " + AbstractRequestConcurrencyLoadTest.MAX_REQUEST_THREADS})
+abstract class AbstractRequestConcurrencyLoadTest {
+
+    static final int MAX_REQUEST_THREADS = 50;
+    static final int CONCURRENT_REQUESTS = 500;
+    static final Duration DOWNSTREAM_LATENCY = Duration.ofMillis(200);
+
+    private static final Helper HELPER = new Helper();
+    private static final String COMPANY_NUMBER = "12345678";
+
+    @LocalServerPort
+    private int port;
+
+    @MockBean
+    private CompanyProfileService companyProfileService;
+
+    /**
+     * @return The peak number of downstream calls in progress at the same time
+     */
+    int sendConcurrentRequests() throws Exception {
+        var inProgress = new AtomicInteger();
+        var peakInProgress = new AtomicInteger();
+        given(companyProfileService.getCompanyProfile(anyString())).willAnswer(invocation -> {
+            peakInProgress.accumulateAndGet(inProgress.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(DOWNSTREAM_LATENCY);
+            } finally {
+                inProgress.decrementAndGet();
+            }
+            return HELPER.generateCompanyProfileApi(invocation.getArgument(0));
+        });
+
+        var request = HttpRequest.newBuilder(URI.create(
+                        "http://localhost:" + port + "/registered-email-address/company/" + COMPANY_NUMBER + "/eligibility"))
+                .header("ERIC-Identity", "123")
+                .header("X-Request-Id", "123456")
+                .header("ERIC-Authorised-Token-Permissions", "company_number=" + COMPANY_NUMBER + " company_rea=update")
+                .GET()
+                .build();
+
+        try (var client = HttpClient.newHttpClient(); var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            // warm up the request handling path so it is not included in the timing
+            assertEquals(200, client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode());
+
+            peakInProgress.set(0);
+            long start = System.nanoTime();
+            List<Future<Integer>> statusCodes = new ArrayList<>(CONCURRENT_REQUESTS);
+            for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+                statusCodes.add(executor.submit(
+                        () -> client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode()));
+            }
+            for (Future<Integer> statusCode : statusCodes) {
+                assertEquals(200, statusCode.get());
+            }
+            var elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+            System.out.printf("%s: %d concurrent requests with %d ms downstream latency completed in %d ms, "
+                            + "at most %d handled at the same time%n", getClass().getSimpleName(), CONCURRENT_REQUESTS,
+                    DOWNSTREAM_LATENCY.toMillis(), elapsed.toMillis(), peakInProgress.get());
+            return peakInProgress.get();
+        }
+    }
+}
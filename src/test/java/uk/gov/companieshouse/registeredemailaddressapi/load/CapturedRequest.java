@@ -0,0 +1,62 @@
+package uk.gov.companieshouse.registeredemailaddressapi.load;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * A request captured from live traffic, read from one line of a JSON lines file, for example
+ * <pre>
+ * {"timestamp": "2024-05-01T10:15:30.123Z", "method": "PUT",
+ *  "path": "/transactions/123456-123456-123456/registered-email-address",
+ *  "headers": {"ERIC-Identity": "123", "X-Request-Id": "abc"},
+ *  "body": {"registered_email_address": "info@example.com", "accept_appropriate_email_address_statement": true}}
+ * </pre>
+ * The timestamp is either an ISO-8601 instant or the number of milliseconds since the epoch. The path may include a
+ * query string. The headers and body are optional, a body that is not a JSON string is sent as the JSON it holds.
+ */
+record CapturedRequest(Instant timestamp, String method, String path, Map<String, String> headers, String body) {
+
+    /**
+     * @return The request on the given line, or empty if the line does not hold a captured request
+     */
+    static Optional<CapturedRequest> parse(ObjectMapper objectMapper, String line) {
+        JsonNode json;
+        try {
+            json = objectMapper.readTree(line);
+        } catch (JsonProcessingException e) {
+            return Optional.empty();
+        }
+        if (json == null || !json.hasNonNull("timestamp") || !json.hasNonNull("method") || !json.hasNonNull("path")) {
+            return Optional.empty();
+        }
+
+        var timestampJson = json.get("timestamp");
+        Instant timestamp;
+        try {
+            timestamp = timestampJson.isNumber()
+                    ? Instant.ofEpochMilli(timestampJson.asLong())
+                    : Instant.parse(timestampJson.asText());
+        } catch (RuntimeException e) {
+            return Optional.empty();
+        }
+
+        Map<String, String> headers = new LinkedHashMap<>();
+        var headersJson = json.path("headers");
+        headersJson.fieldNames().forEachRemaining(name -> headers.put(name, headersJson.get(name).asText()));
+
+        var bodyJson = json.get("body");
+        String body = null;
+        if (bodyJson != null && !bodyJson.isNull()) {
+            body = bodyJson.isTextual() ? bodyJson.asText() : bodyJson.toString();
+        }
+
+        return Optional.of(new CapturedRequest(timestamp, json.get("method").asText().toUpperCase(),
+                json.get("path").asText(), headers, body));
+    }
+}
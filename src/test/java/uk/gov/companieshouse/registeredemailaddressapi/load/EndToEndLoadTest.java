@@ -0,0 +1,363 @@
+package uk.gov.companieshouse.registeredemailaddressapi.load;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import uk.gov.companieshouse.api.ApiClient;
+import uk.gov.companieshouse.api.InternalApiClient;
+import uk.gov.companieshouse.api.http.ApiKeyHttpClient;
+import uk.gov.companieshouse.registeredemailaddressapi.client.ApiClientService;
+import uk.gov.companieshouse.registeredemailaddressapi.load.StubApi.Behaviour;
+import uk.gov.companieshouse.registeredemailaddressapi.load.StubApi.Response;
+
+/**
+ * Runs the whole application against local stand-ins for the transactions api, company profile api and
+ * oracle-query-api, and a local Mongo, and sends it a mix of the create, update, get, validation status, filings and
+ * eligibility requests at a target rate. The p50, p99 and p999 latency and the error rate of each endpoint are
+ * reported at the end of the run.
+ * <p/>
+ * Requests are sent at fixed intervals whether or not earlier requests have completed, and their latency is measured
+ * from the time they were due to be sent, so a slow response delays neither the requests after it nor their reported
+ * latency.
+ * <p/>
+ * The load and the stubs are set with system properties, for example
+ * <code>mvn test -P load-test -Dtest=EndToEndLoadTest -Dload.rps=200 -Dload.company-profile-api.latency=150
+ * -Dload.oracle-query-api.error-rate=0.01</code>:
+ * <ul>
+ *     <li><code>load.rps</code>, the target number of requests per second, 50 by default</li>
+ *     <li><code>load.duration</code>, the length of the run in seconds, 30 by default</li>
+ *     <li><code>load.companies</code>, the number of different companies the requests are for, 100 by default</li>
+ *     <li><code>load.&lt;stub&gt;.latency</code>, <code>load.&lt;stub&gt;.jitter</code> and
+ *     <code>load.&lt;stub&gt;.error-rate</code> for each of the <code>transactions-api</code>,
+ *     <code>company-profile-api</code> and <code>oracle-query-api</code> stubs, see {@link Behaviour}</li>
+ * </ul>
+ * Docker is needed to run Mongo, the test is skipped without it.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Testcontainers(disabledWithoutDocker = true)
+@TestPropertySource(properties = {"env.name = local"})
+class EndToEndLoadTest {
+
+    private static final int TARGET_RPS = Integer.getInteger("load.rps", 50);
+    private static final Duration RUN_DURATION = Duration.ofSeconds(Long.getLong("load.duration", 30));
+    private static final int COMPANIES = Integer.getInteger("load.companies", 100);
+    private static final int SEEDED_SUBMISSIONS = 20;
+    private static final int SEED_ATTEMPTS = 10;
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(10);
+
+    private static final String API_KEY = "load-test";
+    private static final String REGISTERED_EMAIL_ADDRESS = "load.test@example.com";
+
+    /**
+     * The transactions that the transactions api stub reports as closed, every other transaction is open.
+     */
+    private static final Set<String> CLOSED_TRANSACTIONS = ConcurrentHashMap.newKeySet();
+
+    @Container
+    private static final MongoDBContainer MONGO = new MongoDBContainer("mongo:6.0");
+
+    private static final StubApi TRANSACTIONS_API = StubApi.start("transactions-api",
+                    Behaviour.fromSystemProperties("transactions-api", Duration.ofMillis(20)))
+            .route("GET", "/transactions/([0-9-]{20})", matcher -> transaction(matcher.group(1)))
+            .route("PATCH", "/private/transactions/([0-9-]{20})", matcher -> new Response(204, null));
+
+    private static final StubApi COMPANY_PROFILE_API = StubApi.start("company-profile-api",
+                    Behaviour.fromSystemProperties("company-profile-api", Duration.ofMillis(50)))
+            .route("GET", "/company/(\\w{8})", matcher -> companyProfile(matcher.group(1)));
+
+    private static final StubApi ORACLE_QUERY_API = StubApi.start("oracle-query-api",
+                    Behaviour.fromSystemProperties("oracle-query-api", Duration.ofMillis(100)))
+            .route("GET", "/company/(\\w{8})/registered-email-address", matcher -> registeredEmailAddress());
+
+    private static final List<StubApi> STUB_APIS = List.of(TRANSACTIONS_API, COMPANY_PROFILE_API, ORACLE_QUERY_API);
+
+    /**
+     * The requests sent, and how often each is sent relative to the others.
+     */
+    private enum Flow {
+        CREATE(10, 201),
+        UPDATE(10, 200),
+        GET(30, 200),
+        VALIDATION_STATUS(20, 200),
+        FILINGS(10, 200),
+        ELIGIBILITY(20, 200);
+
+        private final int weight;
+        private final int expectedStatusCode;
+
+        Flow(int weight, int expectedStatusCode) {
+            this.weight = weight;
+            this.expectedStatusCode = expectedStatusCode;
+        }
+    }
+
+    @LocalServerPort
+    private int port;
+
+    private final AtomicLong transactionSequence = new AtomicLong();
+    private final AtomicLong requestSequence = new AtomicLong();
+
+    // the seeded submissions on open transactions, for the update, get and validation status requests, and on closed
+    // transactions, for the filings requests. Submissions created during the run are not added
+    private final List<String> openSubmissions = new ArrayList<>();
+    private final List<String> closedSubmissions = new ArrayList<>();
+
+    @TestConfiguration
+    static class StubApiClientConfig {
+
+        /**
+         * Points the sdk clients at the stubs, in place of the urls that the sdk reads from the environment. Every
+         * client authenticates with an api key, as the stubs do not check the caller.
+         */
+        @Bean
+        @Primary
+        ApiClientService stubApiClientService() {
+            return new ApiClientService() {
+                @Override
+                public ApiClient getApiKeyAuthenticatedClient() {
+                    return apiClient(COMPANY_PROFILE_API);
+                }
+
+                @Override
+                public ApiClient getOauthAuthenticatedClient(String ericPassThroughHeader) {
+                    return apiClient(TRANSACTIONS_API);
+                }
+
+                @Override
+                public InternalApiClient getInternalApiClient() {
+                    var internalApiClient = new InternalApiClient(new ApiKeyHttpClient(API_KEY));
+                    internalApiClient.setBasePath(TRANSACTIONS_API.baseUrl());
+                    return internalApiClient;
+                }
+            };
+        }
+
+        private static ApiClient apiClient(StubApi stubApi) {
+            var apiClient = new ApiClient(new ApiKeyHttpClient(API_KEY));
+            apiClient.setBasePath(stubApi.baseUrl());
+            return apiClient;
+        }
+    }
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.mongodb.uri", () -> MONGO.getReplicaSetUrl("registered_email_address"));
+        registry.add("ORACLE_QUERY_API_URL", ORACLE_QUERY_API::baseUrl);
+    }
+
+    @AfterAll
+    static void stopStubs() {
+        STUB_APIS.forEach(StubApi::close);
+    }
+
+    @Test
+    void sendRequestsAtTargetRate() throws Exception {
+        try (var client = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor()).build()) {
+            seedSubmissions(client);
+
+            Map<Flow, EndpointStats> stats = new EnumMap<>(Flow.class);
+            for (Flow flow : Flow.values()) {
+                stats.put(flow, new EndpointStats(flow.name().toLowerCase().replace('_', '-')));
+            }
+            var elapsed = sendRequests(client, stats);
+
+            report(stats, elapsed);
+
+            boolean errorsInjected = STUB_APIS.stream().anyMatch(stubApi -> stubApi.behaviour().errorRate() > 0);
+            for (EndpointStats endpointStats : stats.values()) {
+                assertTrue(endpointStats.count() > 0, "no requests sent to " + endpointStats);
+                if (!errorsInjected) {
+                    assertEquals(0, endpointStats.errors(), "unexpected errors from " + endpointStats);
+                }
+            }
+        }
+    }
+
+    /**
+     * Creates the submissions that the update, get, validation status and filings requests are sent for, which also
+     * warms up the application so its startup is not included in the results. The stubs may be injecting errors, so
+     * each submission is retried until it is created.
+     */
+    private void seedSubmissions(HttpClient client) throws Exception {
+        for (int i = 0; i < SEEDED_SUBMISSIONS * 2; i++) {
+            var transactionId = createSubmission(client);
+            if (i % 2 == 0) {
+                openSubmissions.add(transactionId);
+            } else {
+                CLOSED_TRANSACTIONS.add(transactionId);
+                closedSubmissions.add(transactionId);
+            }
+        }
+    }
+
+    private String createSubmission(HttpClient client) throws Exception {
+        for (int attempt = 1; attempt <= SEED_ATTEMPTS; attempt++) {
+            var transactionId = nextTransactionId();
+            var response = client.send(request(Flow.CREATE, transactionId), HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() == Flow.CREATE.expectedStatusCode) {
+                return transactionId;
+            }
+        }
+        throw new IllegalStateException("Unable to create a submission in " + SEED_ATTEMPTS + " attempts");
+    }
+
+    private Duration sendRequests(HttpClient client, Map<Flow, EndpointStats> stats) {
+        long interval = Duration.ofSeconds(1).toNanos() / TARGET_RPS;
+        long start = System.nanoTime();
+        long end = start + RUN_DURATION.toNanos();
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long due = start; due < end; due += interval) {
+                waitUntil(due);
+                var flow = nextFlow();
+                var request = request(flow, transactionIdFor(flow));
+                final long sendAt = due;
+                executor.submit(() -> send(client, request, flow, stats.get(flow), sendAt));
+            }
+        }
+        return Duration.ofNanos(System.nanoTime() - start);
+    }
+
+    private static void send(HttpClient client, HttpRequest request, Flow flow, EndpointStats endpointStats, long sendAt) {
+        boolean error;
+        try {
+            var response = client.send(request, HttpResponse.BodyHandlers.discarding());
+            error = response.statusCode() != flow.expectedStatusCode;
+        } catch (Exception e) {
+            error = true;
+        }
+        endpointStats.record(Duration.ofNanos(System.nanoTime() - sendAt), error);
+    }
+
+    private static void waitUntil(long due) {
+        long remaining;
+        while ((remaining = due - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+
+    private static Flow nextFlow() {
+        int totalWeight = 0;
+        for (Flow flow : Flow.values()) {
+            totalWeight += flow.weight;
+        }
+        int choice = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (Flow flow : Flow.values()) {
+            choice -= flow.weight;
+            if (choice < 0) {
+                return flow;
+            }
+        }
+        throw new IllegalStateException();
+    }
+
+    private String transactionIdFor(Flow flow) {
+        return switch (flow) {
+            case CREATE -> nextTransactionId();
+            case FILINGS -> closedSubmissions.get(ThreadLocalRandom.current().nextInt(closedSubmissions.size()));
+            default -> openSubmissions.get(ThreadLocalRandom.current().nextInt(openSubmissions.size()));
+        };
+    }
+
+    /**
+     * @return A new transaction id, which also identifies the company the transaction is for
+     */
+    private String nextTransactionId() {
+        long sequence = transactionSequence.incrementAndGet();
+        return String.format("%06d-%013d", sequence % COMPANIES, sequence);
+    }
+
+    private static String companyNumber(String transactionId) {
+        return String.format("%08d", Integer.parseInt(transactionId.substring(0, 6)));
+    }
+
+    private HttpRequest request(Flow flow, String transactionId) {
+        var submissionUrl = "http://localhost:" + port + "/transactions/" + transactionId + "/registered-email-address";
+        var builder = switch (flow) {
+            case CREATE -> HttpRequest.newBuilder(URI.create(submissionUrl)).POST(submissionBody());
+            case UPDATE -> HttpRequest.newBuilder(URI.create(submissionUrl)).PUT(submissionBody());
+            case GET -> HttpRequest.newBuilder(URI.create(submissionUrl)).GET();
+            case VALIDATION_STATUS -> HttpRequest.newBuilder(URI.create(submissionUrl + "/validation-status")).GET();
+            case FILINGS -> HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/private/transactions/"
+                            + transactionId + "/registered-email-address/filings"))
+                    .header("ERIC-Identity-Type", "key")
+                    .header("ERIC-Authorised-Key-Privileges", "internal-app")
+                    .GET();
+            case ELIGIBILITY -> HttpRequest.newBuilder(URI.create("http://localhost:" + port
+                    + "/registered-email-address/company/" + companyNumber(transactionId) + "/eligibility")).GET();
+        };
+        return builder
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .header("ERIC-Identity", "load-test-user")
+                .header("X-Request-Id", "load-test-" + requestSequence.incrementAndGet())
+                .header("ERIC-Authorised-Token-Permissions",
+                        "company_number=" + companyNumber(transactionId) + " company_rea=update")
+                .build();
+    }
+
+    private static HttpRequest.BodyPublisher submissionBody() {
+        return HttpRequest.BodyPublishers.ofString(String.format(
+                "{\"registered_email_address\":\"%s\",\"accept_appropriate_email_address_statement\":true}",
+                REGISTERED_EMAIL_ADDRESS));
+    }
+
+    private static Response transaction(String transactionId) {
+        var status = CLOSED_TRANSACTIONS.contains(transactionId) ? "closed" : "open";
+        return new Response(200, String.format("{\"id\":\"%s\",\"company_number\":\"%s\",\"status\":\"%s\"}",
+                transactionId, companyNumber(transactionId), status));
+    }
+
+    private static Response companyProfile(String companyNumber) {
+        return new Response(200, String.format("{\"company_number\":\"%s\",\"company_name\":\"LOAD TEST %s LIMITED\","
+                + "\"company_status\":\"active\",\"type\":\"ltd\"}", companyNumber, companyNumber));
+    }
+
+    private static Response registeredEmailAddress() {
+        return new Response(200, "{\"registered_email_address\":\"existing@example.com\"}");
+    }
+
+    private static void report(Map<Flow, EndpointStats> stats, Duration elapsed) {
+        long requests = stats.values().stream().mapToLong(EndpointStats::count).sum();
+        System.out.printf("%n%s: %d requests in %d ms, %.1f per second against a target of %d%n",
+                EndToEndLoadTest.class.getSimpleName(), requests, elapsed.toMillis(),
+                requests * 1000.0 / elapsed.toMillis(), TARGET_RPS);
+        System.out.println(EndpointStats.header());
+        stats.values().forEach(System.out::println);
+        for (StubApi stubApi : STUB_APIS) {
+            System.out.printf("%s stub: %d requests, %d injected errors, %s%n", stubApi.name(), stubApi.requests(),
+                    stubApi.injectedErrors(), stubApi.behaviour());
+        }
+    }
+}
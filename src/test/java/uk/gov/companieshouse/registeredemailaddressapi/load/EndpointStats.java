@@ -0,0 +1,107 @@
+package uk.gov.companieshouse.registeredemailaddressapi.load;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Records the latency of every request sent to one endpoint, and whether it failed, so the exact percentiles can be
+ * reported once the run is over. The sender decides which responses count as failures.
+ */
+class EndpointStats {
+
+    private static final long[] HISTOGRAM_BUCKETS_MILLIS = {1, 2, 5, 10, 20, 50, 100, 200, 500, 1000, 2000, 5000, 10000};
+
+    private final String endpoint;
+    private long[] latencies = new long[1024];
+    private int count;
+    private int errors;
+
+    EndpointStats(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    String endpoint() {
+        return endpoint;
+    }
+
+    synchronized void record(Duration latency, boolean error) {
+        if (count == latencies.length) {
+            latencies = Arrays.copyOf(latencies, count * 2);
+        }
+        latencies[count++] = latency.toNanos();
+        if (error) {
+            errors++;
+        }
+    }
+
+    synchronized int count() {
+        return count;
+    }
+
+    synchronized int errors() {
+        return errors;
+    }
+
+    synchronized double errorRate() {
+        return count == 0 ? 0 : (double) errors / count;
+    }
+
+    /**
+     * @param percentile The percentile between 0 and 100
+     * @return The lowest latency that the given percentage of requests completed within, using the nearest rank
+     */
+    synchronized Duration percentile(double percentile) {
+        if (count == 0) {
+            return Duration.ZERO;
+        }
+        var sorted = Arrays.copyOf(latencies, count);
+        Arrays.sort(sorted);
+        int rank = (int) Math.ceil(percentile / 100 * count);
+        return Duration.ofNanos(sorted[Math.max(rank, 1) - 1]);
+    }
+
+    /**
+     * @return The number of requests in each latency bucket, one line per bucket up to the slowest request, with a
+     * bar scaled to the largest bucket
+     */
+    synchronized String histogram() {
+        var bucketCounts = new int[HISTOGRAM_BUCKETS_MILLIS.length + 1];
+        int lastBucket = 0;
+        for (int i = 0; i < count; i++) {
+            int bucket = 0;
+            while (bucket < HISTOGRAM_BUCKETS_MILLIS.length
+                    && latencies[i] > HISTOGRAM_BUCKETS_MILLIS[bucket] * 1_000_000L) {
+                bucket++;
+            }
+            bucketCounts[bucket]++;
+            lastBucket = Math.max(lastBucket, bucket);
+        }
+        int largestBucket = Arrays.stream(bucketCounts).max().orElse(0);
+
+        var histogram = new StringBuilder();
+        for (int bucket = 0; bucket <= lastBucket; bucket++) {
+            var bound = bucket < HISTOGRAM_BUCKETS_MILLIS.length
+                    ? "<= " + HISTOGRAM_BUCKETS_MILLIS[bucket] + " ms"
+                    : "> " + HISTOGRAM_BUCKETS_MILLIS[bucket - 1] + " ms";
+            int barLength = largestBucket == 0 ? 0 : (int) Math.ceil(50.0 * bucketCounts[bucket] / largestBucket);
+            histogram.append(String.format("  %12s %9d %s%n", bound, bucketCounts[bucket], "#".repeat(barLength)));
+        }
+        return histogram.toString();
+    }
+
+    static String header() {
+        return String.format("%-20s %9s %7s %8s %10s %10s %10s %10s",
+                "endpoint", "requests", "errors", "error %", "p50 ms", "p99 ms", "p999 ms", "max ms");
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%-20s %9d %7d %8.2f %10.1f %10.1f %10.1f %10.1f", endpoint, count(), errors(),
+                errorRate() * 100, millis(percentile(50)), millis(percentile(99)), millis(percentile(99.9)),
+                millis(percentile(100)));
+    }
+
+    private static double millis(Duration duration) {
+        return duration.toNanos() / 1_000_000.0;
+    }
+}
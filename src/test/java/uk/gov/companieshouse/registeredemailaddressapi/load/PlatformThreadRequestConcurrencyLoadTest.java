@@ -0,0 +1,19 @@
+package uk.gov.companieshouse.registeredemailaddressapi.load;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.context.TestPropertySource;
+
+@TestPropertySource(properties = {"spring.threads.virtual.enabled = false"})
+class PlatformThreadRequestConcurrencyLoadTest extends AbstractRequestConcurrencyLoadTest {
+
+    @Test
+    void concurrencyIsLimitedByThreadPool() throws Exception {
+        int peakConcurrency = sendConcurrentRequests();
+
+        // every request thread is blocked on the downstream call, so the remaining requests queue for a free one
+        assertTrue(peakConcurrency <= MAX_REQUEST_THREADS,
+                "expected at most " + MAX_REQUEST_THREADS + " requests handled at the same time but was " + peakConcurrency);
+    }
+}
@@ -0,0 +1,219 @@
+package uk.gov.companieshouse.registeredemailaddressapi.load;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.LockSupport;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Replays requests captured from live traffic, see {@link CapturedRequest}, against a running instance of the
+ * application, and reports the latency of each route in <code>routes.yaml</code>.
+ * <p/>
+ * The requests are sent in timestamp order. By default they are sent with the same gaps between them as when they
+ * were captured, <code>--speed</code> divides the gaps, so <code>--speed 10</code> replays ten minutes of traffic in
+ * one minute, and <code>--speed max</code> sends each request as soon as fewer than <code>--concurrency</code> are in
+ * progress. When the timing is kept, a request's latency is measured from the time it was due to be sent, so time
+ * spent waiting for a free slot because the application has fallen behind counts towards it.
+ * <p/>
+ * A request fails when it gets no response or a 5xx response. Other responses, such as a 404 for a transaction that
+ * only exists in the environment the requests were captured from, count as successes.
+ * <p/>
+ * Run it against an instance started locally with
+ * <code>mvn verify -P replay -DskipTests -Dreplay.args="--file captured.jsonl --target http://localhost:8080"</code>.
+ * The options are:
+ * <ul>
+ *     <li><code>--file</code>, the JSON lines file of captured requests, lines that do not hold a request are skipped</li>
+ *     <li><code>--target</code>, the url of the instance, <code>http://localhost:8080</code> by default</li>
+ *     <li><code>--speed</code>, a number greater than 0 or <code>max</code>, 1 by default</li>
+ *     <li><code>--concurrency</code>, the most requests in progress at the same time, 64 by default</li>
+ *     <li><code>--routes</code>, the routes file, <code>routes.yaml</code> by default</li>
+ * </ul>
+ */
+public class RequestReplay {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    // headers that the http client sets itself and will not accept from the caller
+    private static final Set<String> RESTRICTED_HEADERS = Set.of("connection", "content-length", "expect", "host",
+            "upgrade");
+
+    private final List<CapturedRequest> requests;
+    private final URI target;
+    private final double speed;
+    private final int concurrency;
+    private final RouteTable routeTable;
+
+    RequestReplay(List<CapturedRequest> requests, URI target, double speed, int concurrency, RouteTable routeTable) {
+        this.requests = requests.stream().sorted(Comparator.comparing(CapturedRequest::timestamp)).toList();
+        this.target = target;
+        this.speed = speed;
+        this.concurrency = concurrency;
+        this.routeTable = routeTable;
+    }
+
+    public static void main(String[] args) throws Exception {
+        var options = parseOptions(args);
+        if (!options.containsKey("file")) {
+            System.err.println("Usage: RequestReplay --file <captured requests> [--target <url>] "
+                    + "[--speed <number>|max] [--concurrency <number>] [--routes <routes.yaml>]");
+            System.exit(1);
+        }
+
+        var file = Path.of(options.get("file"));
+        var objectMapper = new ObjectMapper();
+        List<CapturedRequest> requests = new ArrayList<>();
+        int skippedLines = 0;
+        for (String line : Files.readAllLines(file)) {
+            if (line.isBlank()) {
+                continue;
+            }
+            var request = CapturedRequest.parse(objectMapper, line);
+            if (request.isPresent()) {
+                requests.add(request.get());
+            } else {
+                skippedLines++;
+            }
+        }
+        System.out.printf("Read %d requests from %s, skipped %d lines that are not captured requests%n",
+                requests.size(), file, skippedLines);
+        if (requests.isEmpty()) {
+            return;
+        }
+
+        var speedOption = options.getOrDefault("speed", "1");
+        double speed = "max".equalsIgnoreCase(speedOption) ? Double.POSITIVE_INFINITY : Double.parseDouble(speedOption);
+        if (!(speed > 0)) {
+            throw new IllegalArgumentException("--speed must be greater than 0 or max, but was " + speedOption);
+        }
+
+        var replay = new RequestReplay(requests,
+                URI.create(options.getOrDefault("target", "http://localhost:8080")),
+                speed,
+                Integer.parseInt(options.getOrDefault("concurrency", "64")),
+                RouteTable.load(Path.of(options.getOrDefault("routes", "routes.yaml"))));
+        var stats = replay.run();
+        replay.report(stats);
+    }
+
+    /**
+     * @return The stats for each route that requests were sent to, in the order of the routes table
+     */
+    Map<String, EndpointStats> run() throws InterruptedException {
+        Map<String, EndpointStats> stats = new LinkedHashMap<>();
+        routeTable.routes().forEach(route -> stats.put(route.name(), new EndpointStats(route.name())));
+        stats.put(RouteTable.UNMATCHED, new EndpointStats(RouteTable.UNMATCHED));
+
+        boolean keepTiming = speed != Double.POSITIVE_INFINITY;
+        var firstTimestamp = requests.get(0).timestamp();
+        var inProgress = new Semaphore(concurrency);
+        long start = System.nanoTime();
+
+        try (var client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1)
+                     .executor(Executors.newVirtualThreadPerTaskExecutor()).build();
+             var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (CapturedRequest capturedRequest : requests) {
+                long due = start;
+                if (keepTiming) {
+                    due += (long) (Duration.between(firstTimestamp, capturedRequest.timestamp()).toNanos() / speed);
+                    waitUntil(due);
+                }
+                inProgress.acquire();
+                final long sendAt = keepTiming ? due : System.nanoTime();
+                var endpointStats = stats.get(routeTable.routeOf(capturedRequest.path()));
+                var request = toHttpRequest(capturedRequest);
+                executor.submit(() -> {
+                    try {
+                        send(client, request, endpointStats, sendAt);
+                    } finally {
+                        inProgress.release();
+                    }
+                });
+            }
+        }
+        System.out.printf("Replayed %d requests in %d ms%n", requests.size(),
+                Duration.ofNanos(System.nanoTime() - start).toMillis());
+
+        stats.values().removeIf(endpointStats -> endpointStats.count() == 0);
+        return stats;
+    }
+
+    private static void send(HttpClient client, HttpRequest request, EndpointStats endpointStats, long sendAt) {
+        boolean error;
+        try {
+            var response = client.send(request, HttpResponse.BodyHandlers.discarding());
+            error = response.statusCode() >= 500;
+        } catch (IOException e) {
+            error = true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            error = true;
+        }
+        endpointStats.record(Duration.ofNanos(System.nanoTime() - sendAt), error);
+    }
+
+    private HttpRequest toHttpRequest(CapturedRequest capturedRequest) {
+        var bodyPublisher = capturedRequest.body() == null
+                ? HttpRequest.BodyPublishers.noBody()
+                : HttpRequest.BodyPublishers.ofString(capturedRequest.body());
+        var builder = HttpRequest.newBuilder(target.resolve(capturedRequest.path()))
+                .timeout(REQUEST_TIMEOUT)
+                .method(capturedRequest.method(), bodyPublisher);
+        capturedRequest.headers().forEach((name, value) -> {
+            if (!RESTRICTED_HEADERS.contains(name.toLowerCase())) {
+                builder.header(name, value);
+            }
+        });
+        return builder.build();
+    }
+
+    private void report(Map<String, EndpointStats> stats) {
+        System.out.println();
+        for (RouteTable.Route route : routeTable.routes()) {
+            if (stats.containsKey(route.name())) {
+                System.out.printf("%s: %s%n", route.name(), route.pattern());
+            }
+        }
+        System.out.println();
+        System.out.println(EndpointStats.header());
+        stats.values().forEach(System.out::println);
+        stats.values().forEach(endpointStats -> System.out.printf("%n%s%n%s",
+                endpointStats.endpoint(), endpointStats.histogram()));
+    }
+
+    private static void waitUntil(long due) {
+        long remaining;
+        while ((remaining = due - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            if (!args[i].startsWith("--")) {
+                throw new IllegalArgumentException("Expected an option but was " + args[i]);
+            }
+            options.put(args[i].substring(2), args[i + 1]);
+        }
+        if (args.length % 2 != 0) {
+            throw new IllegalArgumentException("No value given for " + args[args.length - 1]);
+        }
+        return options;
+    }
+}
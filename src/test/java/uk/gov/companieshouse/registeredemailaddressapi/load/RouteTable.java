@@ -0,0 +1,61 @@
+package uk.gov.companieshouse.registeredemailaddressapi.load;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import org.yaml.snakeyaml.Yaml;
+
+/**
+ * The routes the application is published under, read from the <code>routes</code> section of
+ * <code>routes.yaml</code>. A path belongs to the first route, in file order, whose pattern matches its start.
+ */
+class RouteTable {
+
+    static final String UNMATCHED = "unmatched";
+
+    record Route(String name, Pattern pattern) {
+    }
+
+    private final List<Route> routes;
+
+    RouteTable(List<Route> routes) {
+        this.routes = List.copyOf(routes);
+    }
+
+    static RouteTable load(Path routesYaml) throws IOException {
+        try (Reader reader = Files.newBufferedReader(routesYaml)) {
+            Map<String, Object> yaml = new Yaml().load(reader);
+            if (yaml == null || !(yaml.get("routes") instanceof Map<?, ?> routesYamlMap)) {
+                throw new IllegalArgumentException("No routes found in " + routesYaml);
+            }
+            List<Route> routes = new ArrayList<>();
+            routesYamlMap.forEach((name, pattern) ->
+                    routes.add(new Route("route " + name, Pattern.compile(String.valueOf(pattern)))));
+            return new RouteTable(routes);
+        }
+    }
+
+    List<Route> routes() {
+        return routes;
+    }
+
+    /**
+     * @return The name of the route the path belongs to, ignoring any query string, or {@link #UNMATCHED}
+     */
+    String routeOf(String path) {
+        int queryStart = path.indexOf('?');
+        var pathWithoutQuery = queryStart < 0 ? path : path.substring(0, queryStart);
+        for (Route route : routes) {
+            if (route.pattern().matcher(pathWithoutQuery).lookingAt()) {
+                return route.name();
+            }
+        }
+        return UNMATCHED;
+    }
+}
@@ -0,0 +1,170 @@
+package uk.gov.companieshouse.registeredemailaddressapi.load;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * A local stand-in for one of the remote apis the application calls, served by the jdk http server on a free port.
+ * Each request is delayed by the configured latency, plus a random jitter, and then fails with a 500 response at
+ * the configured error rate, otherwise it is answered by the first route matching its method and path, or with a
+ * 404 response if there is none.
+ * <p/>
+ * Requests are handled on virtual threads, so the latency does not limit the number of requests handled at once.
+ */
+class StubApi implements AutoCloseable {
+
+    /**
+     * The latency and errors injected into every request.
+     */
+    record Behaviour(Duration latency, Duration jitter, double errorRate) {
+
+        /**
+         * Reads the behaviour from the system properties <code>load.&lt;name&gt;.latency</code>,
+         * <code>load.&lt;name&gt;.jitter</code> and <code>load.&lt;name&gt;.error-rate</code>, with the latency and
+         * jitter in milliseconds and the error rate between 0 and 1.
+         */
+        static Behaviour fromSystemProperties(String name, Duration defaultLatency) {
+            return new Behaviour(
+                    Duration.ofMillis(Long.getLong("load." + name + ".latency", defaultLatency.toMillis())),
+                    Duration.ofMillis(Long.getLong("load." + name + ".jitter", 0)),
+                    Double.parseDouble(System.getProperty("load." + name + ".error-rate", "0")));
+        }
+    }
+
+    /**
+     * A response to a matched request, a <code>null</code> body sends no content.
+     */
+    record Response(int statusCode, String body) {
+    }
+
+    private record Route(String method, Pattern path, Function<Matcher, Response> handler) {
+    }
+
+    private final String name;
+    private final Behaviour behaviour;
+    private final HttpServer server;
+    private final List<Route> routes = new CopyOnWriteArrayList<>();
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong injectedErrors = new AtomicLong();
+
+    private StubApi(String name, Behaviour behaviour) throws IOException {
+        this.name = name;
+        this.behaviour = behaviour;
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        this.server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        this.server.createContext("/", this::handle);
+    }
+
+    static StubApi start(String name, Behaviour behaviour) {
+        try {
+            var stubApi = new StubApi(name, behaviour);
+            stubApi.server.start();
+            return stubApi;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to start stub " + name, e);
+        }
+    }
+
+    /**
+     * Answers requests with the given method and a path matching the given regular expression, the handler is
+     * passed the matcher so it can read the groups in the path.
+     */
+    StubApi route(String method, String pathRegex, Function<Matcher, Response> handler) {
+        routes.add(new Route(method, Pattern.compile(pathRegex), handler));
+        return this;
+    }
+
+    String baseUrl() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    String name() {
+        return name;
+    }
+
+    Behaviour behaviour() {
+        return behaviour;
+    }
+
+    long requests() {
+        return requests.get();
+    }
+
+    long injectedErrors() {
+        return injectedErrors.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            requests.incrementAndGet();
+            exchange.getRequestBody().transferTo(OutputStream.nullOutputStream());
+            sleep(delay());
+
+            if (behaviour.errorRate() > 0 && ThreadLocalRandom.current().nextDouble() < behaviour.errorRate()) {
+                injectedErrors.incrementAndGet();
+                send(exchange, new Response(500, "{\"error\":\"injected by " + name + " stub\"}"));
+                return;
+            }
+
+            var path = exchange.getRequestURI().getPath();
+            for (Route route : routes) {
+                var matcher = route.path().matcher(path);
+                if (route.method().equals(exchange.getRequestMethod()) && matcher.matches()) {
+                    send(exchange, route.handler().apply(matcher));
+                    return;
+                }
+            }
+            send(exchange, new Response(404, null));
+        }
+    }
+
+    private Duration delay() {
+        if (behaviour.jitter().isZero()) {
+            return behaviour.latency();
+        }
+        return behaviour.latency().plusMillis(ThreadLocalRandom.current().nextLong(behaviour.jitter().toMillis() + 1));
+    }
+
+    private static void sleep(Duration delay) {
+        if (delay.isZero()) {
+            return;
+        }
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void send(HttpExchange exchange, Response response) throws IOException {
+        if (response.body() == null) {
+            exchange.sendResponseHeaders(response.statusCode(), -1);
+            return;
+        }
+        var body = response.body().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(response.statusCode(), body.length);
+        exchange.getResponseBody().write(body);
+    }
+}
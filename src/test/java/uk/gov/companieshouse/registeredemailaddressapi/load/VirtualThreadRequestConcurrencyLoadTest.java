@@ -0,0 +1,19 @@
+package uk.gov.companieshouse.registeredemailaddressapi.load;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.context.TestPropertySource;
+
+@TestPropertySource(properties = {"spring.threads.virtual.enabled = true"})
+class VirtualThreadRequestConcurrencyLoadTest extends AbstractRequestConcurrencyLoadTest {
+
+    @Test
+    void concurrencyIsNotLimitedByThreadPool() throws Exception {
+        int peakConcurrency = sendConcurrentRequests();
+
+        // a blocked virtual thread releases its carrier, so requests do not wait for a free request thread
+        assertTrue(peakConcurrency > MAX_REQUEST_THREADS,
+                "expected more than " + MAX_REQUEST_THREADS + " requests handled at the same time but was " + peakConcurrency);
+    }
+}
@@ -0,0 +1,187 @@
+package uk.gov.companieshouse.registeredemailaddressapi.unit.client;
+
+import org.junit.jupiter.api.Test;
+import uk.gov.companieshouse.registeredemailaddressapi.client.CircuitBreaker;
+import uk.gov.companieshouse.registeredemailaddressapi.client.CircuitBreaker.State;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CircuitBreakerTest {
+
+    private static final CircuitBreaker.Settings SETTINGS =
+            new CircuitBreaker.Settings(50, 10, 4, Duration.ofSeconds(30), 2);
+
+    private final AtomicLong clock = new AtomicLong(TimeUnit.SECONDS.toNanos(100));
+
+    private final List<String> transitions = new ArrayList<>();
+
+    private final CircuitBreaker circuitBreaker =
+            new CircuitBreaker(SETTINGS, (from, to) -> transitions.add(from + "->" + to), clock::get);
+
+    @Test
+    void testStaysClosedBelowMinimumCalls() {
+        for (int i = 0; i < 3; i++) {
+            call(false);
+        }
+
+        assertEquals(State.CLOSED, circuitBreaker.getState());
+        assertEquals(-1, circuitBreaker.getFailureRate());
+    }
+
+    @Test
+    void testOpensAtFailureRateThreshold() {
+        call(true);
+        call(true);
+        call(true);
+        assertEquals(State.CLOSED, circuitBreaker.getState());
+
+        call(false);
+
+        assertEquals(State.OPEN, circuitBreaker.getState());
+        assertEquals(CircuitBreaker.NO_PERMIT, circuitBreaker.tryAcquire());
+        assertEquals(List.of("CLOSED->OPEN"), transitions);
+    }
+
+    @Test
+    void testOldOutcomesLeaveTheSlidingWindow() {
+        for (int i = 0; i < 4; i++) {
+            call(false);
+            call(false);
+            call(true);
+        }
+        // the window holds the last 10 calls, 4 of them failures
+        assertEquals(40f, circuitBreaker.getFailureRate());
+        assertEquals(10, circuitBreaker.getBufferedCalls());
+        assertEquals(State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    void testHalfOpenClosesAfterSuccessfulProbes() {
+        open();
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(30));
+
+        long firstProbe = acquire();
+        long secondProbe = acquire();
+        assertEquals(State.HALF_OPEN, circuitBreaker.getState());
+        // only the probes are let through
+        assertEquals(CircuitBreaker.NO_PERMIT, circuitBreaker.tryAcquire());
+
+        circuitBreaker.onSuccess(firstProbe);
+        circuitBreaker.onSuccess(secondProbe);
+
+        assertEquals(State.CLOSED, circuitBreaker.getState());
+        assertEquals(0, circuitBreaker.getBufferedCalls());
+        assertEquals(List.of("CLOSED->OPEN", "OPEN->HALF_OPEN", "HALF_OPEN->CLOSED"), transitions);
+    }
+
+    @Test
+    void testHalfOpenReopensOnFailedProbe() {
+        open();
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(30));
+
+        circuitBreaker.onFailure(acquire());
+
+        assertEquals(State.OPEN, circuitBreaker.getState());
+        assertEquals(CircuitBreaker.NO_PERMIT, circuitBreaker.tryAcquire());
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(29));
+        assertEquals(CircuitBreaker.NO_PERMIT, circuitBreaker.tryAcquire());
+    }
+
+    @Test
+    void testIgnoredProbeFreesItsPlace() {
+        open();
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(30));
+
+        acquire();
+        circuitBreaker.onIgnored(acquire());
+
+        acquire();
+        assertEquals(State.HALF_OPEN, circuitBreaker.getState());
+    }
+
+    @Test
+    void testOutcomesReportedWhileOpenAreIgnored() {
+        long successful = acquire();
+        long failed = acquire();
+        open();
+
+        circuitBreaker.onSuccess(successful);
+        circuitBreaker.onFailure(failed);
+
+        assertEquals(State.OPEN, circuitBreaker.getState());
+        assertEquals(List.of("CLOSED->OPEN"), transitions);
+    }
+
+    @Test
+    void testOutcomesOfCallsMadeWhileClosedAreNotProbes() {
+        long successful = acquire();
+        long ignored = acquire();
+        long failed = acquire();
+        open();
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(30));
+        acquire();
+        acquire();
+        assertEquals(State.HALF_OPEN, circuitBreaker.getState());
+
+        circuitBreaker.onSuccess(successful);
+        circuitBreaker.onSuccess(successful);
+        circuitBreaker.onIgnored(ignored);
+        circuitBreaker.onFailure(failed);
+
+        // neither closed nor reopened, and no place freed for another probe
+        assertEquals(State.HALF_OPEN, circuitBreaker.getState());
+        assertEquals(CircuitBreaker.NO_PERMIT, circuitBreaker.tryAcquire());
+    }
+
+    @Test
+    void testOutcomesOfProbesAreIgnoredOnceReopened() {
+        open();
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(30));
+        long failedProbe = acquire();
+        long lateProbe = acquire();
+        circuitBreaker.onFailure(failedProbe);
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(30));
+        long probe = acquire();
+
+        circuitBreaker.onSuccess(lateProbe);
+        circuitBreaker.onSuccess(probe);
+
+        assertEquals(State.HALF_OPEN, circuitBreaker.getState());
+    }
+
+    @Test
+    void testInvalidSettingsRejected() {
+        var openDuration = Duration.ofSeconds(1);
+        assertThrows(IllegalArgumentException.class, () -> new CircuitBreaker.Settings(0, 10, 5, openDuration, 1));
+        assertThrows(IllegalArgumentException.class, () -> new CircuitBreaker.Settings(50, 10, 11, openDuration, 1));
+        assertThrows(IllegalArgumentException.class, () -> new CircuitBreaker.Settings(50, 10, 5, openDuration, 0));
+    }
+
+    private void open() {
+        for (int i = 0; i < SETTINGS.minimumCalls(); i++) {
+            call(true);
+        }
+        assertEquals(State.OPEN, circuitBreaker.getState());
+    }
+
+    private void call(boolean failure) {
+        long permit = acquire();
+        if (failure) {
+            circuitBreaker.onFailure(permit);
+        } else {
+            circuitBreaker.onSuccess(permit);
+        }
+    }
+
+    private long acquire() {
+        long permit = circuitBreaker.tryAcquire();
+        assertNotEquals(CircuitBreaker.NO_PERMIT, permit);
+        return permit;
+    }
+}
@@ -0,0 +1,287 @@
+package uk.gov.companieshouse.registeredemailaddressapi.unit.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.google.api.client.http.HttpHeaders;
+import com.google.api.client.http.HttpResponseException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import uk.gov.companieshouse.api.error.ApiErrorResponseException;
+import uk.gov.companieshouse.api.model.ApiResponse;
+import uk.gov.companieshouse.registeredemailaddressapi.client.CircuitBreaker;
+import uk.gov.companieshouse.registeredemailaddressapi.client.DownstreamGuard;
+import uk.gov.companieshouse.registeredemailaddressapi.exception.DownstreamUnavailableException;
+import uk.gov.companieshouse.registeredemailaddressapi.metrics.Downstream;
+import uk.gov.companieshouse.registeredemailaddressapi.metrics.DownstreamMetrics;
+
+class DownstreamGuardTest {
+
+    private static final String OPERATION = "get-company-profile";
+    private static final String DEPENDENCY = "company-profile-api";
+
+    private static final CircuitBreaker.Settings CIRCUIT_BREAKER_SETTINGS =
+            new CircuitBreaker.Settings(50, 10, 2, Duration.ofSeconds(30), 1);
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private DownstreamGuard downstreamGuard;
+
+    @BeforeEach
+    void init() {
+        meterRegistry = new SimpleMeterRegistry();
+        downstreamGuard = new DownstreamGuard(new DownstreamMetrics(meterRegistry), meterRegistry,
+                Map.of(Downstream.COMPANY_PROFILE_API, new DownstreamGuard.Policy(Duration.ofMillis(200), 1)),
+                CIRCUIT_BREAKER_SETTINGS);
+    }
+
+    @AfterEach
+    void close() {
+        downstreamGuard.close();
+    }
+
+    @Test
+    void testSuccessfulCallReturnsResponse() throws Exception {
+        var response = new ApiResponse<>(200, Map.of(), "data");
+
+        var result = downstreamGuard.call(Downstream.COMPANY_PROFILE_API, OPERATION, () -> response);
+
+        assertSame(response, result);
+        assertEquals(1, meterRegistry.get(DownstreamMetrics.CALLS_METRIC).tag("dependency", DEPENDENCY).timer().count());
+        assertEquals(0, downstreamGuard.getStatus().get(DEPENDENCY).activeCalls());
+    }
+
+    @Test
+    void testServerErrorsOpenCircuit() {
+        var serverError = ApiErrorResponseException.fromIOException(new IOException("ERROR"));
+
+        for (int i = 0; i < CIRCUIT_BREAKER_SETTINGS.minimumCalls(); i++) {
+            var thrown = assertThrows(ApiErrorResponseException.class, () -> downstreamGuard.call(
+                    Downstream.COMPANY_PROFILE_API, OPERATION, () -> {
+                        throw serverError;
+                    }));
+            assertSame(serverError, thrown);
+        }
+
+        assertEquals(CircuitBreaker.State.OPEN, downstreamGuard.getState(Downstream.COMPANY_PROFILE_API));
+        assertThrows(DownstreamUnavailableException.class, () -> downstreamGuard.call(
+                Downstream.COMPANY_PROFILE_API, OPERATION, () -> new ApiResponse<>(200, Map.of(), "data")));
+        assertEquals(1, rejectedCount("circuit-open"));
+        assertEquals(1, meterRegistry.get(DownstreamGuard.STATE_METRIC).tag("dependency", DEPENDENCY).gauge().value());
+    }
+
+    @Test
+    void testClientErrorsDoNotOpenCircuit() {
+        var notFound = ApiErrorResponseException.fromHttpResponseException(
+                new HttpResponseException.Builder(404, "ERROR", new HttpHeaders()).build());
+
+        for (int i = 0; i < 5; i++) {
+            assertThrows(ApiErrorResponseException.class, () -> downstreamGuard.call(
+                    Downstream.COMPANY_PROFILE_API, OPERATION, () -> {
+                        throw notFound;
+                    }));
+        }
+
+        assertEquals(CircuitBreaker.State.CLOSED, downstreamGuard.getState(Downstream.COMPANY_PROFILE_API));
+        assertEquals(0f, downstreamGuard.getStatus().get(DEPENDENCY).failureRate());
+    }
+
+    @Test
+    void testSlowCallTimesOutAndKeepsItsPlaceInBulkhead() throws Exception {
+        var release = new CountDownLatch(1);
+
+        var thrown = assertThrows(DownstreamUnavailableException.class, () -> downstreamGuard.call(
+                Downstream.COMPANY_PROFILE_API, OPERATION, () -> {
+                    awaitUninterruptibly(release);
+                    return new ApiResponse<>(200, Map.of(), "data");
+                }));
+        assertTrue(thrown.getMessage().contains("timeout"));
+        assertEquals(1, rejectedCount("timeout"));
+
+        // the abandoned call still holds the only permit
+        assertThrows(DownstreamUnavailableException.class, () -> downstreamGuard.call(
+                Downstream.COMPANY_PROFILE_API, OPERATION, () -> new ApiResponse<>(200, Map.of(), "data")));
+        assertEquals(1, rejectedCount("bulkhead-full"));
+
+        release.countDown();
+        waitForActiveCalls(0);
+        var response = downstreamGuard.call(Downstream.COMPANY_PROFILE_API, OPERATION,
+                () -> new ApiResponse<>(200, Map.of(), "data"));
+        assertEquals("data", response.getData());
+    }
+
+    @Test
+    void testDownstreamWithoutPolicyIsCalledDirectly() throws Exception {
+        var response = new ApiResponse<>(200, Map.of(), "data");
+
+        assertSame(response, downstreamGuard.call(Downstream.TRANSACTIONS_API, "get-transaction", () -> response));
+        assertEquals(Map.of(DEPENDENCY, downstreamGuard.getStatus().get(DEPENDENCY)), downstreamGuard.getStatus());
+    }
+
+    @Test
+    void testSlowReadIsHedgedAndHedgeWins() throws Exception {
+        var hedgingGuard = hedgingGuard(5);
+        var calls = new AtomicInteger();
+        var primaryCancelled = new CountDownLatch(1);
+
+        try (hedgingGuard) {
+            primeLatencies(hedgingGuard);
+            var response = hedgingGuard.callHedged(Downstream.COMPANY_PROFILE_API, OPERATION, () -> {
+                if (calls.getAndIncrement() == 0) {
+                    try {
+                        new CountDownLatch(1).await();
+                    } catch (InterruptedException e) {
+                        primaryCancelled.countDown();
+                        throw new IllegalStateException(e);
+                    }
+                }
+                return new ApiResponse<>(200, Map.of(), "hedge");
+            });
+
+            assertEquals("hedge", response.getData());
+            assertTrue(primaryCancelled.await(5, TimeUnit.SECONDS));
+            assertEquals(1, hedgeCount("won"));
+            assertEquals(0, hedgeCount("lost"));
+            assertEquals(CircuitBreaker.State.CLOSED, hedgingGuard.getState(Downstream.COMPANY_PROFILE_API));
+            var status = hedgingGuard.getStatus().get(DEPENDENCY);
+            assertEquals(1, status.hedgesMade());
+            assertEquals(1, status.hedgesWon());
+        }
+    }
+
+    @Test
+    void testPrimaryCompletingFirstBeatsHedge() throws Exception {
+        var hedgingGuard = hedgingGuard(5);
+        var calls = new AtomicInteger();
+
+        try (hedgingGuard) {
+            primeLatencies(hedgingGuard);
+            var response = hedgingGuard.callHedged(Downstream.COMPANY_PROFILE_API, OPERATION, () -> {
+                boolean primary = calls.getAndIncrement() == 0;
+                sleep(primary ? 100 : 5_000);
+                return new ApiResponse<>(200, Map.of(), primary ? "primary" : "hedge");
+            });
+
+            assertEquals("primary", response.getData());
+            assertEquals(2, calls.get());
+            assertEquals(0, hedgeCount("won"));
+            assertEquals(1, hedgeCount("lost"));
+        }
+    }
+
+    @Test
+    void testNoHedgeOnceBudgetIsSpent() throws Exception {
+        var hedgingGuard = hedgingGuard(1);
+        var calls = new AtomicInteger();
+
+        try (hedgingGuard) {
+            primeLatencies(hedgingGuard);
+            for (int i = 0; i < 2; i++) {
+                calls.set(0);
+                var response = hedgingGuard.callHedged(Downstream.COMPANY_PROFILE_API, OPERATION, () -> {
+                    boolean primary = calls.getAndIncrement() == 0;
+                    sleep(primary ? 100 : 0);
+                    return new ApiResponse<>(200, Map.of(), primary ? "primary" : "hedge");
+                });
+                assertEquals(i == 0 ? "hedge" : "primary", response.getData());
+            }
+
+            assertEquals(1, hedgeCount("won"));
+            assertEquals(1, hedgeCount("no-budget"));
+            assertEquals(0, meterRegistry.get(DownstreamGuard.HEDGE_BUDGET_METRIC).gauge().value(), 0.1);
+        }
+    }
+
+    @Test
+    void testWritesAreNotHedged() throws Exception {
+        var hedgingGuard = hedgingGuard(5);
+        var calls = new AtomicInteger();
+
+        try (hedgingGuard) {
+            primeLatencies(hedgingGuard);
+            hedgingGuard.call(Downstream.COMPANY_PROFILE_API, OPERATION, () -> {
+                calls.incrementAndGet();
+                sleep(100);
+                return new ApiResponse<>(200, Map.of(), "data");
+            });
+
+            assertEquals(1, calls.get());
+            assertEquals(0, hedgeCount("won") + hedgeCount("lost"));
+        }
+    }
+
+    private DownstreamGuard hedgingGuard(int maxBudget) {
+        meterRegistry = new SimpleMeterRegistry();
+        return new DownstreamGuard(new DownstreamMetrics(meterRegistry), meterRegistry,
+                Map.of(Downstream.COMPANY_PROFILE_API, new DownstreamGuard.Policy(Duration.ofSeconds(10), 10)),
+                CIRCUIT_BREAKER_SETTINGS,
+                new DownstreamGuard.HedgePolicy(0.95, Duration.ofMillis(20), 16, 0.01, maxBudget));
+    }
+
+    private static void primeLatencies(DownstreamGuard guard) throws Exception {
+        for (int i = 0; i < 16; i++) {
+            guard.callHedged(Downstream.COMPANY_PROFILE_API, OPERATION, () -> new ApiResponse<>(200, Map.of(), "data"));
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private double hedgeCount(String result) {
+        return meterRegistry.get(DownstreamGuard.HEDGES_METRIC)
+                .tag("dependency", DEPENDENCY)
+                .tag("result", result)
+                .counter()
+                .count();
+    }
+
+    private double rejectedCount(String reason) {
+        return meterRegistry.get(DownstreamGuard.REJECTED_METRIC)
+                .tag("dependency", DEPENDENCY)
+                .tag("reason", reason)
+                .counter()
+                .count();
+    }
+
+    private void waitForActiveCalls(int activeCalls) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (downstreamGuard.getStatus().get(DEPENDENCY).activeCalls() != activeCalls
+                && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(activeCalls, downstreamGuard.getStatus().get(DEPENDENCY).activeCalls());
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                latch.await();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package uk.gov.companieshouse.registeredemailaddressapi.unit.client;
+
+import org.junit.jupiter.api.Test;
+import uk.gov.companieshouse.registeredemailaddressapi.client.HedgeBudget;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HedgeBudgetTest {
+
+    @Test
+    void testBurstThenOneHedgePerRatioOfCalls() {
+        var budget = new HedgeBudget(0.25, 2);
+
+        assertTrue(budget.tryWithdraw());
+        assertTrue(budget.tryWithdraw());
+        assertFalse(budget.tryWithdraw());
+
+        for (int i = 0; i < 3; i++) {
+            budget.deposit();
+            assertFalse(budget.tryWithdraw());
+        }
+        budget.deposit();
+        assertTrue(budget.tryWithdraw());
+        assertEquals(0, budget.getTokens());
+    }
+
+    @Test
+    void testDepositsCappedAtMaxTokens() {
+        var budget = new HedgeBudget(0.5, 1);
+
+        for (int i = 0; i < 10; i++) {
+            budget.deposit();
+        }
+
+        assertEquals(1, budget.getTokens());
+        assertTrue(budget.tryWithdraw());
+        assertFalse(budget.tryWithdraw());
+        budget.refund();
+        assertTrue(budget.tryWithdraw());
+    }
+
+    @Test
+    void testInvalidSettingsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new HedgeBudget(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new HedgeBudget(0.1, 0));
+    }
+}
@@ -0,0 +1,52 @@
+package uk.gov.companieshouse.registeredemailaddressapi.unit.client;
+
+import org.junit.jupiter.api.Test;
+import uk.gov.companieshouse.registeredemailaddressapi.client.LatencyWindow;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyWindowTest {
+
+    @Test
+    void testNoPercentileUntilEnoughCallsRecorded() {
+        var window = new LatencyWindow(0.95, 32);
+
+        window.record(100);
+
+        assertEquals(-1, window.percentile());
+        window.record(200);
+        assertEquals(200, window.percentile());
+    }
+
+    @Test
+    void testPercentileOfWindow() {
+        var window = new LatencyWindow(0.75, 16);
+
+        for (int i = 16; i >= 1; i--) {
+            window.record(i);
+        }
+
+        assertEquals(12, window.percentile());
+    }
+
+    @Test
+    void testOldDurationsLeaveWindow() {
+        var window = new LatencyWindow(0.5, 16);
+
+        for (int i = 0; i < 16; i++) {
+            window.record(1_000);
+        }
+        assertEquals(1_000, window.percentile());
+
+        for (int i = 0; i < 16; i++) {
+            window.record(10);
+        }
+        assertEquals(10, window.percentile());
+    }
+
+    @Test
+    void testInvalidSettingsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new LatencyWindow(0, 10));
+        assertThrows(IllegalArgumentException.class, () -> new LatencyWindow(0.5, 0));
+    }
+}
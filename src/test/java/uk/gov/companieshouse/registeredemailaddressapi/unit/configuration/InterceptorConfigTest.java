@@ -25,9 +25,11 @@ class InterceptorConfigTest {
     static final String TRANSACTIONS = "/transactions/**";
     static final String HEALTHCHECK = "/registered-email-address/healthcheck";
     static final String FILINGS = "/private/transactions/**/filings";
+    static final String BULK_ELIGIBILITY = "/private/registered-email-address/company/eligibility";
 
     static final String[] INTERNAL_AUTH_ENDPOINTS = {
-        FILINGS
+        FILINGS,
+        BULK_ELIGIBILITY
     };
 
     @Mock
@@ -57,7 +59,7 @@ class InterceptorConfigTest {
     @Test
     void addInterceptorsTest() {
         when(interceptorRegistry.addInterceptor(any())).thenReturn(interceptorRegistration);
-        when(interceptorRegistration.excludePathPatterns(any(String.class))).thenReturn(interceptorRegistration);
+        when(interceptorRegistration.excludePathPatterns(any(String[].class))).thenReturn(interceptorRegistration);
 
         interceptorConfig.addInterceptors(interceptorRegistry);
 
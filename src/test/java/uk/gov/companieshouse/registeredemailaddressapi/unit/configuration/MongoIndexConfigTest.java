@@ -0,0 +1,78 @@
+package uk.gov.companieshouse.registeredemailaddressapi.unit.configuration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import uk.gov.companieshouse.registeredemailaddressapi.configuration.MongoIndexConfig;
+import uk.gov.companieshouse.registeredemailaddressapi.model.dao.RegisteredEmailAddressDAO;
+
+@ExtendWith(MockitoExtension.class)
+class MongoIndexConfigTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private IndexOperations indexOperations;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private MongoIndexConfig mongoIndexConfig;
+
+    @BeforeEach
+    void init() {
+        meterRegistry = new SimpleMeterRegistry();
+        when(mongoTemplate.getCollectionName(RegisteredEmailAddressDAO.class)).thenReturn("registered_email_address");
+        mongoIndexConfig = new MongoIndexConfig(mongoTemplate, Thread.ofVirtual().factory(), meterRegistry);
+    }
+
+    @Test
+    void testIndexStatusIsBuildingBeforeIndexesAreEnsured() {
+        assertEquals(0.0, indexStatus(MongoIndexConfig.TRANSACTION_ID_INDEX));
+        assertEquals(0.0, indexStatus(MongoIndexConfig.CREATED_AT_INDEX));
+    }
+
+    @Test
+    void testIndexesAreEnsured() {
+        when(mongoTemplate.indexOps(RegisteredEmailAddressDAO.class)).thenReturn(indexOperations);
+
+        mongoIndexConfig.ensureIndexes();
+
+        verify(indexOperations).ensureIndex(argThat((Index index) -> Boolean.TRUE.equals(index.getIndexOptions().get("unique"))
+                && index.getIndexKeys().containsKey("transaction_id")));
+        verify(indexOperations, times(2)).ensureIndex(any());
+        assertEquals(1.0, indexStatus(MongoIndexConfig.TRANSACTION_ID_INDEX));
+        assertEquals(1.0, indexStatus(MongoIndexConfig.CREATED_AT_INDEX));
+    }
+
+    @Test
+    void testFailedIndexDoesNotStopOtherIndexes() {
+        when(mongoTemplate.indexOps(RegisteredEmailAddressDAO.class)).thenReturn(indexOperations);
+        when(indexOperations.ensureIndex(argThat((Index index) -> index.getIndexKeys().containsKey("transaction_id"))))
+                .thenThrow(new DuplicateKeyException("E11000 duplicate key error"));
+
+        mongoIndexConfig.ensureIndexes();
+
+        assertEquals(-1.0, indexStatus(MongoIndexConfig.TRANSACTION_ID_INDEX));
+        assertEquals(1.0, indexStatus(MongoIndexConfig.CREATED_AT_INDEX));
+    }
+
+    private double indexStatus(String indexName) {
+        return meterRegistry.get("mongodb.index.status").tag("index", indexName).gauge().value();
+    }
+}
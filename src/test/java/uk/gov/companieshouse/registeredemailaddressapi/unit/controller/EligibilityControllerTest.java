@@ -2,21 +2,35 @@ package uk.gov.companieshouse.registeredemailaddressapi.unit.controller;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BiConsumer;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import uk.gov.companieshouse.api.model.company.CompanyProfileApi;
 import uk.gov.companieshouse.registeredemailaddressapi.controller.EligibilityController;
 import uk.gov.companieshouse.registeredemailaddressapi.eligibility.EligibilityStatusCode;
 import uk.gov.companieshouse.registeredemailaddressapi.exception.CompanyNotFoundException;
+import uk.gov.companieshouse.registeredemailaddressapi.exception.DownstreamUnavailableException;
 import uk.gov.companieshouse.registeredemailaddressapi.exception.ServiceException;
+import uk.gov.companieshouse.registeredemailaddressapi.model.dto.BulkEligibilityRequestDTO;
 import uk.gov.companieshouse.registeredemailaddressapi.model.response.CompanyValidationResponse;
+import uk.gov.companieshouse.registeredemailaddressapi.service.BulkEligibilityService;
 import uk.gov.companieshouse.registeredemailaddressapi.service.CompanyProfileService;
 import uk.gov.companieshouse.registeredemailaddressapi.service.EligibilityService;
 
@@ -38,6 +52,9 @@ class EligibilityControllerTest {
     @Mock
     private EligibilityService eligibilityService;
 
+    @Mock
+    private BulkEligibilityService bulkEligibilityService;
+
     @InjectMocks
     private EligibilityController eligibilityController;
 
@@ -94,6 +111,19 @@ class EligibilityControllerTest {
         assertEquals(500, response.getStatusCodeValue());
     }
 
+    @Test
+    void testDownstreamUnavailableGetEligibility() throws ServiceException, CompanyNotFoundException {
+        // GIVEN
+        given(companyProfileService.getCompanyProfile(COMPANY_NUMBER))
+                .willThrow(new DownstreamUnavailableException("company-profile-api circuit breaker is open"));
+
+        // WHEN
+        ResponseEntity<CompanyValidationResponse> response = eligibilityController.getEligibility(COMPANY_NUMBER, ERIC_REQUEST_ID);
+
+        // THEN
+        assertEquals(503, response.getStatusCodeValue());
+    }
+
     @Test
     void testUncheckedExceptionGetEligibility() throws ServiceException, CompanyNotFoundException {
         // GIVEN
@@ -119,4 +149,53 @@ class EligibilityControllerTest {
         assertNotNull(response.getBody());
         assertEquals(EligibilityStatusCode.COMPANY_NOT_FOUND, response.getBody().getEligibilityStatusCode());
     }
+
+    @Test
+    void testGetBulkEligibility() throws Exception {
+        // GIVEN
+        var bulkEligibilityRequest = new BulkEligibilityRequestDTO();
+        bulkEligibilityRequest.setCompanyNumbers(List.of(COMPANY_NUMBER, "22222222", COMPANY_NUMBER));
+
+        willAnswer(invocation -> {
+            BiConsumer<String, EligibilityStatusCode> resultConsumer = invocation.getArgument(2);
+            resultConsumer.accept("22222222", EligibilityStatusCode.COMPANY_NOT_FOUND);
+            resultConsumer.accept(COMPANY_NUMBER, null);
+            return null;
+        }).given(bulkEligibilityService).checkCompanyEligibility(eq(Set.of(COMPANY_NUMBER, "22222222")),
+                eq(ERIC_REQUEST_ID), any());
+
+        // WHEN
+        ResponseEntity<StreamingResponseBody> response = eligibilityController.getBulkEligibility(bulkEligibilityRequest, ERIC_REQUEST_ID);
+        var outputStream = new ByteArrayOutputStream();
+        response.getBody().writeTo(outputStream);
+
+        // THEN
+        assertEquals(200, response.getStatusCodeValue());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertEquals("{\"22222222\":\"COMPANY_NOT_FOUND\",\"11111111\":null}",
+                outputStream.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testGetBulkEligibilityEndsWithErrorWhenChecksFail() throws Exception {
+        // GIVEN
+        var bulkEligibilityRequest = new BulkEligibilityRequestDTO();
+        bulkEligibilityRequest.setCompanyNumbers(List.of(COMPANY_NUMBER, "22222222"));
+
+        willAnswer(invocation -> {
+            BiConsumer<String, EligibilityStatusCode> resultConsumer = invocation.getArgument(2);
+            resultConsumer.accept("22222222", EligibilityStatusCode.COMPANY_NOT_FOUND);
+            throw new IllegalStateException("Error checking company eligibility");
+        }).given(bulkEligibilityService).checkCompanyEligibility(any(), eq(ERIC_REQUEST_ID), any());
+
+        // WHEN
+        ResponseEntity<StreamingResponseBody> response = eligibilityController.getBulkEligibility(bulkEligibilityRequest, ERIC_REQUEST_ID);
+        var outputStream = new ByteArrayOutputStream();
+        response.getBody().writeTo(outputStream);
+
+        // THEN
+        assertEquals("{\"22222222\":\"COMPANY_NOT_FOUND\","
+                        + "\"_error\":\"Error checking company eligibility, results are incomplete\"}",
+                outputStream.toString(StandardCharsets.UTF_8));
+    }
 }
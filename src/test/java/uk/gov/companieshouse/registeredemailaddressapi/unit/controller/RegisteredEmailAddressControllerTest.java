@@ -14,14 +14,17 @@ import uk.gov.companieshouse.registeredemailaddressapi.exception.CompanyNotFound
 import uk.gov.companieshouse.registeredemailaddressapi.exception.EligibilityException;
 import uk.gov.companieshouse.registeredemailaddressapi.exception.InvalidEmailAddressException;
 import uk.gov.companieshouse.registeredemailaddressapi.exception.NotFoundException;
+import uk.gov.companieshouse.registeredemailaddressapi.exception.PreconditionFailedException;
 import uk.gov.companieshouse.registeredemailaddressapi.exception.ServiceException;
 import uk.gov.companieshouse.registeredemailaddressapi.exception.SubmissionAlreadyExistsException;
 import uk.gov.companieshouse.registeredemailaddressapi.exception.TransactionNotOpenException;
 import uk.gov.companieshouse.registeredemailaddressapi.integration.utils.Helper;
+import uk.gov.companieshouse.registeredemailaddressapi.model.dao.ValidationStatusData;
 import uk.gov.companieshouse.registeredemailaddressapi.model.dto.RegisteredEmailAddressDTO;
 import uk.gov.companieshouse.registeredemailaddressapi.model.dto.RegisteredEmailAddressResponseDTO;
 import uk.gov.companieshouse.registeredemailaddressapi.service.RegisteredEmailAddressService;
 
+import java.util.List;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -83,11 +86,12 @@ class RegisteredEmailAddressControllerTest {
     }
 
     @Test
-    void testUpdateRegisteredEmailAddressSuccessTest() throws ServiceException, NotFoundException, SubmissionAlreadyExistsException, TransactionNotOpenException, CompanyNotFoundException, EligibilityException, InvalidEmailAddressException {
+    void testUpdateRegisteredEmailAddressSuccessTest() throws ServiceException, NotFoundException, PreconditionFailedException, SubmissionAlreadyExistsException, TransactionNotOpenException, CompanyNotFoundException, EligibilityException, InvalidEmailAddressException {
 
         when(this.registeredEmailAddressService.updateRegisteredEmailAddress(
                 transaction,
                 registeredEmailAddressDTO,
+                null,
                 REQUEST_ID,
                 USER_ID)
         ).thenReturn(registeredEmailAddressResponseDTO);
@@ -95,27 +99,54 @@ class RegisteredEmailAddressControllerTest {
         var createRegisteredEmailAddressResponse = registeredEmailAddressController.updateRegisteredEmailAddress(
                 transaction,
                 registeredEmailAddressDTO,
+                null,
                 REQUEST_ID,
                 USER_ID
         );
 
         assertEquals(HttpStatus.OK.value(), createRegisteredEmailAddressResponse.getStatusCodeValue());
         assertEquals(registeredEmailAddressResponseDTO, createRegisteredEmailAddressResponse.getBody());
+        assertEquals("\"" + Helper.ETAG + "\"", createRegisteredEmailAddressResponse.getHeaders().getETag());
 
         verify(registeredEmailAddressService).updateRegisteredEmailAddress(
                 transaction,
                 registeredEmailAddressDTO,
+                null,
                 REQUEST_ID,
                 USER_ID);
     }
 
+    @Test
+    void testUpdateRegisteredEmailAddressIfMatchTest() throws ServiceException, NotFoundException, PreconditionFailedException, TransactionNotOpenException, CompanyNotFoundException, EligibilityException, InvalidEmailAddressException {
+
+        when(this.registeredEmailAddressService.updateRegisteredEmailAddress(
+                transaction,
+                registeredEmailAddressDTO,
+                List.of(Helper.ETAG),
+                REQUEST_ID,
+                USER_ID)
+        ).thenReturn(registeredEmailAddressResponseDTO);
+
+        var updateRegisteredEmailAddressResponse = registeredEmailAddressController.updateRegisteredEmailAddress(
+                transaction,
+                registeredEmailAddressDTO,
+                "\"" + Helper.ETAG + "\"",
+                REQUEST_ID,
+                USER_ID
+        );
+
+        assertEquals(HttpStatus.OK.value(), updateRegisteredEmailAddressResponse.getStatusCodeValue());
+        assertEquals(registeredEmailAddressResponseDTO, updateRegisteredEmailAddressResponse.getBody());
+    }
+
     @Test
     void testGetValidationStatusTest() throws NotFoundException {
         ValidationStatusResponse validationStatusResponse = new ValidationStatusResponse();
         validationStatusResponse.setValid(true);
 
         when(this.registeredEmailAddressService
-                .getValidationStatus(TRANSACTION_ID, REQUEST_ID)).thenReturn(validationStatusResponse);
+                .getValidationStatus(TRANSACTION_ID, REQUEST_ID))
+                .thenReturn(new ValidationStatusData(Helper.ETAG, validationStatusResponse));
 
         var response = registeredEmailAddressController.getValidationStatus(
                 TRANSACTION_ID,
@@ -124,6 +155,7 @@ class RegisteredEmailAddressControllerTest {
 
         assertEquals(HttpStatus.OK.value(), response.getStatusCodeValue());
         assertEquals(validationStatusResponse, response.getBody());
+        assertEquals("\"" + Helper.ETAG + "\"", response.getHeaders().getETag());
 
         verify(registeredEmailAddressService).getValidationStatus(
                 TRANSACTION_ID, REQUEST_ID);
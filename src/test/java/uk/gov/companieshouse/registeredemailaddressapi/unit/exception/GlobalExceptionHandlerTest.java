@@ -12,6 +12,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.context.request.WebRequest;
+import uk.gov.companieshouse.registeredemailaddressapi.exception.DownstreamUnavailableException;
 import uk.gov.companieshouse.registeredemailaddressapi.exception.GlobalExceptionHandler;
 import uk.gov.companieshouse.registeredemailaddressapi.utils.ApiLogger;
 
@@ -50,6 +51,17 @@ class GlobalExceptionHandlerTest {
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, entity.getStatusCode());
     }
 
+    @Test
+    void testHandleDownstreamUnavailableExceptionReturnsServiceUnavailable() {
+        when(webRequest.getHeader(ERIC_REQUEST_ID_KEY)).thenReturn(REQUEST_ID);
+
+        ResponseEntity<Object> entity = globalExceptionHandler.handleDownstreamUnavailableException(
+                new DownstreamUnavailableException("Call to company-profile-api rejected"), webRequest);
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, entity.getStatusCode());
+        assertEquals("Call to company-profile-api rejected", entity.getBody());
+    }
+
     @Test
     void testHandleExceptionEncodesException() {
         Throwable rootCause = new Throwable("root cause \n");
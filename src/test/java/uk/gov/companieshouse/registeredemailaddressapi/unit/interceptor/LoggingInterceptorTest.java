@@ -0,0 +1,37 @@
+package uk.gov.companieshouse.registeredemailaddressapi.unit.interceptor;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import uk.gov.companieshouse.registeredemailaddressapi.interceptor.LoggingInterceptor;
+import uk.gov.companieshouse.registeredemailaddressapi.metrics.RequestTimingFilter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoggingInterceptorTest {
+
+    private final LoggingInterceptor loggingInterceptor = new LoggingInterceptor();
+
+    @Test
+    void testRequestTimedWithoutCreatingSession() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/registered-email-address/healthcheck");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        Object handler = new Object();
+
+        assertTrue(loggingInterceptor.preHandle(request, response, handler));
+        assertInstanceOf(Long.class, request.getAttribute(RequestTimingFilter.START_TIME_ATTRIBUTE));
+        loggingInterceptor.afterCompletion(request, response, handler, null);
+
+        assertNull(request.getSession(false));
+    }
+
+    @Test
+    void testStartTimeFromFilterKept() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/registered-email-address/healthcheck");
+        request.setAttribute(RequestTimingFilter.START_TIME_ATTRIBUTE, 42L);
+
+        loggingInterceptor.preHandle(request, new MockHttpServletResponse(), new Object());
+
+        assertEquals(42L, request.getAttribute(RequestTimingFilter.START_TIME_ATTRIBUTE));
+    }
+}
@@ -8,6 +8,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.web.servlet.HandlerMapping;
 import uk.gov.companieshouse.api.model.transaction.Transaction;
+import uk.gov.companieshouse.registeredemailaddressapi.exception.DownstreamUnavailableException;
 import uk.gov.companieshouse.registeredemailaddressapi.exception.ServiceException;
 import uk.gov.companieshouse.registeredemailaddressapi.interceptor.TransactionInterceptor;
 import uk.gov.companieshouse.registeredemailaddressapi.service.TransactionService;
@@ -105,4 +106,22 @@ class TransactionInterceptorTest {
         assertFalse(transactionInterceptor.preHandle(mockHttpServletRequest, mockHttpServletResponse, mockHandler));
         assertEquals(HttpServletResponse.SC_NOT_FOUND,  mockHttpServletResponse.getStatus());
     }
+
+    @Test
+    void testPreHandleIsUnsuccessfulWhenTransactionsApiUnavailable() throws Exception {
+        MockHttpServletResponse mockHttpServletResponse = new MockHttpServletResponse();
+        Object mockHandler = new Object();
+
+        var pathParams = new HashMap<String, String>();
+        pathParams.put(TRANSACTION_ID_KEY, TX_ID);
+
+        when(mockHttpServletRequest.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE)).thenReturn(pathParams);
+        when(mockHttpServletRequest.getHeader("ERIC-Access-Token")).thenReturn(PASSTHROUGH_HEADER);
+        when(transactionService.getTransaction(eq(TX_ID), eq(PASSTHROUGH_HEADER), any()))
+                .thenThrow(new DownstreamUnavailableException("transactions-api circuit breaker is open"));
+
+        assertFalse(transactionInterceptor.preHandle(mockHttpServletRequest, mockHttpServletResponse, mockHandler));
+        assertEquals(HttpServletResponse.SC_SERVICE_UNAVAILABLE, mockHttpServletResponse.getStatus());
+        assertEquals("transactions-api circuit breaker is open", mockHttpServletResponse.getContentAsString());
+    }
 }
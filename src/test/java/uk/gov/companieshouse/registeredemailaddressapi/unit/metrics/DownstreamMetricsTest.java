@@ -0,0 +1,108 @@
+package uk.gov.companieshouse.registeredemailaddressapi.unit.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.google.api.client.http.HttpHeaders;
+import com.google.api.client.http.HttpResponseException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import uk.gov.companieshouse.api.error.ApiErrorResponseException;
+import uk.gov.companieshouse.api.handler.exception.URIValidationException;
+import uk.gov.companieshouse.api.model.ApiResponse;
+import uk.gov.companieshouse.registeredemailaddressapi.metrics.Downstream;
+import uk.gov.companieshouse.registeredemailaddressapi.metrics.DownstreamMetrics;
+
+class DownstreamMetricsTest {
+
+    private static final String OPERATION = "get-company-profile";
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private DownstreamMetrics downstreamMetrics;
+
+    @BeforeEach
+    void init() {
+        meterRegistry = new SimpleMeterRegistry();
+        downstreamMetrics = new DownstreamMetrics(meterRegistry);
+    }
+
+    @Test
+    void testSuccessfulCallRecordedWithStatusCode() throws Exception {
+        var response = new ApiResponse<>(200, Map.of(), "data");
+
+        var result = downstreamMetrics.recordSdkCall(Downstream.COMPANY_PROFILE_API, OPERATION, () -> response);
+
+        assertSame(response, result);
+        assertEquals(1, callCount("company-profile-api", "200", "SUCCESS", "none"));
+    }
+
+    @Test
+    void testErrorResponseRecordedWithStatusCodeAndRethrown() {
+        var notFound = ApiErrorResponseException.fromHttpResponseException(
+                new HttpResponseException.Builder(404, "ERROR", new HttpHeaders()).build());
+
+        var thrown = assertThrows(ApiErrorResponseException.class, () -> downstreamMetrics.recordSdkCall(
+                Downstream.COMPANY_PROFILE_API, OPERATION, () -> {
+                    throw notFound;
+                }));
+
+        assertSame(notFound, thrown);
+        assertEquals(1, callCount("company-profile-api", "404", "CLIENT_ERROR", "none"));
+    }
+
+    @Test
+    void testCallWithoutResponseRecordedWithException() {
+        var uriValidationException = new URIValidationException("ERROR");
+
+        var thrown = assertThrows(URIValidationException.class, () -> downstreamMetrics.recordSdkCall(
+                Downstream.COMPANY_PROFILE_API, OPERATION, () -> {
+                    throw uriValidationException;
+                }));
+
+        assertSame(uriValidationException, thrown);
+        assertEquals(1, callCount("company-profile-api", "NONE", "UNKNOWN", "URIValidationException"));
+    }
+
+    @Test
+    void testInFlightGaugeCountsCallsInProgress() throws Exception {
+        downstreamMetrics.recordSdkCall(Downstream.ORACLE_QUERY_API, OPERATION, () -> {
+            assertEquals(1, inFlight("oracle-query-api"));
+            assertEquals(0, inFlight("company-profile-api"));
+            return new ApiResponse<>(200, Map.of());
+        });
+
+        assertEquals(0, inFlight("oracle-query-api"));
+    }
+
+    @Test
+    void testSampleStoppedWithoutStatusCode() {
+        var sample = downstreamMetrics.start(Downstream.MONGODB);
+        assertEquals(1, inFlight("mongodb"));
+
+        sample.stop("findByTransactionId", null, null);
+
+        assertEquals(0, inFlight("mongodb"));
+        assertEquals(1, meterRegistry.get(DownstreamMetrics.CALLS_METRIC)
+                .tags("dependency", "mongodb", "operation", "findByTransactionId", "status", "NONE",
+                        "outcome", "SUCCESS")
+                .timer().count());
+    }
+
+    private long callCount(String dependency, String status, String outcome, String exception) {
+        return meterRegistry.get(DownstreamMetrics.CALLS_METRIC)
+                .tags("dependency", dependency, "operation", OPERATION, "status", status, "outcome", outcome,
+                        "exception", exception)
+                .timer().count();
+    }
+
+    private double inFlight(String dependency) {
+        return meterRegistry.get(DownstreamMetrics.IN_FLIGHT_METRIC).tag("dependency", dependency).gauge().value();
+    }
+}
@@ -0,0 +1,73 @@
+package uk.gov.companieshouse.registeredemailaddressapi.unit.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import uk.gov.companieshouse.registeredemailaddressapi.metrics.DownstreamMetrics;
+import uk.gov.companieshouse.registeredemailaddressapi.metrics.RepositoryMetricsInterceptor;
+
+class RepositoryMetricsInterceptorTest {
+
+    interface TestRepository {
+        String findByTransactionId(String transactionId);
+    }
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void init() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void testRepositoryCallRecordedWithMethodName() {
+        var repository = proxy(transactionId -> "found " + transactionId);
+
+        assertEquals("found 123", repository.findByTransactionId("123"));
+
+        assertEquals(1, meterRegistry.get(DownstreamMetrics.CALLS_METRIC)
+                .tags("dependency", "mongodb", "operation", "findByTransactionId", "outcome", "SUCCESS",
+                        "exception", "none")
+                .timer().count());
+    }
+
+    @Test
+    void testFailedRepositoryCallRecordedWithException() {
+        var exception = new DataAccessResourceFailureException("ERROR");
+        var repository = proxy(transactionId -> {
+            throw exception;
+        });
+
+        var thrown = assertThrows(DataAccessResourceFailureException.class, () -> repository.findByTransactionId("123"));
+
+        assertSame(exception, thrown);
+        assertEquals(1, meterRegistry.get(DownstreamMetrics.CALLS_METRIC)
+                .tags("dependency", "mongodb", "operation", "findByTransactionId", "outcome", "UNKNOWN",
+                        "exception", "DataAccessResourceFailureException")
+                .timer().count());
+    }
+
+    @Test
+    void testObjectMethodsNotRecorded() {
+        var repository = proxy(transactionId -> null);
+
+        repository.toString();
+
+        assertEquals(0, meterRegistry.find(DownstreamMetrics.CALLS_METRIC).timers().size());
+    }
+
+    private TestRepository proxy(TestRepository target) {
+        var downstreamMetrics = new DownstreamMetrics(meterRegistry);
+        var proxyFactory = new ProxyFactory(target);
+        proxyFactory.addInterface(TestRepository.class);
+        proxyFactory.addAdvice(new RepositoryMetricsInterceptor(() -> downstreamMetrics));
+        return (TestRepository) proxyFactory.getProxy();
+    }
+}
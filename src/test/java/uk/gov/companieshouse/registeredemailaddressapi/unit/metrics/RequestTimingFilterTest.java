@@ -0,0 +1,56 @@
+package uk.gov.companieshouse.registeredemailaddressapi.unit.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import uk.gov.companieshouse.registeredemailaddressapi.metrics.RequestTimingFilter;
+
+class RequestTimingFilterTest {
+
+    private static final String ROUTE = "/registered-email-address/company/{company_number}/eligibility";
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private RequestTimingFilter requestTimingFilter;
+
+    @BeforeEach
+    void init() {
+        meterRegistry = new SimpleMeterRegistry();
+        requestTimingFilter = new RequestTimingFilter(meterRegistry);
+    }
+
+    @Test
+    void testRequestRecordedByRoute() throws Exception {
+        var request = new MockHttpServletRequest("GET", "/registered-email-address/company/12345678/eligibility");
+        var response = new MockHttpServletResponse();
+
+        requestTimingFilter.doFilter(request, response, (req, res) -> {
+            assertInstanceOf(Long.class, req.getAttribute(RequestTimingFilter.START_TIME_ATTRIBUTE));
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, ROUTE);
+            ((MockHttpServletResponse) res).setStatus(200);
+        });
+
+        assertEquals(1, meterRegistry.get(RequestTimingFilter.REQUESTS_METRIC)
+                .tags("method", "GET", "route", ROUTE, "status", "200").timer().count());
+        assertNull(request.getSession(false));
+    }
+
+    @Test
+    void testUnmatchedRequestRecorded() throws Exception {
+        var request = new MockHttpServletRequest("GET", "/unknown");
+        var response = new MockHttpServletResponse();
+
+        requestTimingFilter.doFilter(request, response, (req, res) -> ((MockHttpServletResponse) res).setStatus(404));
+
+        assertEquals(1, meterRegistry.get(RequestTimingFilter.REQUESTS_METRIC)
+                .tags("method", "GET", "route", "UNMATCHED", "status", "404").timer().count());
+    }
+}
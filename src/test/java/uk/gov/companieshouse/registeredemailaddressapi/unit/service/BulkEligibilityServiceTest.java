@@ -0,0 +1,111 @@
+package uk.gov.companieshouse.registeredemailaddressapi.unit.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import uk.gov.companieshouse.api.model.company.CompanyProfileApi;
+import uk.gov.companieshouse.registeredemailaddressapi.eligibility.EligibilityStatusCode;
+import uk.gov.companieshouse.registeredemailaddressapi.exception.CompanyNotFoundException;
+import uk.gov.companieshouse.registeredemailaddressapi.exception.ServiceException;
+import uk.gov.companieshouse.registeredemailaddressapi.model.response.CompanyValidationResponse;
+import uk.gov.companieshouse.registeredemailaddressapi.service.BulkEligibilityService;
+import uk.gov.companieshouse.registeredemailaddressapi.service.CompanyProfileService;
+import uk.gov.companieshouse.registeredemailaddressapi.service.EligibilityService;
+
+@ExtendWith(MockitoExtension.class)
+class BulkEligibilityServiceTest {
+
+    private static final String REQUEST_ID = "XaBcDeF12345";
+    private static final String VALID_COMPANY_NUMBER = "11111111";
+    private static final String NOT_FOUND_COMPANY_NUMBER = "22222222";
+    private static final String ERROR_COMPANY_NUMBER = "33333333";
+
+    @Mock
+    private CompanyProfileService companyProfileService;
+
+    @Mock
+    private EligibilityService eligibilityService;
+
+    @Test
+    void testResultForEachCompany() throws Exception {
+        // GIVEN
+        var companyProfileApi = new CompanyProfileApi();
+        given(companyProfileService.getCompanyProfile(VALID_COMPANY_NUMBER)).willReturn(companyProfileApi);
+        given(companyProfileService.getCompanyProfile(NOT_FOUND_COMPANY_NUMBER)).willThrow(new CompanyNotFoundException("not found"));
+        given(companyProfileService.getCompanyProfile(ERROR_COMPANY_NUMBER)).willThrow(new ServiceException("ERROR"));
+        given(eligibilityService.checkCompanyEligibility(companyProfileApi))
+                .willReturn(new CompanyValidationResponse(EligibilityStatusCode.COMPANY_VALID_FOR_SERVICE));
+
+        // WHEN
+        Map<String, EligibilityStatusCode> results = new HashMap<>();
+        bulkEligibilityService(4).checkCompanyEligibility(
+                List.of(VALID_COMPANY_NUMBER, NOT_FOUND_COMPANY_NUMBER, ERROR_COMPANY_NUMBER), REQUEST_ID, results::put);
+
+        // THEN
+        assertEquals(3, results.size());
+        assertEquals(EligibilityStatusCode.COMPANY_VALID_FOR_SERVICE, results.get(VALID_COMPANY_NUMBER));
+        assertEquals(EligibilityStatusCode.COMPANY_NOT_FOUND, results.get(NOT_FOUND_COMPANY_NUMBER));
+        assertTrue(results.containsKey(ERROR_COMPANY_NUMBER));
+        assertNull(results.get(ERROR_COMPANY_NUMBER));
+    }
+
+    @Test
+    void testParallelismIsBounded() throws Exception {
+        // GIVEN
+        var running = new AtomicInteger();
+        var maxRunning = new AtomicInteger();
+        given(companyProfileService.getCompanyProfile(anyString())).willAnswer(invocation -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            Thread.sleep(20);
+            running.decrementAndGet();
+            return new CompanyProfileApi();
+        });
+        given(eligibilityService.checkCompanyEligibility(any(CompanyProfileApi.class)))
+                .willReturn(new CompanyValidationResponse(EligibilityStatusCode.COMPANY_VALID_FOR_SERVICE));
+        var companyNumbers = List.of("00000001", "00000002", "00000003", "00000004", "00000005", "00000006",
+                "00000007", "00000008", "00000009", "00000010");
+
+        // WHEN
+        Map<String, EligibilityStatusCode> results = new HashMap<>();
+        bulkEligibilityService(3).checkCompanyEligibility(companyNumbers, REQUEST_ID, results::put);
+
+        // THEN
+        assertEquals(companyNumbers.size(), results.size());
+        assertTrue(maxRunning.get() <= 3, "more companies checked at the same time than allowed: " + maxRunning.get());
+    }
+
+    @Test
+    void testConsumerExceptionIsRethrown() throws Exception {
+        // GIVEN
+        given(companyProfileService.getCompanyProfile(VALID_COMPANY_NUMBER)).willReturn(new CompanyProfileApi());
+        given(eligibilityService.checkCompanyEligibility(any(CompanyProfileApi.class)))
+                .willReturn(new CompanyValidationResponse(EligibilityStatusCode.COMPANY_VALID_FOR_SERVICE));
+        var service = bulkEligibilityService(1);
+
+        // WHEN / THEN
+        assertThrows(IllegalStateException.class, () -> service.checkCompanyEligibility(
+                List.of(VALID_COMPANY_NUMBER), REQUEST_ID, (companyNumber, statusCode) -> {
+                    throw new IllegalStateException("client gone");
+                }));
+    }
+
+    private BulkEligibilityService bulkEligibilityService(int parallelism) {
+        return new BulkEligibilityService(companyProfileService, eligibilityService, Thread.ofVirtual().factory(),
+                parallelism);
+    }
+}
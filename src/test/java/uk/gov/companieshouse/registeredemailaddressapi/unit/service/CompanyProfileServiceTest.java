@@ -3,19 +3,26 @@ package uk.gov.companieshouse.registeredemailaddressapi.unit.service;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
 
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.google.api.client.http.HttpHeaders;
 import com.google.api.client.http.HttpResponseException;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import uk.gov.companieshouse.api.ApiClient;
 import uk.gov.companieshouse.api.error.ApiErrorResponseException;
 import uk.gov.companieshouse.api.handler.company.CompanyResourceHandler;
@@ -24,14 +31,22 @@ import uk.gov.companieshouse.api.handler.exception.URIValidationException;
 import uk.gov.companieshouse.api.model.ApiResponse;
 import uk.gov.companieshouse.api.model.company.CompanyProfileApi;
 import uk.gov.companieshouse.registeredemailaddressapi.client.ApiClientService;
+import uk.gov.companieshouse.registeredemailaddressapi.client.CircuitBreaker;
+import uk.gov.companieshouse.registeredemailaddressapi.client.DownstreamGuard;
 import uk.gov.companieshouse.registeredemailaddressapi.exception.CompanyNotFoundException;
+import uk.gov.companieshouse.registeredemailaddressapi.exception.DownstreamUnavailableException;
 import uk.gov.companieshouse.registeredemailaddressapi.exception.ServiceException;
+import uk.gov.companieshouse.registeredemailaddressapi.metrics.Downstream;
+import uk.gov.companieshouse.registeredemailaddressapi.metrics.DownstreamMetrics;
 import uk.gov.companieshouse.registeredemailaddressapi.service.CompanyProfileService;
 
 @ExtendWith(MockitoExtension.class)
 class CompanyProfileServiceTest {
 
     private static final String COMPANY_NUMBER = "12345678";
+    private static final CircuitBreaker.Settings CIRCUIT_BREAKER_SETTINGS =
+            new CircuitBreaker.Settings(50, 10, 5, Duration.ofSeconds(30), 1);
+
     @Mock
     private ApiClientService apiClientService;
 
@@ -47,9 +62,19 @@ class CompanyProfileServiceTest {
     @Mock
     private ApiResponse<CompanyProfileApi> apiResponse;
 
-    @InjectMocks
+    private MeterRegistry meterRegistry;
+
     private CompanyProfileService companyProfileService;
 
+    @BeforeEach
+    void init() {
+        meterRegistry = new SimpleMeterRegistry();
+        companyProfileService = new CompanyProfileService(apiClientService, new DownstreamGuard(new DownstreamMetrics(meterRegistry),
+                meterRegistry, Map.of(Downstream.COMPANY_PROFILE_API, new DownstreamGuard.Policy(Duration.ofSeconds(5), 10)),
+                CIRCUIT_BREAKER_SETTINGS), Caffeine.newBuilder().recordStats(),
+                Caffeine.newBuilder().recordStats(), meterRegistry);
+    }
+
     @Test
     void getCompanyProfile() throws ServiceException, ApiErrorResponseException, URIValidationException, CompanyNotFoundException {
         CompanyProfileApi companyProfile = new CompanyProfileApi();
@@ -89,6 +114,21 @@ class CompanyProfileServiceTest {
         assertTrue(se.getMessage().contains("500"));
     }
 
+    @Test
+    void getCompanyProfileFailsFastOnceCircuitIsOpen() throws ApiErrorResponseException, URIValidationException {
+        when(apiClientService.getApiKeyAuthenticatedClient()).thenReturn(apiClient);
+        when(apiClient.company()).thenReturn(companyResourceHandler);
+        when(companyResourceHandler.get("/company/" + COMPANY_NUMBER)).thenReturn(companyGet);
+        when(companyGet.execute()).thenThrow(ApiErrorResponseException.fromIOException(new IOException("ERROR")));
+
+        for (int i = 0; i < CIRCUIT_BREAKER_SETTINGS.minimumCalls(); i++) {
+            assertThrows(ServiceException.class, () -> companyProfileService.getCompanyProfile(COMPANY_NUMBER));
+        }
+
+        assertThrows(DownstreamUnavailableException.class, () -> companyProfileService.getCompanyProfile(COMPANY_NUMBER));
+        verify(companyGet, times(CIRCUIT_BREAKER_SETTINGS.minimumCalls())).execute();
+    }
+
     @Test
     void getCompanyProfileApiCompanyNotFoundResponse() throws ApiErrorResponseException, URIValidationException {
         when(apiClientService.getApiKeyAuthenticatedClient()).thenReturn(apiClient);
@@ -101,4 +141,52 @@ class CompanyProfileServiceTest {
 
         assertThrows(CompanyNotFoundException.class, () -> companyProfileService.getCompanyProfile(COMPANY_NUMBER));
     }
+
+    @Test
+    void getCompanyProfileIsCached() throws ServiceException, ApiErrorResponseException, URIValidationException, CompanyNotFoundException {
+        CompanyProfileApi companyProfile = new CompanyProfileApi();
+        companyProfile.setCompanyName("COMPANY NAME");
+
+        when(apiClientService.getApiKeyAuthenticatedClient()).thenReturn(apiClient);
+        when(apiClient.company()).thenReturn(companyResourceHandler);
+        when(companyResourceHandler.get("/company/" + COMPANY_NUMBER)).thenReturn(companyGet);
+        when(companyGet.execute()).thenReturn(apiResponse);
+        when(apiResponse.getData()).thenReturn(companyProfile);
+
+        assertEquals(companyProfile, companyProfileService.getCompanyProfile(COMPANY_NUMBER));
+        assertEquals(companyProfile, companyProfileService.getCompanyProfile(COMPANY_NUMBER));
+
+        verify(companyGet, times(1)).execute();
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "company-profile").tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "company-profile").tag("result", "miss").functionCounter().count());
+    }
+
+    @Test
+    void getCompanyProfileErrorIsNotCached() throws ApiErrorResponseException, URIValidationException {
+        when(apiClientService.getApiKeyAuthenticatedClient()).thenReturn(apiClient);
+        when(apiClient.company()).thenReturn(companyResourceHandler);
+        when(companyResourceHandler.get("/company/" + COMPANY_NUMBER)).thenReturn(companyGet);
+        when(companyGet.execute()).thenThrow(ApiErrorResponseException.fromIOException(new IOException("ERROR")));
+
+        assertThrows(ServiceException.class, () -> companyProfileService.getCompanyProfile(COMPANY_NUMBER));
+        assertThrows(ServiceException.class, () -> companyProfileService.getCompanyProfile(COMPANY_NUMBER));
+
+        verify(companyGet, times(2)).execute();
+    }
+
+    @Test
+    void getCompanyProfileCompanyNotFoundIsCached() throws ApiErrorResponseException, URIValidationException {
+        when(apiClientService.getApiKeyAuthenticatedClient()).thenReturn(apiClient);
+        when(apiClient.company()).thenReturn(companyResourceHandler);
+        when(companyResourceHandler.get("/company/" + COMPANY_NUMBER)).thenReturn(companyGet);
+
+        HttpResponseException httpResponseException =
+                new HttpResponseException.Builder(404, "test", new HttpHeaders()).build();
+        when(companyGet.execute()).thenThrow(ApiErrorResponseException.fromHttpResponseException(httpResponseException));
+
+        assertThrows(CompanyNotFoundException.class, () -> companyProfileService.getCompanyProfile(COMPANY_NUMBER));
+        assertThrows(CompanyNotFoundException.class, () -> companyProfileService.getCompanyProfile(COMPANY_NUMBER));
+
+        verify(companyGet, times(1)).execute();
+    }
 }
@@ -1,27 +1,41 @@
 package uk.gov.companieshouse.registeredemailaddressapi.unit.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.BDDMockito;
 import org.mockito.Mock;
+import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import uk.gov.companieshouse.api.model.company.CompanyProfileApi;
 import uk.gov.companieshouse.api.model.company.RegisteredEmailAddressJson;
 import uk.gov.companieshouse.registeredemailaddressapi.eligibility.EligibilityRule;
+import uk.gov.companieshouse.registeredemailaddressapi.eligibility.EligibilityRuleCost;
 import uk.gov.companieshouse.registeredemailaddressapi.eligibility.EligibilityStatusCode;
 import uk.gov.companieshouse.registeredemailaddressapi.eligibility.impl.CompanyEmailValidation;
 import uk.gov.companieshouse.registeredemailaddressapi.eligibility.impl.CompanyStatusValidation;
 import uk.gov.companieshouse.registeredemailaddressapi.eligibility.impl.CompanyTypeValidation;
 import uk.gov.companieshouse.registeredemailaddressapi.exception.EligibilityException;
 import uk.gov.companieshouse.registeredemailaddressapi.exception.ServiceException;
+import uk.gov.companieshouse.registeredemailaddressapi.metrics.EligibilityFunnel;
 import uk.gov.companieshouse.registeredemailaddressapi.service.CompanyProfileService;
 import uk.gov.companieshouse.registeredemailaddressapi.service.EligibilityService;
 import uk.gov.companieshouse.registeredemailaddressapi.service.PrivateDataRetrievalService;
@@ -40,6 +54,8 @@ class EligibilityServiceTest {
     @Mock
     private PrivateDataRetrievalService privateDataRetrievalService;
 
+    private SimpleMeterRegistry meterRegistry;
+
     private EligibilityService eligibilityService;
 
     @BeforeEach
@@ -50,7 +66,9 @@ class EligibilityServiceTest {
 
         eligibilityRules = List.of(companyTypeValidation, companyStatusValidation, companyEmailValidation);
 
-        eligibilityService = new EligibilityService(eligibilityRules, companyProfileService);
+        meterRegistry = new SimpleMeterRegistry();
+        eligibilityService = new EligibilityService(eligibilityRules, companyProfileService, Thread.ofVirtual().factory(),
+                false, meterRegistry);
     }
 
     @Test
@@ -166,4 +184,287 @@ class EligibilityServiceTest {
         assertEquals(EligibilityStatusCode.INVALID_NO_REGISTERED_EMAIL_ADDRESS_EXISTS, responseBody.getEligibilityStatusCode());
     }
 
+    @Test
+    void testRemoteRuleSkippedWhenLocalRuleFails() throws ServiceException {
+        // GIVEN
+        CompanyProfileApi companyProfileApi = new CompanyProfileApi();
+        companyProfileApi.setCompanyNumber(COMPANY_NUMBER);
+        companyProfileApi.setCompanyStatus("active");
+        companyProfileApi.setType("registered-overseas-entity");
+
+        // WHEN
+        var responseBody = eligibilityService.checkCompanyEligibility(companyProfileApi);
+
+        // THEN
+        assertEquals(EligibilityStatusCode.INVALID_COMPANY_TYPE, responseBody.getEligibilityStatusCode());
+        Mockito.verifyNoInteractions(privateDataRetrievalService);
+        assertEquals(1.0, meterRegistry.get("eligibility.rules.remote.skipped").counter().count());
+    }
+
+    @Test
+    void testRuleOutcomesAndDurationsRecorded() throws ServiceException {
+        // GIVEN
+        CompanyProfileApi companyProfileApi = new CompanyProfileApi();
+        companyProfileApi.setCompanyNumber(COMPANY_NUMBER);
+        companyProfileApi.setCompanyStatus("active");
+        companyProfileApi.setType("registered-overseas-entity");
+
+        // WHEN
+        eligibilityService.checkCompanyEligibility(companyProfileApi);
+
+        // THEN
+        assertEquals(1.0, meterRegistry.get("eligibility.rule.outcomes")
+                .tags("rule", "CompanyTypeValidation", "status", "INVALID_COMPANY_TYPE").counter().count());
+        assertEquals(1, meterRegistry.get("eligibility.rule.duration")
+                .tag("rule", "CompanyTypeValidation").timer().count());
+        assertEquals(1.0, meterRegistry.get("eligibility.rule.skipped")
+                .tag("rule", "CompanyStatusValidation").counter().count());
+        assertEquals(1.0, meterRegistry.get("eligibility.rule.skipped")
+                .tag("rule", "CompanyEmailValidation").counter().count());
+        assertEquals(0, meterRegistry.get("eligibility.rule.duration")
+                .tag("rule", "CompanyEmailValidation").timer().count());
+        assertEquals(1.0, meterRegistry.get("eligibility.checks")
+                .tag("status", "INVALID_COMPANY_TYPE").counter().count());
+    }
+
+    @Test
+    void testFunnelSummarisesChecks() throws ServiceException {
+        // GIVEN
+        CompanyProfileApi eligibleCompany = new CompanyProfileApi();
+        eligibleCompany.setCompanyNumber(COMPANY_NUMBER);
+        eligibleCompany.setCompanyStatus("active");
+        eligibleCompany.setType("ltd");
+
+        CompanyProfileApi inactiveCompany = new CompanyProfileApi();
+        inactiveCompany.setCompanyNumber(COMPANY_NUMBER);
+        inactiveCompany.setCompanyStatus("inactive");
+        inactiveCompany.setType("ltd");
+
+        RegisteredEmailAddressJson registeredEmailAddressJson = new RegisteredEmailAddressJson();
+        registeredEmailAddressJson.setRegisteredEmailAddress("info@acme.com");
+
+        BDDMockito.given(privateDataRetrievalService.getRegisteredEmailAddress(COMPANY_NUMBER)).willReturn(registeredEmailAddressJson);
+
+        // WHEN
+        eligibilityService.checkCompanyEligibility(eligibleCompany);
+        eligibilityService.checkCompanyEligibility(inactiveCompany);
+        var funnel = eligibilityService.getFunnel();
+
+        // THEN
+        assertEquals(Map.of("COMPANY_VALID_FOR_SERVICE", 1L, "INVALID_COMPANY_STATUS", 1L), funnel.checks());
+        assertEquals(List.of("CompanyTypeValidation", "CompanyStatusValidation", "CompanyEmailValidation"),
+                funnel.rules().stream().map(EligibilityFunnel.Rule::name).toList());
+
+        var statusRule = funnel.rules().get(1);
+        assertEquals(2, statusRule.evaluated());
+        assertEquals(1, statusRule.passed());
+        assertEquals(Map.of("INVALID_COMPANY_STATUS", 1L), statusRule.rejected());
+
+        var emailRule = funnel.rules().get(2);
+        assertEquals(EligibilityRuleCost.REMOTE, emailRule.cost());
+        assertEquals(1, emailRule.evaluated());
+        assertEquals(1, emailRule.skipped());
+    }
+
+    @Test
+    void testLocalRulesRunBeforeRemoteRules() throws ServiceException {
+        // GIVEN
+        List<String> calls = new ArrayList<>();
+        EligibilityRule<CompanyProfileApi> remoteRule = remoteRule(profile -> calls.add("remote"));
+        EligibilityRule<CompanyProfileApi> localRule = profile -> calls.add("local");
+
+        // WHEN
+        var responseBody = new EligibilityService(List.of(remoteRule, localRule), companyProfileService,
+                Thread.ofVirtual().factory(), false, meterRegistry).checkCompanyEligibility(new CompanyProfileApi());
+
+        // THEN
+        assertEquals(EligibilityStatusCode.COMPANY_VALID_FOR_SERVICE, responseBody.getEligibilityStatusCode());
+        assertEquals(List.of("local", "remote"), calls);
+    }
+
+    @Test
+    void testRemoteRuleBeforeFailingLocalRuleTakesPriority() throws ServiceException {
+        // GIVEN
+        EligibilityRule<CompanyProfileApi> remoteRule = remoteRule(profile -> {
+            throw new EligibilityException(EligibilityStatusCode.INVALID_NO_REGISTERED_EMAIL_ADDRESS_EXISTS, "remote failure");
+        });
+        EligibilityRule<CompanyProfileApi> localRule = profile -> {
+            throw new EligibilityException(EligibilityStatusCode.INVALID_COMPANY_TYPE, "local failure");
+        };
+
+        // WHEN
+        var responseBody = new EligibilityService(List.of(remoteRule, localRule), companyProfileService,
+                Thread.ofVirtual().factory(), false, meterRegistry).checkCompanyEligibility(new CompanyProfileApi());
+
+        // THEN
+        assertEquals(EligibilityStatusCode.INVALID_NO_REGISTERED_EMAIL_ADDRESS_EXISTS, responseBody.getEligibilityStatusCode());
+        assertEquals(0.0, meterRegistry.get("eligibility.rules.remote.skipped").counter().count());
+    }
+
+    @Test
+    void testParallelWithNoErrors() throws ServiceException {
+        // GIVEN
+        CompanyProfileApi companyProfileApi = new CompanyProfileApi();
+        companyProfileApi.setCompanyNumber(COMPANY_NUMBER);
+        companyProfileApi.setCompanyStatus("active");
+        companyProfileApi.setType("ltd");
+
+        RegisteredEmailAddressJson registeredEmailAddressJson = new RegisteredEmailAddressJson();
+        registeredEmailAddressJson.setRegisteredEmailAddress("info@acme.com");
+
+        BDDMockito.given(privateDataRetrievalService.getRegisteredEmailAddress(COMPANY_NUMBER)).willReturn(registeredEmailAddressJson);
+
+        // WHEN
+        var responseBody = parallelEligibilityService(eligibilityRules).checkCompanyEligibility(companyProfileApi);
+
+        // THEN
+        assertEquals(EligibilityStatusCode.COMPANY_VALID_FOR_SERVICE, responseBody.getEligibilityStatusCode());
+    }
+
+    @Test
+    void testParallelReportsFirstFailingRuleInListOrder() throws ServiceException {
+        // GIVEN
+        EligibilityRule<CompanyProfileApi> slowFailingRule = remoteRule(profile -> {
+            sleep(200);
+            throw new EligibilityException(EligibilityStatusCode.INVALID_COMPANY_STATUS, "slow failure");
+        });
+        EligibilityRule<CompanyProfileApi> fastFailingRule = remoteRule(profile -> {
+            throw new EligibilityException(EligibilityStatusCode.INVALID_COMPANY_TYPE, "fast failure");
+        });
+
+        // WHEN
+        var responseBody = parallelEligibilityService(List.of(slowFailingRule, fastFailingRule))
+                .checkCompanyEligibility(new CompanyProfileApi());
+
+        // THEN
+        assertEquals(EligibilityStatusCode.INVALID_COMPANY_STATUS, responseBody.getEligibilityStatusCode());
+    }
+
+    @Test
+    void testParallelDoesNotWaitForRulesAfterFailure() throws ServiceException {
+        // GIVEN
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var interrupted = new AtomicBoolean();
+        EligibilityRule<CompanyProfileApi> failingRule = remoteRule(profile -> {
+            awaitLatch(started);
+            throw new EligibilityException(EligibilityStatusCode.INVALID_COMPANY_STATUS, "failure");
+        });
+        EligibilityRule<CompanyProfileApi> blockingRule = remoteRule(profile -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                interrupted.set(true);
+            }
+        });
+
+        // WHEN
+        var service = parallelEligibilityService(List.of(failingRule, blockingRule));
+        var responseBody = service.checkCompanyEligibility(new CompanyProfileApi());
+        release.countDown();
+
+        // THEN
+        assertEquals(EligibilityStatusCode.INVALID_COMPANY_STATUS, responseBody.getEligibilityStatusCode());
+        // the rule had already started, so it was not skipped
+        assertEquals(0, service.getFunnel().rules().get(1).skipped());
+        assertFalse(interrupted.get());
+    }
+
+    @Test
+    void testParallelPropagatesServiceException() {
+        // GIVEN
+        var started = new CountDownLatch(1);
+        EligibilityRule<CompanyProfileApi> erroringRule = remoteRule(profile -> {
+            awaitLatch(started);
+            throw new ServiceException("ERROR");
+        });
+        EligibilityRule<CompanyProfileApi> failingRule = remoteRule(profile -> {
+            started.countDown();
+            sleep(200);
+            throw new EligibilityException(EligibilityStatusCode.INVALID_COMPANY_TYPE, "failure");
+        });
+
+        // WHEN / THEN
+        var service = parallelEligibilityService(List.of(erroringRule, failingRule));
+        assertThrows(ServiceException.class, () -> service.checkCompanyEligibility(new CompanyProfileApi()));
+
+        var funnel = service.getFunnel();
+        assertEquals(Map.of("ERROR", 1L), funnel.checks());
+        assertEquals(1, funnel.rules().get(0).errors());
+        // the second rule had already started, so it was not skipped
+        assertEquals(0, funnel.rules().get(1).skipped());
+    }
+
+    @Test
+    void testParallelRunsLocalRulesBeforeRemoteRules() throws ServiceException {
+        // GIVEN
+        List<String> calls = new CopyOnWriteArrayList<>();
+        EligibilityRule<CompanyProfileApi> firstRemoteRule = remoteRule(profile -> calls.add("remote"));
+        EligibilityRule<CompanyProfileApi> secondRemoteRule = remoteRule(profile -> calls.add("remote"));
+        EligibilityRule<CompanyProfileApi> localRule = profile -> calls.add("local");
+
+        // WHEN
+        var responseBody = parallelEligibilityService(List.of(firstRemoteRule, secondRemoteRule, localRule))
+                .checkCompanyEligibility(new CompanyProfileApi());
+
+        // THEN
+        assertEquals(EligibilityStatusCode.COMPANY_VALID_FOR_SERVICE, responseBody.getEligibilityStatusCode());
+        assertEquals(List.of("local", "remote", "remote"), calls);
+    }
+
+    @Test
+    void testParallelSkipsRemoteRulesAfterFailingLocalRule() throws ServiceException {
+        // GIVEN
+        var remoteCalls = new AtomicInteger();
+        EligibilityRule<CompanyProfileApi> localRule = profile -> {
+            throw new EligibilityException(EligibilityStatusCode.INVALID_COMPANY_TYPE, "local failure");
+        };
+        EligibilityRule<CompanyProfileApi> firstRemoteRule = remoteRule(profile -> remoteCalls.incrementAndGet());
+        EligibilityRule<CompanyProfileApi> secondRemoteRule = remoteRule(profile -> remoteCalls.incrementAndGet());
+
+        // WHEN
+        var service = parallelEligibilityService(List.of(localRule, firstRemoteRule, secondRemoteRule));
+        var responseBody = service.checkCompanyEligibility(new CompanyProfileApi());
+
+        // THEN
+        assertEquals(EligibilityStatusCode.INVALID_COMPANY_TYPE, responseBody.getEligibilityStatusCode());
+        assertEquals(0, remoteCalls.get());
+        assertEquals(2.0, meterRegistry.get("eligibility.rules.remote.skipped").counter().count());
+        assertEquals(0, service.getFunnel().rules().get(1).evaluated());
+    }
+
+    private EligibilityService parallelEligibilityService(List<EligibilityRule<CompanyProfileApi>> rules) {
+        return new EligibilityService(rules, companyProfileService, Thread.ofVirtual().factory(), true, meterRegistry);
+    }
+
+    private static EligibilityRule<CompanyProfileApi> remoteRule(EligibilityRule<CompanyProfileApi> rule) {
+        return new EligibilityRule<>() {
+            @Override
+            public void validate(CompanyProfileApi input) throws EligibilityException, ServiceException {
+                rule.validate(input);
+            }
+
+            @Override
+            public EligibilityRuleCost cost() {
+                return EligibilityRuleCost.REMOTE;
+            }
+        };
+    }
+
+    private static void awaitLatch(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
 }
@@ -3,18 +3,22 @@ package uk.gov.companieshouse.registeredemailaddressapi.unit.service;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.google.api.client.http.HttpHeaders;
 import com.google.api.client.http.HttpResponseException;
 import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import uk.gov.companieshouse.api.InternalApiClient;
 import uk.gov.companieshouse.api.error.ApiErrorResponseException;
 import uk.gov.companieshouse.api.handler.company.request.PrivateCompanyEmailGet;
@@ -23,7 +27,10 @@ import uk.gov.companieshouse.api.handler.exception.URIValidationException;
 import uk.gov.companieshouse.api.model.ApiResponse;
 import uk.gov.companieshouse.api.model.company.RegisteredEmailAddressJson;
 import uk.gov.companieshouse.registeredemailaddressapi.client.ApiClientService;
+import uk.gov.companieshouse.registeredemailaddressapi.client.CircuitBreaker;
+import uk.gov.companieshouse.registeredemailaddressapi.client.DownstreamGuard;
 import uk.gov.companieshouse.registeredemailaddressapi.exception.ServiceException;
+import uk.gov.companieshouse.registeredemailaddressapi.metrics.DownstreamMetrics;
 import uk.gov.companieshouse.registeredemailaddressapi.service.OracleQueryApiDataRetrievalServiceImpl;
 
 @ExtendWith(MockitoExtension.class)
@@ -31,8 +38,9 @@ class OracleQueryApiDataRetrievalServiceImplTest {
 
     private static final String COMPANY_NUMBER = "12345678";
     private static final String COMPANY_EMAIL = "tester@testing.com";
+    private static final CircuitBreaker.Settings CIRCUIT_BREAKER_SETTINGS =
+            new CircuitBreaker.Settings(50, 10, 5, Duration.ofSeconds(30), 1);
 
-    @InjectMocks
     private OracleQueryApiDataRetrievalServiceImpl oracleQueryApiDataRetrievalServiceImpl;
 
     @Mock
@@ -55,6 +63,14 @@ class OracleQueryApiDataRetrievalServiceImplTest {
             new HttpResponseException.Builder(404, "ERROR", new HttpHeaders()).build());
 
 
+    @BeforeEach
+    public void initService() {
+        oracleQueryApiDataRetrievalServiceImpl = new OracleQueryApiDataRetrievalServiceImpl(apiClientService,
+                new DownstreamGuard(new DownstreamMetrics(new SimpleMeterRegistry()), new SimpleMeterRegistry(), Map.of(),
+                        CIRCUIT_BREAKER_SETTINGS),
+                "http://oracle-query-api", Caffeine.newBuilder(), new SimpleMeterRegistry());
+    }
+
     @Nested
     class GetRegisteredEmailAddressTests {
 
@@ -111,6 +127,18 @@ class OracleQueryApiDataRetrievalServiceImplTest {
             assertNull(response);
         }
 
+        @Test
+        void testNotFoundResponseIsCached()
+                throws IOException, URIValidationException, ServiceException {
+
+            when(privateCompanyEmailGet.execute()).thenThrow(NOT_FOUND_EXCEPTION);
+
+            assertNull(oracleQueryApiDataRetrievalServiceImpl.getRegisteredEmailAddress(COMPANY_NUMBER));
+            assertNull(oracleQueryApiDataRetrievalServiceImpl.getRegisteredEmailAddress(COMPANY_NUMBER));
+
+            verify(privateCompanyEmailGet, times(1)).execute();
+        }
+
         @Test
         void testServiceExceptionThrownWhenCompanyEmailGetThrowsURIValidationException()
                 throws IOException, URIValidationException {
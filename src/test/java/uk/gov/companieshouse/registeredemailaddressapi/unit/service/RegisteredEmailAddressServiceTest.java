@@ -7,6 +7,7 @@ import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
 import uk.gov.companieshouse.api.model.transaction.Resource;
 import uk.gov.companieshouse.api.model.transaction.Transaction;
 import uk.gov.companieshouse.api.model.validationstatus.ValidationStatusResponse;
@@ -15,12 +16,14 @@ import uk.gov.companieshouse.registeredemailaddressapi.exception.CompanyNotFound
 import uk.gov.companieshouse.registeredemailaddressapi.exception.EligibilityException;
 import uk.gov.companieshouse.registeredemailaddressapi.exception.InvalidEmailAddressException;
 import uk.gov.companieshouse.registeredemailaddressapi.exception.NotFoundException;
+import uk.gov.companieshouse.registeredemailaddressapi.exception.PreconditionFailedException;
 import uk.gov.companieshouse.registeredemailaddressapi.exception.ServiceException;
 import uk.gov.companieshouse.registeredemailaddressapi.exception.SubmissionAlreadyExistsException;
 import uk.gov.companieshouse.registeredemailaddressapi.exception.TransactionNotOpenException;
 import uk.gov.companieshouse.registeredemailaddressapi.mapper.RegisteredEmailAddressMapper;
 import uk.gov.companieshouse.registeredemailaddressapi.model.dao.RegisteredEmailAddressDAO;
 import uk.gov.companieshouse.registeredemailaddressapi.model.dao.RegisteredEmailAddressData;
+import uk.gov.companieshouse.registeredemailaddressapi.model.dao.ValidationStatusData;
 import uk.gov.companieshouse.registeredemailaddressapi.model.dto.RegisteredEmailAddressDTO;
 import uk.gov.companieshouse.registeredemailaddressapi.model.dto.RegisteredEmailAddressResponseDTO;
 import uk.gov.companieshouse.registeredemailaddressapi.model.dto.RegisteredEmailAddressResponseData;
@@ -33,16 +36,24 @@ import uk.gov.companieshouse.registeredemailaddressapi.service.ValidationService
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
 import static java.lang.String.format;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -58,6 +69,7 @@ class RegisteredEmailAddressServiceTest {
     private static final String USER_ID = UUID.randomUUID().toString();
     private static final String SUBMISSION_ID = UUID.randomUUID().toString();
     private static final String TRANSACTION_ID = UUID.randomUUID().toString();
+    private static final String ETAG = "c85e9ba4bd5bcd6c71ae1f1d5e2b5a8b8ef7c1a3";
 
     @Mock
     private TransactionService transactionService;
@@ -122,6 +134,15 @@ class RegisteredEmailAddressServiceTest {
                 .get(submissionUri).getLinks().get("validation_status"));
 
         verify(registeredEmailAddressMapper, times(1)).daoToDto(any());
+
+        // the submission is written once, complete with its links and metadata
+        verify(registeredEmailAddressRepository, times(1)).insert(registeredEmailAddressDAO);
+        verify(registeredEmailAddressRepository, never()).save(any());
+        assertEquals(submissionUri, registeredEmailAddressDAO.getLinks().get("self"));
+        assertEquals(submissionUri + "/validation-status", registeredEmailAddressDAO.getLinks().get("validation_status"));
+        assertEquals(REQUEST_ID, registeredEmailAddressDAO.getHttpRequestId());
+        assertEquals(USER_ID, registeredEmailAddressDAO.getLastModifiedByUserId());
+        assertNotNull(registeredEmailAddressDAO.getUpdatedAt());
     }
 
     @Test
@@ -209,7 +230,7 @@ class RegisteredEmailAddressServiceTest {
     }
 
     @Test
-    void testUpdateRegisteredEmailAddressIsSuccessful() throws ServiceException, NotFoundException, SubmissionAlreadyExistsException, TransactionNotOpenException, CompanyNotFoundException, EligibilityException, InvalidEmailAddressException {
+    void testUpdateRegisteredEmailAddressIsSuccessful() throws ServiceException, NotFoundException, PreconditionFailedException, SubmissionAlreadyExistsException, TransactionNotOpenException, CompanyNotFoundException, EligibilityException, InvalidEmailAddressException {
         // GIVEN
 
         Transaction transaction = buildTransaction();
@@ -229,12 +250,18 @@ class RegisteredEmailAddressServiceTest {
 
         // WHEN
 
-        when(registeredEmailAddressRepository.findByTransactionId(transaction.getId())).thenReturn(registeredEmailAddressDAO);
-        when(registeredEmailAddressRepository.save(registeredEmailAddressDAO)).thenReturn(registeredEmailAddressDAO);
+        when(registeredEmailAddressRepository.updateRegisteredEmailAddress(eq(transaction.getId()),
+                isNull(),
+                eq(registeredEmailAddressDTO.getRegisteredEmailAddress()),
+                eq(registeredEmailAddressDTO.isAcceptAppropriateEmailAddressStatement()),
+                anyString(),
+                eq(USER_ID),
+                any(LocalDateTime.class))).thenReturn(registeredEmailAddressDAO);
         when(registeredEmailAddressMapper.daoToDto(any())).thenReturn(registeredEmailAddressResponseDTO);
 
         RegisteredEmailAddressResponseDTO response = registeredEmailAddressService.updateRegisteredEmailAddress(transaction,
                 registeredEmailAddressDTO,
+                null,
                 REQUEST_ID,
                 USER_ID);
 
@@ -243,7 +270,97 @@ class RegisteredEmailAddressServiceTest {
         assertEquals(SUBMISSION_ID, response.getId());
         assertEquals(newEmail, response.getData().getRegisteredEmailAddress());
 
-        verify(registeredEmailAddressMapper, times(1)).daoToDto(any());
+        verify(registeredEmailAddressMapper, times(1)).daoToDto(registeredEmailAddressDAO);
+        verify(registeredEmailAddressRepository, never()).findByTransactionId(any());
+        verify(registeredEmailAddressRepository, never()).save(any());
+    }
+
+    @Test
+    void testUpdateRegisteredEmailAddressFailsNoSubmission() throws ServiceException, CompanyNotFoundException, EligibilityException {
+        // GIVEN
+
+        Transaction transaction = buildTransaction();
+        transaction.setStatus(OPEN);
+
+        RegisteredEmailAddressDTO registeredEmailAddressDTO = buildRegisteredEmailAddressDTO();
+
+        // WHEN
+
+        when(registeredEmailAddressRepository.updateRegisteredEmailAddress(eq(transaction.getId()), any(), any(), anyBoolean(), any(), any(), any()))
+                .thenReturn(null);
+
+        NotFoundException notFoundException = assertThrows(NotFoundException.class, () ->
+                registeredEmailAddressService.updateRegisteredEmailAddress(transaction,
+                        registeredEmailAddressDTO,
+                        null,
+                        REQUEST_ID,
+                        USER_ID));
+
+        // THEN
+
+        assertEquals(format("Registered Email Address for TransactionId : %s Not Found", transaction.getId()),
+                notFoundException.getMessage());
+        verify(registeredEmailAddressMapper, never()).daoToDto(any());
+    }
+
+    @Test
+    void testUpdateRegisteredEmailAddressOnlyUpdatesExpectedEtag() throws ServiceException, NotFoundException, PreconditionFailedException, TransactionNotOpenException, CompanyNotFoundException, EligibilityException, InvalidEmailAddressException {
+        // GIVEN
+
+        Transaction transaction = buildTransaction();
+        transaction.setStatus(OPEN);
+
+        RegisteredEmailAddressDAO registeredEmailAddressDAO = buildRegisteredEmailAddressDAO();
+        RegisteredEmailAddressDTO registeredEmailAddressDTO = buildRegisteredEmailAddressDTO();
+        List<String> expectedEtags = List.of(ETAG);
+
+        // WHEN
+
+        when(registeredEmailAddressRepository.updateRegisteredEmailAddress(eq(transaction.getId()), eq(expectedEtags), any(), anyBoolean(), any(), any(), any()))
+                .thenReturn(registeredEmailAddressDAO);
+        when(registeredEmailAddressMapper.daoToDto(registeredEmailAddressDAO)).thenReturn(buildRegisteredEmailAddressResponsesDTO());
+
+        registeredEmailAddressService.updateRegisteredEmailAddress(transaction,
+                registeredEmailAddressDTO,
+                expectedEtags,
+                REQUEST_ID,
+                USER_ID);
+
+        // THEN
+
+        ArgumentCaptor<String> newEtag = ArgumentCaptor.forClass(String.class);
+        verify(registeredEmailAddressRepository).updateRegisteredEmailAddress(eq(transaction.getId()), eq(expectedEtags), any(), anyBoolean(), newEtag.capture(), any(), any());
+        assertNotNull(newEtag.getValue());
+        assertNotEquals(ETAG, newEtag.getValue());
+    }
+
+    @Test
+    void testUpdateRegisteredEmailAddressFailsEtagChanged() {
+        // GIVEN
+
+        Transaction transaction = buildTransaction();
+        transaction.setStatus(OPEN);
+
+        RegisteredEmailAddressDTO registeredEmailAddressDTO = buildRegisteredEmailAddressDTO();
+
+        // WHEN
+
+        when(registeredEmailAddressRepository.updateRegisteredEmailAddress(eq(transaction.getId()), any(), any(), anyBoolean(), any(), any(), any()))
+                .thenReturn(null);
+        when(registeredEmailAddressRepository.findByTransactionId(transaction.getId())).thenReturn(buildRegisteredEmailAddressDAO());
+
+        PreconditionFailedException preconditionFailedException = assertThrows(PreconditionFailedException.class, () ->
+                registeredEmailAddressService.updateRegisteredEmailAddress(transaction,
+                        registeredEmailAddressDTO,
+                        List.of(ETAG),
+                        REQUEST_ID,
+                        USER_ID));
+
+        // THEN
+
+        assertEquals(format("Registered Email Address for TransactionId : %s has been modified since it was retrieved", transaction.getId()),
+                preconditionFailedException.getMessage());
+        verify(registeredEmailAddressMapper, never()).daoToDto(any());
     }
 
     @Test
@@ -254,6 +371,7 @@ class RegisteredEmailAddressServiceTest {
         try {
             registeredEmailAddressService.updateRegisteredEmailAddress(transaction,
                     buildRegisteredEmailAddressDTO(),
+                    null,
                     REQUEST_ID,
                     USER_ID);
             fail();
@@ -271,6 +389,7 @@ class RegisteredEmailAddressServiceTest {
         try {
             registeredEmailAddressService.updateRegisteredEmailAddress(transaction,
                     buildRegisteredEmailAddressDTO(),
+                    null,
                     REQUEST_ID,
                     USER_ID);
             fail();
@@ -299,6 +418,7 @@ class RegisteredEmailAddressServiceTest {
         Exception exception = assertThrows(EligibilityException.class, () -> {
             registeredEmailAddressService.updateRegisteredEmailAddress(transaction,
                     buildRegisteredEmailAddressDTO(),
+                    null,
                     REQUEST_ID,
                     USER_ID);
         });
@@ -325,6 +445,7 @@ class RegisteredEmailAddressServiceTest {
         assertThrows(CompanyNotFoundException.class, () -> {
             registeredEmailAddressService.updateRegisteredEmailAddress(transaction,
                     buildRegisteredEmailAddressDTO(),
+                    null,
                     REQUEST_ID,
                     USER_ID);
         });
@@ -341,16 +462,82 @@ class RegisteredEmailAddressServiceTest {
         when(validationService.validateRegisteredEmailAddress(registeredEmailAddressDAO, REQUEST_ID))
                 .thenReturn(validationStatusResponse);
 
-        ValidationStatusResponse response = registeredEmailAddressService
+        ValidationStatusData validationStatus = registeredEmailAddressService
                 .getValidationStatus(TRANSACTION_ID, REQUEST_ID);
+        ValidationStatusResponse response = validationStatus.getValidationStatusResponse();
 
         assertTrue(response.isValid());
         assertNull(response.getValidationStatusError());
+        assertEquals(ETAG, validationStatus.getEtag());
 
         verify(registeredEmailAddressRepository, times(1))
                 .findByTransactionId(TRANSACTION_ID);
         verify(validationService, times(1))
                 .validateRegisteredEmailAddress(registeredEmailAddressDAO, REQUEST_ID);
+        verify(registeredEmailAddressRepository, times(1))
+                .saveValidationStatus(TRANSACTION_ID, validationStatus);
+    }
+
+    @Test
+    void getValidationStatusUsesStoredStatus() throws NotFoundException {
+        RegisteredEmailAddressDAO registeredEmailAddressDAO = buildRegisteredEmailAddressDAO();
+        ValidationStatusResponse validationStatusResponse = new ValidationStatusResponse();
+        validationStatusResponse.setValid(true);
+        registeredEmailAddressDAO.setValidationStatus(new ValidationStatusData(ETAG, validationStatusResponse));
+
+        when(registeredEmailAddressRepository.findByTransactionId(TRANSACTION_ID))
+                .thenReturn(registeredEmailAddressDAO);
+
+        ValidationStatusData validationStatus = registeredEmailAddressService
+                .getValidationStatus(TRANSACTION_ID, REQUEST_ID);
+
+        assertEquals(validationStatusResponse, validationStatus.getValidationStatusResponse());
+        assertEquals(ETAG, validationStatus.getEtag());
+
+        verify(validationService, never()).validateRegisteredEmailAddress(any(), any());
+        verify(registeredEmailAddressRepository, never()).saveValidationStatus(any(), any());
+    }
+
+    @Test
+    void getValidationStatusIgnoresStatusForOldEtag() throws NotFoundException {
+        RegisteredEmailAddressDAO registeredEmailAddressDAO = buildRegisteredEmailAddressDAO();
+        ValidationStatusResponse storedValidationStatusResponse = new ValidationStatusResponse();
+        storedValidationStatusResponse.setValid(false);
+        registeredEmailAddressDAO.setValidationStatus(new ValidationStatusData("old-etag", storedValidationStatusResponse));
+        ValidationStatusResponse validationStatusResponse = new ValidationStatusResponse();
+        validationStatusResponse.setValid(true);
+
+        when(registeredEmailAddressRepository.findByTransactionId(TRANSACTION_ID))
+                .thenReturn(registeredEmailAddressDAO);
+        when(validationService.validateRegisteredEmailAddress(registeredEmailAddressDAO, REQUEST_ID))
+                .thenReturn(validationStatusResponse);
+
+        ValidationStatusData validationStatus = registeredEmailAddressService
+                .getValidationStatus(TRANSACTION_ID, REQUEST_ID);
+
+        assertEquals(validationStatusResponse, validationStatus.getValidationStatusResponse());
+        assertEquals(ETAG, validationStatus.getEtag());
+        verify(registeredEmailAddressRepository, times(1))
+                .saveValidationStatus(TRANSACTION_ID, validationStatus);
+    }
+
+    @Test
+    void getValidationStatusReturnedWhenItCannotBeStored() throws NotFoundException {
+        RegisteredEmailAddressDAO registeredEmailAddressDAO = buildRegisteredEmailAddressDAO();
+        ValidationStatusResponse validationStatusResponse = new ValidationStatusResponse();
+        validationStatusResponse.setValid(true);
+
+        when(registeredEmailAddressRepository.findByTransactionId(TRANSACTION_ID))
+                .thenReturn(registeredEmailAddressDAO);
+        when(validationService.validateRegisteredEmailAddress(registeredEmailAddressDAO, REQUEST_ID))
+                .thenReturn(validationStatusResponse);
+        when(registeredEmailAddressRepository.saveValidationStatus(eq(TRANSACTION_ID), any()))
+                .thenThrow(new DataAccessResourceFailureException("ERROR"));
+
+        ValidationStatusData validationStatus = registeredEmailAddressService
+                .getValidationStatus(TRANSACTION_ID, REQUEST_ID);
+
+        assertEquals(validationStatusResponse, validationStatus.getValidationStatusResponse());
     }
 
     @Test
@@ -428,6 +615,7 @@ class RegisteredEmailAddressServiceTest {
         RegisteredEmailAddressData registeredEmailAddressData = new RegisteredEmailAddressData();
         registeredEmailAddressData.setRegisteredEmailAddress("test@Test.com");
         registeredEmailAddressData.setAcceptAppropriateEmailAddressStatement(false);
+        registeredEmailAddressData.setEtag(ETAG);
         RegisteredEmailAddressDAO registeredEmailAddressDAO = new RegisteredEmailAddressDAO();
         registeredEmailAddressDAO.setData(registeredEmailAddressData);
         registeredEmailAddressDAO.setId(SUBMISSION_ID);
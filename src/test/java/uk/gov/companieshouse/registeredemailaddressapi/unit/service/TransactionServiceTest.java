@@ -1,8 +1,11 @@
 package uk.gov.companieshouse.registeredemailaddressapi.unit.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import uk.gov.companieshouse.api.ApiClient;
@@ -15,13 +18,21 @@ import uk.gov.companieshouse.api.handler.transaction.TransactionsResourceHandler
 import uk.gov.companieshouse.api.handler.transaction.request.TransactionsGet;
 import uk.gov.companieshouse.api.model.ApiResponse;
 import uk.gov.companieshouse.api.model.transaction.Transaction;
+import uk.gov.companieshouse.api.model.transaction.TransactionStatus;
 import uk.gov.companieshouse.registeredemailaddressapi.client.ApiClientService;
+import uk.gov.companieshouse.registeredemailaddressapi.client.CircuitBreaker;
+import uk.gov.companieshouse.registeredemailaddressapi.client.DownstreamGuard;
 import uk.gov.companieshouse.registeredemailaddressapi.exception.ServiceException;
+import uk.gov.companieshouse.registeredemailaddressapi.metrics.DownstreamMetrics;
 import uk.gov.companieshouse.registeredemailaddressapi.service.TransactionService;
 
 import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -32,6 +43,8 @@ class TransactionServiceTest {
     private static final String LOGGING_CONTEXT = "fg4536";
     private static final String PRIVATE_TRANSACTIONS_URL = "/private/transactions/";
     private static final String TRANSACTIONS_URL = "/transactions/";
+    private static final CircuitBreaker.Settings CIRCUIT_BREAKER_SETTINGS =
+            new CircuitBreaker.Settings(50, 10, 5, Duration.ofSeconds(30), 1);
 
     @Mock
     private ApiClientService apiClientService;
@@ -60,9 +73,16 @@ class TransactionServiceTest {
     @Mock
     private ApiResponse<Void> apiPatchResponse;
 
-    @InjectMocks
     private TransactionService transactionService;
 
+    @BeforeEach
+    void init() {
+        transactionService = new TransactionService(apiClientService,
+                new DownstreamGuard(new DownstreamMetrics(new SimpleMeterRegistry()), new SimpleMeterRegistry(), Map.of(),
+                        CIRCUIT_BREAKER_SETTINGS),
+                Caffeine.newBuilder(), new SimpleMeterRegistry(), new ObjectMapper());
+    }
+
     @Test
     void testGettingATransactionIsSuccessful() throws ServiceException, IOException, URIValidationException {
         Transaction transaction = new Transaction();
@@ -79,6 +99,99 @@ class TransactionServiceTest {
         assertEquals(transaction, response);
     }
 
+    @Test
+    void testGettingAClosedTransactionIsCached() throws ServiceException, IOException, URIValidationException {
+        Transaction transaction = new Transaction();
+        transaction.setId(TRANSACTION_ID);
+        transaction.setStatus(TransactionStatus.CLOSED);
+        mockTransactionGet(PASSTHROUGH_HEADER, transaction);
+
+        transactionService.getTransaction(TRANSACTION_ID, PASSTHROUGH_HEADER, LOGGING_CONTEXT);
+        var response = transactionService.getTransaction(TRANSACTION_ID, PASSTHROUGH_HEADER, LOGGING_CONTEXT);
+
+        assertEquals(TRANSACTION_ID, response.getId());
+        assertEquals(TransactionStatus.CLOSED, response.getStatus());
+        verify(transactionsGet, times(1)).execute();
+    }
+
+    @Test
+    void testGettingAnOpenTransactionIsNotCached() throws ServiceException, IOException, URIValidationException {
+        Transaction transaction = new Transaction();
+        transaction.setId(TRANSACTION_ID);
+        transaction.setStatus(TransactionStatus.OPEN);
+        mockTransactionGet(PASSTHROUGH_HEADER, transaction);
+
+        transactionService.getTransaction(TRANSACTION_ID, PASSTHROUGH_HEADER, LOGGING_CONTEXT);
+        transactionService.getTransaction(TRANSACTION_ID, PASSTHROUGH_HEADER, LOGGING_CONTEXT);
+
+        verify(transactionsGet, times(2)).execute();
+    }
+
+    @Test
+    void testCachedTransactionIsNotSharedBetweenCallers() throws ServiceException, IOException, URIValidationException {
+        Transaction transaction = new Transaction();
+        transaction.setId(TRANSACTION_ID);
+        transaction.setStatus(TransactionStatus.CLOSED);
+        mockTransactionGet(PASSTHROUGH_HEADER, transaction);
+
+        var first = transactionService.getTransaction(TRANSACTION_ID, PASSTHROUGH_HEADER, LOGGING_CONTEXT);
+        first.setReference("changed by the first caller");
+        var second = transactionService.getTransaction(TRANSACTION_ID, PASSTHROUGH_HEADER, LOGGING_CONTEXT);
+        second.setResources(Map.of());
+        var third = transactionService.getTransaction(TRANSACTION_ID, PASSTHROUGH_HEADER, LOGGING_CONTEXT);
+
+        assertNotSame(second, third);
+        assertNull(third.getReference());
+        assertNull(third.getResources());
+        verify(transactionsGet, times(1)).execute();
+    }
+
+    @Test
+    void testCachedTransactionIsNotReturnedForDifferentPassthroughHeader() throws ServiceException, IOException, URIValidationException {
+        Transaction transaction = new Transaction();
+        transaction.setId(TRANSACTION_ID);
+        transaction.setStatus(TransactionStatus.CLOSED);
+        mockTransactionGet(PASSTHROUGH_HEADER, transaction);
+        when(apiClientService.getOauthAuthenticatedClient("other-passthrough")).thenReturn(apiClient);
+
+        transactionService.getTransaction(TRANSACTION_ID, PASSTHROUGH_HEADER, LOGGING_CONTEXT);
+        transactionService.getTransaction(TRANSACTION_ID, "other-passthrough", LOGGING_CONTEXT);
+
+        verify(transactionsGet, times(2)).execute();
+    }
+
+    @Test
+    void testFailureGettingATransactionIsNotCached() throws IOException, URIValidationException {
+        when(apiClientService.getOauthAuthenticatedClient(PASSTHROUGH_HEADER)).thenReturn(apiClient);
+        when(apiClient.transactions()).thenReturn(transactionsResourceHandler);
+        when(transactionsResourceHandler.get(TRANSACTIONS_URL + TRANSACTION_ID)).thenReturn(transactionsGet);
+        when(transactionsGet.execute()).thenThrow(new URIValidationException("ERROR"));
+
+        assertThrows(ServiceException.class, () -> transactionService.getTransaction(TRANSACTION_ID, PASSTHROUGH_HEADER, LOGGING_CONTEXT));
+        assertThrows(ServiceException.class, () -> transactionService.getTransaction(TRANSACTION_ID, PASSTHROUGH_HEADER, LOGGING_CONTEXT));
+
+        verify(transactionsGet, times(2)).execute();
+    }
+
+    @Test
+    void testUpdatingATransactionEvictsCachedTransaction() throws ServiceException, IOException, URIValidationException {
+        Transaction transaction = new Transaction();
+        transaction.setId(TRANSACTION_ID);
+        transaction.setStatus(TransactionStatus.CLOSED);
+        mockTransactionGet(PASSTHROUGH_HEADER, transaction);
+        when(apiClientService.getInternalApiClient()).thenReturn(internalApiClient);
+        when(internalApiClient.privateTransaction()).thenReturn(privateTransactionResourceHandler);
+        when(privateTransactionResourceHandler.patch(PRIVATE_TRANSACTIONS_URL + TRANSACTION_ID, transaction)).thenReturn(privateTransactionPatch);
+        when(privateTransactionPatch.execute()).thenReturn(apiPatchResponse);
+        when(apiPatchResponse.getStatusCode()).thenReturn(204);
+
+        transactionService.getTransaction(TRANSACTION_ID, PASSTHROUGH_HEADER, LOGGING_CONTEXT);
+        transactionService.updateTransaction(transaction, LOGGING_CONTEXT);
+        transactionService.getTransaction(TRANSACTION_ID, PASSTHROUGH_HEADER, LOGGING_CONTEXT);
+
+        verify(transactionsGet, times(2)).execute();
+    }
+
     @Test
     void testServiceExceptionThrownWhenTransactionSdkThrowsURIValidationException() throws IOException, URIValidationException {
         when(apiClientService.getOauthAuthenticatedClient(PASSTHROUGH_HEADER)).thenReturn(apiClient);
@@ -152,4 +265,12 @@ class TransactionServiceTest {
             transactionService.updateTransaction(transaction, LOGGING_CONTEXT);
         });
     }
-}
\ No newline at end of file
+
+    private void mockTransactionGet(String passthroughHeader, Transaction transaction) throws IOException, URIValidationException {
+        when(apiClientService.getOauthAuthenticatedClient(passthroughHeader)).thenReturn(apiClient);
+        when(apiClient.transactions()).thenReturn(transactionsResourceHandler);
+        when(transactionsResourceHandler.get(TRANSACTIONS_URL + TRANSACTION_ID)).thenReturn(transactionsGet);
+        when(transactionsGet.execute()).thenReturn(apiGetResponse);
+        when(apiGetResponse.getData()).thenReturn(transaction);
+    }
+}
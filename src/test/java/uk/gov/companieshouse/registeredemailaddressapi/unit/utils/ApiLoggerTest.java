@@ -1,13 +1,20 @@
 package uk.gov.companieshouse.registeredemailaddressapi.unit.utils;
 
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import uk.gov.companieshouse.registeredemailaddressapi.utils.ApiLogger;
+import uk.gov.companieshouse.registeredemailaddressapi.utils.LogContext;
+import uk.gov.companieshouse.registeredemailaddressapi.utils.LogEvent;
+import uk.gov.companieshouse.registeredemailaddressapi.utils.LogSampler;
 
 import java.util.HashMap;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
 
 class ApiLoggerTest {
 
@@ -24,6 +31,12 @@ class ApiLoggerTest {
         logMap.put(LOG_MAP_KEY, LOG_MAP_VALUE);
     }
 
+    @AfterEach
+    void restoreLevel() {
+        ApiLogger.setLevel(LogEvent.Level.DEBUG);
+        ApiLogger.setSampler(LogSampler.NONE);
+    }
+
     @Test
     void testDebugContextLoggingDoesNotModifyLogMap() {
         ApiLogger.debugContext(CONTEXT, TEST_MESSAGE, logMap);
@@ -105,4 +118,63 @@ class ApiLoggerTest {
         assertEquals(LOG_MAP_VALUE, logMap.get(LOG_MAP_KEY));
     }
 
+    @Test
+    void testDisabledLevelDoesNotBuildMessageOrDataMap() {
+        ApiLogger.setLevel(LogEvent.Level.INFO);
+
+        assertFalse(ApiLogger.isDebugEnabled());
+        ApiLogger.debugContext(CONTEXT, () -> fail("message built"));
+        ApiLogger.debugContext(CONTEXT, () -> fail("message built"), () -> fail("data map built"));
+
+        ApiLogger.setLevel(LogEvent.Level.ERROR);
+
+        assertFalse(ApiLogger.isInfoEnabled());
+        ApiLogger.info(() -> fail("message built"));
+        ApiLogger.infoContext(CONTEXT, () -> fail("message built"));
+    }
+
+    @Test
+    void testEnabledLevelBuildsMessageAndDataMap() {
+        var built = new boolean[2];
+
+        ApiLogger.info(() -> {
+            built[0] = true;
+            return TEST_MESSAGE;
+        }, () -> {
+            built[1] = true;
+            return LogContext.of(LOG_MAP_KEY, LOG_MAP_VALUE);
+        });
+
+        assertTrue(ApiLogger.isInfoEnabled());
+        assertTrue(built[0]);
+        assertTrue(built[1]);
+    }
+
+    @Test
+    void testLogContextLoggedWithoutBeingModified() {
+        var logContext = LogContext.of(LOG_MAP_KEY, LOG_MAP_VALUE);
+
+        ApiLogger.infoContext(CONTEXT, TEST_MESSAGE, logContext);
+        ApiLogger.errorContext(CONTEXT, TEST_MESSAGE, new Exception("TEST"), logContext);
+
+        assertEquals(Map.of(LOG_MAP_KEY, LOG_MAP_VALUE), logContext);
+    }
+
+    @Test
+    void testSuppressedEventNotBuiltAndCountedInSummary() {
+        var sampler = new LogSampler(Map.of(LOG_MAP_KEY, 0.5), Map.of());
+        ApiLogger.setSampler(sampler);
+        var built = new int[1];
+
+        for (int i = 0; i < 4; i++) {
+            ApiLogger.sampledInfo(LOG_MAP_KEY, () -> {
+                built[0]++;
+                return TEST_MESSAGE;
+            });
+        }
+
+        assertEquals(2, built[0]);
+        ApiLogger.logSuppressedSummary();
+        assertTrue(sampler.drainSuppressed().isEmpty());
+    }
 }
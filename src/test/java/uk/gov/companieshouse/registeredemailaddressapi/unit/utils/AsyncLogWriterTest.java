@@ -0,0 +1,179 @@
+package uk.gov.companieshouse.registeredemailaddressapi.unit.utils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import uk.gov.companieshouse.registeredemailaddressapi.utils.AsyncLogWriter;
+import uk.gov.companieshouse.registeredemailaddressapi.utils.AsyncLogWriter.OverflowPolicy;
+import uk.gov.companieshouse.registeredemailaddressapi.utils.LogEvent;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AsyncLogWriterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private List<LogEvent> written;
+
+    private CountDownLatch release;
+
+    @BeforeEach
+    void init() {
+        meterRegistry = new SimpleMeterRegistry();
+        written = new CopyOnWriteArrayList<>();
+        release = new CountDownLatch(1);
+    }
+
+    @Test
+    void testEventsWrittenInOrderOnWriterThread() throws InterruptedException {
+        List<String> threads = new CopyOnWriteArrayList<>();
+        var writer = new AsyncLogWriter(16, OverflowPolicy.BLOCK, meterRegistry, event -> {
+            threads.add(Thread.currentThread().getName());
+            written.add(event);
+        });
+
+        for (int i = 0; i < 100; i++) {
+            assertTrue(writer.offer(event(LogEvent.Level.INFO, "message " + i)));
+        }
+        writer.close();
+
+        assertEquals(100, written.size());
+        for (int i = 0; i < 100; i++) {
+            assertEquals("message " + i, written.get(i).message());
+        }
+        assertTrue(threads.stream().allMatch("async-log-writer"::equals));
+    }
+
+    @Test
+    void testDropDebugDropsOnlyDebugEventsWhenFull() throws InterruptedException {
+        var writer = blockedWriter(OverflowPolicy.DROP_DEBUG);
+
+        assertTrue(writer.offer(event(LogEvent.Level.DEBUG, "dropped")));
+        assertEquals(1.0, dropped("debug"));
+
+        var producer = Thread.ofPlatform().start(() -> writer.offer(event(LogEvent.Level.INFO, "waits")));
+        producer.join(100);
+        assertTrue(producer.isAlive());
+
+        release.countDown();
+        producer.join(TimeUnit.SECONDS.toMillis(5));
+        writer.close();
+
+        assertEquals(0.0, dropped("info"));
+        assertTrue(written.stream().anyMatch(event -> "waits".equals(event.message())));
+        assertTrue(written.stream().noneMatch(event -> "dropped".equals(event.message())));
+    }
+
+    @Test
+    void testDropAllDropsEveryLevelWhenFull() throws InterruptedException {
+        var writer = blockedWriter(OverflowPolicy.DROP_ALL);
+
+        writer.offer(event(LogEvent.Level.INFO, "dropped"));
+        writer.offer(event(LogEvent.Level.ERROR, "dropped"));
+
+        assertEquals(1.0, dropped("info"));
+        assertEquals(1.0, dropped("error"));
+        release.countDown();
+        writer.close();
+    }
+
+    @Test
+    void testOfferRefusedOnceClosed() throws InterruptedException {
+        var writer = new AsyncLogWriter(4, OverflowPolicy.BLOCK, meterRegistry, written::add);
+        writer.close();
+
+        assertFalse(writer.offer(event(LogEvent.Level.INFO, "refused")));
+        assertTrue(written.isEmpty());
+    }
+
+    @Test
+    void testEventsQueuedWhileClosingAreWritten() throws InterruptedException {
+        for (int attempt = 0; attempt < 20; attempt++) {
+            written.clear();
+            var writer = new AsyncLogWriter(1024, OverflowPolicy.BLOCK, meterRegistry, written::add);
+            var accepted = new AtomicInteger();
+            var start = new CountDownLatch(1);
+            List<Thread> producers = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                producers.add(Thread.ofPlatform().start(() -> {
+                    awaitLatch(start);
+                    for (int j = 0; j < 1000; j++) {
+                        if (writer.offer(event(LogEvent.Level.INFO, "message"))) {
+                            accepted.incrementAndGet();
+                        }
+                    }
+                }));
+            }
+
+            start.countDown();
+            writer.close();
+            for (Thread producer : producers) {
+                producer.join(TimeUnit.SECONDS.toMillis(5));
+            }
+
+            assertEquals(accepted.get(), written.size());
+        }
+    }
+
+    @Test
+    void testLoggedTimeKeptUntilWritten() throws InterruptedException {
+        var writer = blockedWriter(OverflowPolicy.BLOCK);
+        long queuedBy = System.currentTimeMillis();
+
+        release.countDown();
+        writer.close();
+
+        assertEquals(3, written.size());
+        for (LogEvent event : written) {
+            assertTrue(event.loggedAt() <= queuedBy);
+            assertEquals(Instant.ofEpochMilli(event.loggedAt()).toString(),
+                    event.dataMap().get(AsyncLogWriter.LOGGED_AT_KEY));
+        }
+    }
+
+    /**
+     * A writer with a buffer of two, whose writer thread is held writing the first event until released, so the
+     * buffer is full once two more events are queued.
+     */
+    private AsyncLogWriter blockedWriter(OverflowPolicy overflowPolicy) throws InterruptedException {
+        var writing = new CountDownLatch(1);
+        var writer = new AsyncLogWriter(2, overflowPolicy, meterRegistry, event -> {
+            writing.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            written.add(event);
+        });
+        writer.offer(event(LogEvent.Level.INFO, "first"));
+        assertTrue(writing.await(5, TimeUnit.SECONDS));
+        writer.offer(event(LogEvent.Level.INFO, "second"));
+        writer.offer(event(LogEvent.Level.INFO, "third"));
+        return writer;
+    }
+
+    private double dropped(String level) {
+        return meterRegistry.get(AsyncLogWriter.DROPPED_METRIC).tag("level", level).counter().count();
+    }
+
+    private static void awaitLatch(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static LogEvent event(LogEvent.Level level, String message) {
+        return new LogEvent(level, "context", message, null, null);
+    }
+}
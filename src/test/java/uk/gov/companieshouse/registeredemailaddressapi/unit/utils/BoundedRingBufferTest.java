@@ -0,0 +1,82 @@
+package uk.gov.companieshouse.registeredemailaddressapi.unit.utils;
+
+import org.junit.jupiter.api.Test;
+import uk.gov.companieshouse.registeredemailaddressapi.utils.BoundedRingBuffer;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedRingBufferTest {
+
+    @Test
+    void testCapacityRoundedUpToPowerOfTwo() {
+        assertEquals(2, new BoundedRingBuffer<String>(1).capacity());
+        assertEquals(8, new BoundedRingBuffer<String>(5).capacity());
+        assertEquals(8, new BoundedRingBuffer<String>(8).capacity());
+    }
+
+    @Test
+    void testElementsPolledInOrderAndOfferFailsWhenFull() {
+        var buffer = new BoundedRingBuffer<Integer>(4);
+
+        for (int i = 0; i < 4; i++) {
+            assertTrue(buffer.offer(i));
+        }
+        assertFalse(buffer.offer(4));
+        assertEquals(4, buffer.size());
+
+        for (int i = 0; i < 4; i++) {
+            assertEquals(i, buffer.poll());
+        }
+        assertNull(buffer.poll());
+        assertEquals(0, buffer.size());
+    }
+
+    @Test
+    void testSlotsReusedAfterPoll() {
+        var buffer = new BoundedRingBuffer<Integer>(2);
+
+        for (int i = 0; i < 10; i++) {
+            assertTrue(buffer.offer(i));
+            assertTrue(buffer.offer(-i));
+            assertFalse(buffer.offer(i));
+            assertEquals(i, buffer.poll());
+            assertEquals(-i, buffer.poll());
+        }
+    }
+
+    @Test
+    void testConcurrentProducersLoseNothing() throws InterruptedException {
+        var buffer = new BoundedRingBuffer<Integer>(64);
+        int producers = 4;
+        int perProducer = 10_000;
+
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            final int base = p * perProducer;
+            threads.add(Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    while (!buffer.offer(base + i)) {
+                        Thread.onSpinWait();
+                    }
+                }
+            }));
+        }
+
+        Set<Integer> received = new HashSet<>();
+        while (received.size() < producers * perProducer) {
+            Integer element = buffer.poll();
+            if (element != null) {
+                assertTrue(received.add(element));
+            }
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertNull(buffer.poll());
+    }
+}
@@ -0,0 +1,154 @@
+package uk.gov.companieshouse.registeredemailaddressapi.unit.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import uk.gov.companieshouse.registeredemailaddressapi.utils.ValidationUtils;
+
+/**
+ * Checks that <code>ValidationUtils.isEmailAddressValid</code> accepts exactly the addresses that the regular
+ * expression implementation it replaced accepts.
+ */
+class EmailAddressValidationDifferentialTest {
+
+    // letters and digits in both cases, hyphens, the separators, a local part symbol and whitespace, plus in the
+    // domains the Kelvin sign, which only matches an ASCII letter under Unicode case folding
+    private static final char[] ADDRESS_ALPHABET = {'a', 'Z', '1', '-', '.', '@', '!', ' '};
+    private static final char[] DOMAIN_ALPHABET = {'x', 'N', '7', '-', '.', '\u212A'};
+    private static final char[] TLD_ALPHABET = {'x', 'n', 'Q', '4', '-'};
+    private static final char[] FUZZ_ALPHABET =
+            "abcxnXN019-._@+!~` \t\n\u00E9\u0130\u017F\u212A".toCharArray();
+
+    @Test
+    void testEveryShortAddressMatchesRegex() {
+        forEveryString("", ADDRESS_ALPHABET, 7, EmailAddressValidationDifferentialTest::assertSameResult);
+    }
+
+    @Test
+    void testEveryShortDomainMatchesRegex() {
+        forEveryString("name@", DOMAIN_ALPHABET, 8, EmailAddressValidationDifferentialTest::assertSameResult);
+    }
+
+    @Test
+    void testEveryShortTopLevelDomainMatchesRegex() {
+        forEveryString("name@example.", TLD_ALPHABET, 9, EmailAddressValidationDifferentialTest::assertSameResult);
+    }
+
+    @Test
+    void testLongTopLevelDomainsMatchRegex() {
+        for (int letters = 60; letters <= 66; letters++) {
+            var tld = "a".repeat(letters);
+            assertSameResult("name@example." + tld);
+            assertSameResult("name@example." + tld + "1");
+            assertSameResult("name@example." + tld + "-1");
+        }
+    }
+
+    @Test
+    void testPunycodeTopLevelDomainsMatchRegex() {
+        var groups = new StringBuilder("xn--a1");
+        for (int i = 0; i < 7; i++) {
+            assertSameResult("name@example." + groups);
+            assertSameResult("name@example." + groups.toString().toUpperCase());
+            assertSameResult("name@example." + groups + ".");
+            assertSameResult("name@example." + groups + "-");
+            assertSameResult("name@example." + groups + "--b");
+            groups.append("-b").append(i);
+        }
+    }
+
+    @Test
+    void testRandomAddressesMatchRegex() {
+        var random = new Random(20240601L);
+        var templates = List.of("%s", "%s@%s", "%s@%s.%s", "%s@%s.%s.%s", "%s@xn--%s.%s");
+        for (int i = 0; i < 200_000; i++) {
+            var template = templates.get(random.nextInt(templates.size()));
+            var address = String.format(template,
+                    randomString(random), randomString(random), randomString(random), randomString(random));
+            assertSameResult(address);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"Test@Test.com", "Test@nx--Test.78.com", "Test@Test-Test.78.com", "a.b@c.d.co.uk",
+            "name@example.com.", "name@xn--bcher-kva.xn--p1ai", "name@example.c0m", "name@example.com1",
+            "'quoted'@example.com", "email+middle\"-quotes@domain.com", "Test@Test.com ", "223j&kg", "Test@Test..com",
+            "Test@Test", "Test@Test,com", "lorem@ipsum", "", " ", ".@a.bc", "a.@b.cd", "a@b.c", "a@-b.cd", "a@b-.cd",
+            "a@b---c.de", "a@b--c.de", "a@@b.cd", "@b.cd", "a@b.cd.."})
+    void testKnownAddressesMatchRegex(String email) {
+        assertSameResult(email);
+    }
+
+    @Test
+    void testNullIsInvalid() {
+        assertEquals(RegexEmailAddressValidator.isEmailAddressValid(null), ValidationUtils.isEmailAddressValid(null));
+    }
+
+    @Test
+    void testValidationDoesNotAllocate() {
+        var threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        var addresses = List.of("name@example.com", "first.last+tag@sub.example.co.uk", "name@xn--bcher-kva.xn--p1ai",
+                "not an address", "name@example..com", "name@example.c-m");
+        boolean result = false;
+        for (int i = 0; i < 20_000; i++) {
+            result ^= ValidationUtils.isEmailAddressValid(addresses.get(i % addresses.size()));
+        }
+
+        long threadId = Thread.currentThread().threadId();
+        long before = threadMXBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < 100_000; i++) {
+            result ^= ValidationUtils.isEmailAddressValid(addresses.get(i % addresses.size()));
+        }
+        long allocated = threadMXBean.getThreadAllocatedBytes(threadId) - before;
+
+        // allow for the odd allocation by the measurement itself, but not one per call
+        assertTrue(allocated < 10_000, "Allocated " + allocated + " bytes for 100000 calls " + result);
+    }
+
+    private static void assertSameResult(String email) {
+        boolean expected = RegexEmailAddressValidator.isEmailAddressValid(email);
+        if (ValidationUtils.isEmailAddressValid(email) != expected) {
+            fail("Expected " + expected + " for [" + email + "]");
+        }
+    }
+
+    private static void forEveryString(String prefix, char[] alphabet, int maxLength, Consumer<String> check) {
+        var current = new char[maxLength];
+        for (int length = 0; length <= maxLength; length++) {
+            var indexes = new int[length];
+            while (true) {
+                for (int i = 0; i < length; i++) {
+                    current[i] = alphabet[indexes[i]];
+                }
+                check.accept(prefix + new String(current, 0, length));
+
+                int position = length - 1;
+                while (position >= 0 && ++indexes[position] == alphabet.length) {
+                    indexes[position--] = 0;
+                }
+                if (position < 0) {
+                    break;
+                }
+            }
+        }
+    }
+
+    private static String randomString(Random random) {
+        var length = random.nextInt(8);
+        var builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            builder.append(FUZZ_ALPHABET[random.nextInt(FUZZ_ALPHABET.length)]);
+        }
+        return builder.toString();
+    }
+}
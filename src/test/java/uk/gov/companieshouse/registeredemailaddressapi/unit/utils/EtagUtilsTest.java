@@ -0,0 +1,46 @@
+package uk.gov.companieshouse.registeredemailaddressapi.unit.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import uk.gov.companieshouse.registeredemailaddressapi.utils.EtagUtils;
+
+class EtagUtilsTest {
+
+    @Test
+    void testNoIfMatchIsUnconditional() {
+        assertNull(EtagUtils.parseIfMatch(null));
+        assertNull(EtagUtils.parseIfMatch(" "));
+    }
+
+    @Test
+    void testWildcardIsUnconditional() {
+        assertNull(EtagUtils.parseIfMatch("*"));
+        assertNull(EtagUtils.parseIfMatch("\"abc\", *"));
+    }
+
+    @Test
+    void testQuotesAreRemoved() {
+        assertEquals(List.of("abc"), EtagUtils.parseIfMatch("\"abc\""));
+    }
+
+    @Test
+    void testUnquotedEtagIsAccepted() {
+        assertEquals(List.of("abc"), EtagUtils.parseIfMatch("abc"));
+    }
+
+    @Test
+    void testListOfEtags() {
+        assertEquals(List.of("abc", "def"), EtagUtils.parseIfMatch("\"abc\" , \"def\""));
+    }
+
+    @Test
+    void testWeakEtagsNeverMatch() {
+        assertEquals(List.of("def"), EtagUtils.parseIfMatch("W/\"abc\", \"def\""));
+        assertEquals(List.of(), EtagUtils.parseIfMatch("W/\"abc\""));
+    }
+}
@@ -0,0 +1,51 @@
+package uk.gov.companieshouse.registeredemailaddressapi.unit.utils;
+
+import org.junit.jupiter.api.Test;
+import uk.gov.companieshouse.registeredemailaddressapi.utils.LogContext;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogContextTest {
+
+    @Test
+    void testWithLeavesOriginalUnchanged() {
+        var original = LogContext.of("transaction_id", "123");
+
+        var extended = original.with("company_number", "00006400");
+
+        assertEquals(Map.of("transaction_id", "123"), original);
+        assertEquals(Map.of("transaction_id", "123", "company_number", "00006400"), extended);
+    }
+
+    @Test
+    void testWithReplacesExistingKey() {
+        var original = LogContext.of("transaction_id", "123", "company_number", "00006400");
+
+        var replaced = original.with("transaction_id", "456");
+
+        assertEquals("123", original.get("transaction_id"));
+        assertEquals("456", replaced.get("transaction_id"));
+        assertEquals(2, replaced.size());
+    }
+
+    @Test
+    void testEntriesKeptInInsertionOrder() {
+        var logContext = LogContext.empty().with("b", 1).with("a", 2).with("c", 3);
+
+        assertEquals(List.of("b", "a", "c"), List.copyOf(logContext.keySet()));
+    }
+
+    @Test
+    void testToMapReturnsMutableCopy() {
+        var logContext = LogContext.of("transaction_id", "123");
+
+        var map = logContext.toMap();
+        map.put("message", "added by the logger");
+
+        assertEquals(1, logContext.size());
+        assertThrows(UnsupportedOperationException.class, () -> logContext.put("message", "TEST"));
+    }
+}
@@ -0,0 +1,78 @@
+package uk.gov.companieshouse.registeredemailaddressapi.unit.utils;
+
+import org.junit.jupiter.api.Test;
+import uk.gov.companieshouse.registeredemailaddressapi.utils.LogSampler;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogSamplerTest {
+
+    private static final String KEY = "eligibility.company-status.validating";
+
+    private final AtomicLong clock = new AtomicLong(TimeUnit.SECONDS.toNanos(100));
+
+    @Test
+    void testUnconfiguredKeyAlwaysAllowed() {
+        var sampler = new LogSampler(Map.of(KEY, 0.1), Map.of(), clock::get);
+
+        for (int i = 0; i < 100; i++) {
+            assertTrue(sampler.allow("other"));
+        }
+        assertTrue(sampler.drainSuppressed().isEmpty());
+    }
+
+    @Test
+    void testSampleRateWritesOneEventInN() {
+        var sampler = new LogSampler(Map.of(KEY, 0.25), Map.of(), clock::get);
+
+        int allowed = 0;
+        for (int i = 0; i < 100; i++) {
+            if (sampler.allow(KEY)) {
+                allowed++;
+            }
+        }
+
+        assertEquals(25, allowed);
+        assertEquals(Map.of(KEY, 75L), sampler.drainSuppressed());
+        assertTrue(sampler.drainSuppressed().isEmpty());
+    }
+
+    @Test
+    void testRateLimitAllowsBurstThenRefills() {
+        var sampler = new LogSampler(Map.of(), Map.of(KEY, 5.0), clock::get);
+
+        for (int i = 0; i < 5; i++) {
+            assertTrue(sampler.allow(KEY));
+        }
+        assertFalse(sampler.allow(KEY));
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(200));
+        assertTrue(sampler.allow(KEY));
+        assertFalse(sampler.allow(KEY));
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        for (int i = 0; i < 5; i++) {
+            assertTrue(sampler.allow(KEY));
+        }
+        assertFalse(sampler.allow(KEY));
+        assertEquals(Map.of(KEY, 3L), sampler.drainSuppressed());
+    }
+
+    @Test
+    void testParseRules() {
+        assertEquals(Map.of("a.b", 0.1, "c", 20.0), LogSampler.parseRules(" a.b=0.1, c = 20 "));
+        assertTrue(LogSampler.parseRules("").isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> LogSampler.parseRules("a.b"));
+    }
+
+    @Test
+    void testInvalidSampleRateRejected() {
+        Map<String, Double> rates = Map.of(KEY, 1.5);
+        Map<String, Double> limits = Map.of();
+        assertThrows(IllegalArgumentException.class, () -> new LogSampler(rates, limits));
+    }
+}
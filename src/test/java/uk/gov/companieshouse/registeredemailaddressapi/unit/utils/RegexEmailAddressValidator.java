@@ -0,0 +1,46 @@
+package uk.gov.companieshouse.registeredemailaddressapi.unit.utils;
+
+import java.util.regex.Pattern;
+
+/**
+ * The regular expression implementation of <code>ValidationUtils.isEmailAddressValid</code> that the single pass
+ * implementation replaced, kept as the reference that the single pass implementation is tested and benchmarked against.
+ */
+public class RegexEmailAddressValidator {
+
+    private static final Pattern EMAIL_NOTIFY_REGEX =
+            Pattern.compile("^[a-zA-Z0-9.!#$%&'*+/=?^_`{|}~\\-]+@([^.@][^@\\s]+)$");
+    private static final Pattern HOSTNAME_REGEX =
+            Pattern.compile("^([a-z0-9]+)(-?-[a-z0-9]+)*+$", Pattern.CASE_INSENSITIVE);
+    private static final Pattern TLD_PART_REGEX =
+            Pattern.compile(
+                    "^(?:[a-z]{2,63}|xn--[a-z0-9]+(?:-[a-z0-9]+){1,4})(?:$|[^-])",
+                    Pattern.CASE_INSENSITIVE);
+
+    private RegexEmailAddressValidator() { }
+
+    public static boolean isEmailAddressValid(String email){
+        if (email == null || email.isBlank()) {
+            return false;
+        }
+        if (email.contains("..")) {
+            return false;
+        }
+        var matcher = EMAIL_NOTIFY_REGEX.matcher(email);
+        if (!matcher.matches()) {
+            return false;
+        }
+
+        var hostname = matcher.group(1);
+        String[] parts = hostname.split("\\.");
+        if (parts.length < 2) {
+            return false;
+        }
+        for (String part : parts) {
+            if (!HOSTNAME_REGEX.matcher(part).matches()) {
+                return false;
+            }
+        }
+        return TLD_PART_REGEX.matcher(parts[parts.length - 1]).matches();
+    }
+}
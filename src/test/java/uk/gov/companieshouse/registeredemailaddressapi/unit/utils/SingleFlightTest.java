@@ -0,0 +1,132 @@
+package uk.gov.companieshouse.registeredemailaddressapi.unit.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import uk.gov.companieshouse.registeredemailaddressapi.exception.ServiceException;
+import uk.gov.companieshouse.registeredemailaddressapi.utils.SingleFlight;
+
+class SingleFlightTest {
+
+    private static final String KEY = "12345678";
+    private static final int CALLERS = 10;
+
+    private final SingleFlight<String, String> singleFlight = new SingleFlight<>();
+
+    @Test
+    void testConcurrentCallersShareSingleCall() throws Exception {
+        var calls = new AtomicInteger();
+        var release = new CountDownLatch(1);
+
+        List<Future<String>> results = runConcurrently(() -> singleFlight.execute(KEY, () -> {
+            calls.incrementAndGet();
+            release.await();
+            return "result";
+        }), release);
+
+        for (Future<String> result : results) {
+            assertEquals("result", result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void testExceptionPropagatedToAllCallers() throws Exception {
+        var calls = new AtomicInteger();
+        var release = new CountDownLatch(1);
+        var serviceException = new ServiceException("ERROR");
+
+        List<Future<String>> results = runConcurrently(() -> singleFlight.execute(KEY, () -> {
+            calls.incrementAndGet();
+            release.await();
+            throw serviceException;
+        }), release);
+
+        for (Future<String> result : results) {
+            var executionException = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+            assertEquals(CompletionException.class, executionException.getCause().getClass());
+            assertSame(serviceException, executionException.getCause().getCause());
+        }
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void testUncheckedExceptionRethrownUnwrapped() {
+        var illegalStateException = new IllegalStateException("ERROR");
+
+        var thrown = assertThrows(IllegalStateException.class, () -> singleFlight.execute(KEY, () -> {
+            throw illegalStateException;
+        }));
+        assertSame(illegalStateException, thrown);
+    }
+
+    @Test
+    void testSequentialCallsAreNotCoalesced() {
+        var calls = new AtomicInteger();
+
+        singleFlight.execute(KEY, () -> "result" + calls.incrementAndGet());
+        var result = singleFlight.execute(KEY, () -> "result" + calls.incrementAndGet());
+
+        assertEquals("result2", result);
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void testErrorPropagatedToAllCallers() throws Exception {
+        var calls = new AtomicInteger();
+        var release = new CountDownLatch(1);
+        var error = new AssertionError("ERROR");
+
+        List<Future<String>> results = runConcurrently(() -> singleFlight.execute(KEY, () -> {
+            calls.incrementAndGet();
+            release.await();
+            throw error;
+        }), release);
+
+        for (Future<String> result : results) {
+            var executionException = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+            assertSame(error, executionException.getCause());
+        }
+        assertEquals(1, calls.get());
+    }
+
+    private List<Future<String>> runConcurrently(Callable<String> task, CountDownLatch release)
+            throws InterruptedException {
+        var started = new CountDownLatch(CALLERS);
+        Queue<Thread> callers = new ConcurrentLinkedQueue<>();
+        List<Future<String>> results = new ArrayList<>();
+        try (var executor = Executors.newFixedThreadPool(CALLERS)) {
+            for (int i = 0; i < CALLERS; i++) {
+                results.add(executor.submit(() -> {
+                    callers.add(Thread.currentThread());
+                    started.countDown();
+                    return task.call();
+                }));
+            }
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            // the caller running the call waits on the release latch and the others wait to share its result
+            while (!callers.stream().allMatch(caller -> caller.getState() == Thread.State.WAITING)) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+        }
+        return results;
+    }
+}